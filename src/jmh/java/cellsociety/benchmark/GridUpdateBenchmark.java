@@ -0,0 +1,163 @@
+package cellsociety.benchmark;
+
+import cellsociety.model.factory.RulesetFactory;
+import cellsociety.model.grid.CellShapeFactory;
+import cellsociety.model.grid.EdgeFactory;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.NeighborhoodFactory;
+import cellsociety.model.grid.storage.StorageType;
+import cellsociety.model.ruleset.Ruleset;
+import cellsociety.model.ruleset.SugarscapeRuleset;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how many {@link Grid#update()} steps per second each simulation manages, for every
+ * combination of board size, ruleset, cell shape, edge handler and storage. Infinite edges cannot
+ * compile a neighbor table, so they also measure the per-cell neighbor lookup path.
+ * <p>
+ * Every invocation steps a fresh copy of the same random board for {@link #GENERATIONS}
+ * generations, so simulations that settle (percolation, segregation, still lifes) are measured
+ * while they still have work to do. Building and closing the copy is not timed.
+ * </p>
+ * <p>
+ * Run it with {@code mvn -P benchmark verify}, which also attaches the GC profiler so the report
+ * lists the allocation rate ({@code gc.alloc.rate.norm}, bytes per step) next to the throughput.
+ * Parameters can be narrowed from the command line, e.g.
+ * {@code mvn -P benchmark verify -Djmh.args="-p ruleset=Conway -p size=256"}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridUpdateBenchmark {
+
+  /**
+   * Generations stepped per invocation, enough to make the untimed setup of each fresh board rare
+   * next to the steps measured.
+   */
+  static final int GENERATIONS = 16;
+
+  private static final Map<String, String[]> SYMBOLS = Map.of(
+      "Conway", new String[]{"A", "D", "D"},
+      "Fire", new String[]{"T", "T", "T", "B", "E"},
+      "Percolation", new String[]{"O", "O", "BL", "P"},
+      "Segregation", new String[]{"R", "BLU", "EM"},
+      "WatorWorld", new String[]{"F", "S", "W", "W", "W"},
+      "Sugarscape", new String[]{"PATCH", "PATCH", "PATCH", "AGENT"});
+
+  private static final Map<String, Map<String, String>> PARAMS = Map.of(
+      "Conway", Map.of(),
+      "Fire", Map.of("probGrow", "0.03", "probCatch", "0.003"),
+      "Percolation", Map.of(),
+      "Segregation", Map.of("thresh", "0.5"),
+      "WatorWorld", Map.of("fishBreedTime", "5", "sharkBreedTime", "3", "sharkEnergyGain", "5"),
+      "Sugarscape", Map.of("sugarGrowBackRate", "1", "sugarGrowBackInterval", "5",
+          "agentVision", "1", "agentMetabolism", "3"));
+
+  @Param({"64", "256"})
+  private int size;
+
+  @Param({"Conway", "Fire", "Percolation", "Segregation", "WatorWorld", "Sugarscape"})
+  private String ruleset;
+
+  @Param({"Rectangular", "Hexagonal", "Triangular", "PentagonalTiling"})
+  private String shape;
+
+  @Param({"Toroidal", "Mirror", "Infinite"})
+  private String edge;
+
+  @Param({"Object", "Compact"})
+  private String storage;
+
+  private String[] states;
+  private int[] sugar;
+  private Grid grid;
+
+  /**
+   * Draws the random board every invocation starts from, with a fixed seed.
+   */
+  @Setup(Level.Trial)
+  public void createBoard() {
+    Random random = new Random(308);
+    String[] symbols = SYMBOLS.get(ruleset);
+    states = new String[size * size];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = symbols[random.nextInt(symbols.length)];
+    }
+    sugar = new int[states.length];
+    for (int i = 0; i < sugar.length; i++) {
+      sugar[i] = random.nextInt(26);
+    }
+  }
+
+  /**
+   * Builds a fresh grid from the board before every invocation, outside the measured time.
+   */
+  @Setup(Level.Invocation)
+  public void createGrid() {
+    Ruleset rules = RulesetFactory.createRuleset(ruleset, PARAMS.get(ruleset));
+    rules.setStorageType(StorageType.fromName(storage));
+    if (rules instanceof SugarscapeRuleset sugarscape) {
+      sugarscape.setInitialValues(sugar);
+    }
+    grid = rules.createGrid(size, size, states);
+    grid.setEdgeHandler(EdgeFactory.createEdgeHandler(edge));
+    grid.setNeighborhoodStrategy(NeighborhoodFactory.createNeighborhoodStrategy("ExtendedMoore"));
+    grid.setCellShape(CellShapeFactory.createCellShape(shape));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(GENERATIONS)
+  public Grid update() {
+    for (int generation = 0; generation < GENERATIONS; generation++) {
+      grid.update();
+    }
+    return grid;
+  }
+
+  /**
+   * Shuts down the pool of the grid just measured before the next one is built.
+   */
+  @TearDown(Level.Invocation)
+  public void closeGrid() {
+    grid.close();
+  }
+
+  /**
+   * Runs the benchmark from an IDE with the GC profiler attached.
+   *
+   * @param args unused
+   * @throws RunnerException if the benchmark fails to run
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(GridUpdateBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+}
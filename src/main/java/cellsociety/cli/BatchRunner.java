@@ -0,0 +1,176 @@
+package cellsociety.cli;
+
+import cellsociety.model.factory.GridFactory;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.ReplayRecorder;
+import cellsociety.parser.BinarySnapshotParser;
+import cellsociety.parser.BinarySnapshotWriter;
+import cellsociety.parser.InvalidXMLConfigurationException;
+import cellsociety.parser.Parser;
+import cellsociety.parser.ParserFactory;
+import cellsociety.parser.XMLConfigWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs a simulation without JavaFX: loads a simulation file, steps its grid a fixed number of
+ * times as fast as possible and writes the final state and the time every step took.
+ * <p>
+ * Usage: {@code BatchRunner <config.xml> <steps> [final-state.xml] [timings.csv] [run.creplay]}.
+ * The final state
+ * is written in the same format as the input so it can be loaded again, and the timings are
+ * written as {@code step,nanos} lines. Either output is skipped when its path is not given. Paths
+ * ending in {@link BinarySnapshotParser#EXTENSION} are read and written as binary snapshots, and
+ * RLE patterns can be read as well. Snapshots carry a checkpoint of the whole run, so a long run
+ * can be split into several batches, each started from the snapshot the previous one wrote. A
+ * replay file, if given, records every generation of the run for playback in the viewer; the time
+ * spent recording is not counted in the timings.
+ * </p>
+ */
+public class BatchRunner {
+
+  private static final String USAGE =
+      "Usage: BatchRunner <config.xml> <steps> [final-state.xml] [timings.csv] [run.creplay]";
+
+  private final Parser parser;
+  private final Grid grid;
+  private long generation;
+
+  /**
+   * Loads a simulation file, snapshot or RLE pattern and builds its grid.
+   *
+   * @param config the simulation file
+   * @throws InvalidXMLConfigurationException if the file is not a valid simulation file
+   * @throws IOException                      if a snapshot or pattern cannot be read
+   */
+  public BatchRunner(File config) throws InvalidXMLConfigurationException, IOException {
+    this.parser = ParserFactory.createParser(config);
+    this.grid = GridFactory.createGrid(parser);
+    this.generation = parser.getGeneration();
+  }
+
+  /**
+   * Steps the grid and times every step.
+   *
+   * @param steps the number of steps to run
+   * @return the duration of every step in nanoseconds
+   */
+  public long[] run(int steps) {
+    long[] timings = new long[steps];
+    for (int step = 0; step < steps; step++) {
+      long start = System.nanoTime();
+      grid.update();
+      timings[step] = System.nanoTime() - start;
+    }
+    generation += steps;
+    return timings;
+  }
+
+  /**
+   * Steps the grid, times every step and records every generation, starting with the current one,
+   * into a replay file.
+   *
+   * @param steps  the number of steps to run
+   * @param replay the replay file to write
+   * @return the duration of every step in nanoseconds, not counting the recording
+   * @throws IOException if the replay cannot be written
+   */
+  public long[] run(int steps, File replay) throws IOException {
+    long[] timings = new long[steps];
+    try (ReplayRecorder recorder = new ReplayRecorder(replay, grid, generation,
+        ReplayRecorder.DEFAULT_KEYFRAME_INTERVAL)) {
+      // The recorder keeps its own list of changed cells. Nothing displays the grid, so the view's
+      // list is never cleared and stays marked all changed, which costs nothing to keep up.
+      for (int step = 0; step < steps; step++) {
+        long start = System.nanoTime();
+        grid.update();
+        timings[step] = System.nanoTime() - start;
+        generation++;
+        recorder.record(grid, generation);
+      }
+    }
+    return timings;
+  }
+
+  /**
+   * Writes the current state of the grid as a simulation file or snapshot.
+   *
+   * @param file the file to write
+   * @throws InvalidXMLConfigurationException if the XML file cannot be written
+   * @throws IOException                      if the snapshot cannot be written
+   */
+  public void writeState(File file) throws InvalidXMLConfigurationException, IOException {
+    if (file.getName().endsWith(BinarySnapshotParser.EXTENSION)) {
+      BinarySnapshotWriter writer = new BinarySnapshotWriter(parser);
+      writer.setGeneration(generation);
+      writer.write(grid, file);
+    } else {
+      new XMLConfigWriter(parser).write(grid, file);
+    }
+  }
+
+  /**
+   * Writes step timings as CSV with a {@code step,nanos} header.
+   *
+   * @param timings the duration of every step in nanoseconds
+   * @param file    the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void writeTimings(long[] timings, Path file) throws IOException {
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+      out.println("step,nanos");
+      for (int step = 0; step < timings.length; step++) {
+        out.println((step + 1) + "," + timings[step]);
+      }
+    }
+  }
+
+  public Grid getGrid() {
+    return grid;
+  }
+
+  /**
+   * @return the generation the grid is at, counting the generations of the run it was resumed from
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 2 || args.length > 5) {
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      int steps = Integer.parseInt(args[1]);
+      if (steps < 0) {
+        throw new NumberFormatException("negative step count");
+      }
+      BatchRunner runner = new BatchRunner(new File(args[0]));
+      long[] timings = args.length > 4 ? runner.run(steps, new File(args[4]))
+          : runner.run(steps);
+      if (args.length > 2) {
+        runner.writeState(new File(args[2]));
+      }
+      if (args.length > 3) {
+        writeTimings(timings, Path.of(args[3]));
+      }
+      runner.getGrid().close();
+      long total = 0;
+      for (long timing : timings) {
+        total += timing;
+      }
+      System.out.printf("%d steps in %.3f ms%n", steps, total / 1e6);
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid step count: " + args[1]);
+      System.err.println(USAGE);
+      System.exit(2);
+    } catch (InvalidXMLConfigurationException | IOException | RuntimeException e) {
+      System.err.println("Batch run failed: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+}
@@ -6,6 +6,7 @@ import cellsociety.model.cell.WatorCell.WatorState;
 import cellsociety.model.state.CellState;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Author: Daniel Rodriguez-Florido
@@ -32,10 +33,11 @@ public class Fish implements WatorAgent {
 
   /**
    * @param neighbors The list of neighbors of the cell
+   * @param random    The source of randomness for the order the neighbors are tried in
    */
   @Override
-  public void move(List<Cell> neighbors) {
-    WatorCell toMove = findNeighborToMove(neighbors);
+  public void move(List<Cell> neighbors, Random random) {
+    WatorCell toMove = findNeighborToMove(neighbors, random);
     if (toMove != null) {
       timeToReproduce--;
       if (timeToReproduce < 0) {
@@ -51,10 +53,11 @@ public class Fish implements WatorAgent {
    * Gets a random empty neighbor to move a cell to
    *
    * @param neighbors The neighbors of the cell to check
+   * @param random    The source of randomness for the order the neighbors are tried in
    * @return An empty Cell that is the candidate for swapping to
    */
-  private WatorCell findNeighborToMove(List<Cell> neighbors) {
-    Collections.shuffle(neighbors);
+  private WatorCell findNeighborToMove(List<Cell> neighbors, Random random) {
+    Collections.shuffle(neighbors, random);
     for (Cell neighbor : neighbors) {
       if (neighbor.getCurrState() == WatorState.WATER && neighbor.getNextState() == null) {
         return (WatorCell) neighbor;
@@ -111,4 +114,22 @@ public class Fish implements WatorAgent {
     return WatorState.FISH;
   }
 
+  /**
+   * Restores the full reproduction time and clears the moved flag.
+   */
+  @Override
+  public void reset() {
+    timeToReproduce = reproductionTime;
+    moved = false;
+  }
+
+  /**
+   * Restores the breeding timer and moved flag of a checkpointed fish. Fish have no energy.
+   */
+  @Override
+  public void restore(int energy, int timeToReproduce, boolean moved) {
+    this.timeToReproduce = timeToReproduce;
+    this.moved = moved;
+  }
+
 }
@@ -6,6 +6,7 @@ import cellsociety.model.cell.WatorCell.WatorState;
 import cellsociety.model.state.CellState;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Author: Daniel Rodriguez-Florido
@@ -14,6 +15,8 @@ import java.util.List;
  */
 public class Shark implements WatorAgent {
 
+  private static final int STARTING_ENERGY = 5; // Sharks always start with 5 energy points
+
   private final int reproductionTimeConstant;
   private final int sharkEnergyGain;
   private int energy;
@@ -27,7 +30,7 @@ public class Shark implements WatorAgent {
    * @param timeToReproduce The amount of time it takes for a shark to reproduce
    */
   public Shark(int sharkEnergyGain, int timeToReproduce) {
-    this.energy = 5; // Sharks always start with 5 energy points
+    this.energy = STARTING_ENERGY;
     this.timeToReproduce = timeToReproduce;
     this.sharkEnergyGain = sharkEnergyGain;
     this.moved = false;
@@ -38,10 +41,11 @@ public class Shark implements WatorAgent {
    * Moves the agent from one cell to the next
    *
    * @param neighbors The candidates for where the agent can move
+   * @param random    The source of randomness for the order the neighbors are tried in
    */
   @Override
-  public void move(List<Cell> neighbors) {
-    WatorCell toMove = findNeighborToMove(neighbors);
+  public void move(List<Cell> neighbors, Random random) {
+    WatorCell toMove = findNeighborToMove(neighbors, random);
     if (toMove != null) {
       energy--;
       timeToReproduce--;
@@ -61,10 +65,11 @@ public class Shark implements WatorAgent {
    * Finds a suitable neighbor to move to, prioritizing fish
    *
    * @param neighbors The list of candidate cells
+   * @param random    The source of randomness for the order the neighbors are tried in
    * @return The WatorCell to move to
    */
-  private WatorCell findNeighborToMove(List<Cell> neighbors) {
-    Collections.shuffle(neighbors);
+  private WatorCell findNeighborToMove(List<Cell> neighbors, Random random) {
+    Collections.shuffle(neighbors, random);
     WatorCell toMove = null;
     for (Cell neighbor : neighbors) {
       if (neighbor.getCurrState() == WatorState.WATER && neighbor.getNextState() == null) {
@@ -126,4 +131,24 @@ public class Shark implements WatorAgent {
     return WatorState.SHARK;
   }
 
+  /**
+   * Restores the starting energy and full reproduction time and clears the moved flag.
+   */
+  @Override
+  public void reset() {
+    energy = STARTING_ENERGY;
+    timeToReproduce = reproductionTimeConstant;
+    moved = false;
+  }
+
+  /**
+   * Restores the energy, breeding timer and moved flag of a checkpointed shark.
+   */
+  @Override
+  public void restore(int energy, int timeToReproduce, boolean moved) {
+    this.energy = energy;
+    this.timeToReproduce = timeToReproduce;
+    this.moved = moved;
+  }
+
 }
@@ -30,6 +30,10 @@ public class SugarscapeAgent {
     patch.harvestSugar();
   }
 
+  public void addSugar(int amount) {
+    agentSugar += amount;
+  }
+
   public void consumeSugar(int metabolism) {
     agentSugar -= metabolism;
     if (agentSugar <= 0) {
@@ -3,6 +3,7 @@ package cellsociety.model.agent;
 import cellsociety.model.cell.Cell;
 import cellsociety.model.state.CellState;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Author: Daniel Rodriguez-Florido
@@ -12,7 +13,13 @@ import java.util.List;
  */
 public interface WatorAgent {
 
-  void move(List<Cell> neighbors);
+  /**
+   * Moves the agent to one of its neighbors, trying them in an order drawn from a generator.
+   *
+   * @param neighbors The candidates for where the agent can move
+   * @param random    The source of randomness for the order the neighbors are tried in
+   */
+  void move(List<Cell> neighbors, Random random);
 
   boolean getMoved();
 
@@ -23,4 +30,18 @@ public interface WatorAgent {
   int getReproductionTime();
 
   CellState getState();
+
+  /**
+   * Returns the agent to the state it was constructed in, so a pooled agent can be reused.
+   */
+  void reset();
+
+  /**
+   * Puts back the energy, breeding timer and moved flag of an agent read from a checkpoint.
+   *
+   * @param energy          The energy of the agent, ignored by agents without energy
+   * @param timeToReproduce The steps left before the agent reproduces
+   * @param moved           Whether the agent has moved
+   */
+  void restore(int energy, int timeToReproduce, boolean moved);
 }
\ No newline at end of file
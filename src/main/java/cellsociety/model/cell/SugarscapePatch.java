@@ -1,11 +1,18 @@
 package cellsociety.model.cell;
 
 import cellsociety.model.agent.SugarscapeAgent;
+import cellsociety.model.engine.SugarscapeEngine;
 import cellsociety.model.state.CellState;
+import cellsociety.model.state.SugarscapeState;
 
 /**
  * Represents a sugar patch in the Sugarscape simulation. Each patch has a sugar level that
  * regenerates over time and may contain an agent.
+ * <p>
+ * Once the simulation hands its board to a {@link SugarscapeEngine}, the patch is bound to its
+ * position in the engine and reads and writes its sugar and agent straight through to it, so the
+ * engine never has to copy its state back into the patches.
+ * </p>
  *
  * @Author Luke
  */
@@ -14,6 +21,7 @@ public class SugarscapePatch extends Cell {
   private final int maxSugar;
   private int sugarAmount;
   private SugarscapeAgent agent;
+  private SugarscapeEngine engine;
 
   /**
    * Constructs a SugarscapePatch with a specified initial and maximum sugar level.
@@ -38,7 +46,7 @@ public class SugarscapePatch extends Cell {
    * @return The current sugar amount.
    */
   public int getSugarAmount() {
-    return sugarAmount;
+    return engine != null ? engine.getSugar(getId()) : sugarAmount;
   }
 
   /**
@@ -47,6 +55,9 @@ public class SugarscapePatch extends Cell {
    * @param initialValue The new sugar amount for this patch.
    */
   public void setSugarAmount(int initialValue) {
+    if (engine != null) {
+      engine.setSugar(getId(), initialValue);
+    }
     sugarAmount = initialValue;
   }
 
@@ -56,7 +67,7 @@ public class SugarscapePatch extends Cell {
    * @return The maximum sugar level.
    */
   public int getMaxSugar() {
-    return maxSugar;
+    return engine != null ? engine.getMaxSugar(getId()) : maxSugar;
   }
 
   /**
@@ -65,7 +76,7 @@ public class SugarscapePatch extends Cell {
    * @return True if an agent is present, false otherwise.
    */
   public boolean hasAgent() {
-    return agent != null;
+    return getAgent() != null;
   }
 
   /**
@@ -74,7 +85,7 @@ public class SugarscapePatch extends Cell {
    * @return The SugarscapeAgent on this patch, or null if unoccupied.
    */
   public SugarscapeAgent getAgent() {
-    return agent;
+    return engine != null ? engine.getAgent(getId()) : agent;
   }
 
   /**
@@ -83,6 +94,10 @@ public class SugarscapePatch extends Cell {
    * @param agent The agent to be placed on this patch.
    */
   public void setAgent(SugarscapeAgent agent) {
+    if (engine != null) {
+      engine.removeAgent(getId());
+      engine.placeAgent(getId(), agent, engine.getDefaultVision());
+    }
     this.agent = agent;
   }
 
@@ -90,6 +105,9 @@ public class SugarscapePatch extends Cell {
    * Removes any agent currently occupying this patch.
    */
   public void removeAgent() {
+    if (engine != null) {
+      engine.removeAgent(getId());
+    }
     this.agent = null;
   }
 
@@ -99,13 +117,41 @@ public class SugarscapePatch extends Cell {
    * @param growBackRate The rate at which sugar regenerates.
    */
   public void growSugar(int growBackRate) {
-    sugarAmount = Math.min(sugarAmount + growBackRate, maxSugar);
+    setSugarAmount(Math.min(getSugarAmount() + growBackRate, maxSugar));
   }
 
   /**
    * Harvests all available sugar from the patch, resetting its level to zero.
    */
   public void harvestSugar() {
-    sugarAmount = 0;
+    setSugarAmount(0);
+  }
+
+  /**
+   * Hands the patch's sugar and agent to an engine and reads them from it from now on. The id of
+   * the patch is its position in the engine.
+   *
+   * @param engine The engine that now holds the state of the board
+   */
+  public void bind(SugarscapeEngine engine) {
+    engine.setSugar(getId(), sugarAmount);
+    engine.setMaxSugar(getId(), maxSugar);
+    if (agent != null) {
+      engine.placeAgent(getId(), agent, engine.getDefaultVision());
+    }
+    this.engine = engine;
+  }
+
+  /**
+   * A bound patch is in the AGENT state exactly when the engine has an agent on it.
+   *
+   * @return The current state of the patch
+   */
+  @Override
+  public CellState getCurrState() {
+    if (engine != null) {
+      return hasAgent() ? SugarscapeState.AGENT : SugarscapeState.PATCH;
+    }
+    return super.getCurrState();
   }
 }
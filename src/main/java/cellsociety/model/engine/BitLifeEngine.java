@@ -0,0 +1,348 @@
+package cellsociety.model.engine;
+
+import cellsociety.parser.GeneralConwayParser;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Game of Life engine for Life-like (B/S) rules that packs 64 cells into every {@code long}.
+ * <p>
+ * Each row is stored as {@code ceil(columns / 64)} words, with column {@code c} in bit
+ * {@code c % 64} of word {@code c / 64}. A generation is computed one word at a time: the eight
+ * neighbor words are produced by shifting the rows above, at and below the cell, and summed with
+ * bit-sliced full adders into a four-bit count for all 64 cells at once (SWAR). The birth and
+ * survival rules are then applied as bit masks over those counts, so no per-cell branches or
+ * objects are involved.
+ * </p>
+ * <p>
+ * The neighborhood is the eight-cell Moore neighborhood on a rectangular board. The bits past the
+ * last column of every row are always kept clear.
+ * </p>
+ *
+ * @see GeneralConwayParser
+ */
+public class BitLifeEngine {
+
+  /**
+   * How the board treats cells beyond its edges.
+   */
+  public enum Boundary {
+    /**
+     * Cells outside the board are always dead.
+     */
+    DEAD,
+    /**
+     * The board wraps around in both directions.
+     */
+    TOROIDAL,
+    /**
+     * Cells outside the board mirror the cells inside it, as in the mirror edge handler.
+     */
+    MIRROR
+  }
+
+  private static final int MAX_NEIGHBORS = 8;
+
+  private final int rows;
+  private final int columns;
+  private final int words;
+  private final long lastWordMask;
+  private final int birthMask;
+  private final int survivalMask;
+  private final Boundary boundary;
+  private long[] board;
+  private long[] scratch;
+  private long generation;
+
+  /**
+   * Creates an engine with every cell dead.
+   *
+   * @param rows         the number of rows of the board
+   * @param columns      the number of columns of the board
+   * @param birthMask    bit n is set if a dead cell with n live neighbors is born
+   * @param survivalMask bit n is set if a live cell with n live neighbors survives
+   * @param boundary     how cells beyond the edges are treated
+   * @throws IllegalArgumentException if the board is empty, or too small to mirror
+   */
+  public BitLifeEngine(int rows, int columns, int birthMask, int survivalMask,
+      Boundary boundary) {
+    if (rows <= 0 || columns <= 0) {
+      throw new IllegalArgumentException("Board must have at least one row and one column");
+    }
+    if (boundary == Boundary.MIRROR && (rows < 2 || columns < 2)) {
+      throw new IllegalArgumentException("Mirrored boards need at least two rows and columns");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.words = (columns + Long.SIZE - 1) / Long.SIZE;
+    int usedBits = columns % Long.SIZE;
+    this.lastWordMask = usedBits == 0 ? -1L : (1L << usedBits) - 1;
+    this.birthMask = birthMask;
+    this.survivalMask = survivalMask;
+    this.boundary = boundary;
+    this.board = new long[rows * words];
+    this.scratch = new long[rows * words];
+  }
+
+  /**
+   * Creates an engine for a rule string in either B/S or S/B notation (e.g., "B3/S23" or "23/3").
+   *
+   * @param rule     the rule string
+   * @param rows     the number of rows of the board
+   * @param columns  the number of columns of the board
+   * @param boundary how cells beyond the edges are treated
+   * @return an engine with every cell dead
+   */
+  public static BitLifeEngine fromRule(String rule, int rows, int columns, Boundary boundary) {
+    Set<Integer> birthVals = new HashSet<>();
+    Set<Integer> survivalVals = new HashSet<>();
+    GeneralConwayParser.parseRuleString(rule, birthVals, survivalVals);
+    return new BitLifeEngine(rows, columns, GeneralConwayParser.toMask(birthVals),
+        GeneralConwayParser.toMask(survivalVals), boundary);
+  }
+
+  /**
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return true if the cell is alive
+   */
+  public boolean isAlive(int row, int col) {
+    return (board[row * words + col / Long.SIZE] >>> col & 1L) != 0;
+  }
+
+  /**
+   * @param row   the row of the cell
+   * @param col   the column of the cell
+   * @param alive whether the cell should be alive
+   */
+  public void setAlive(int row, int col, boolean alive) {
+    int index = row * words + col / Long.SIZE;
+    if (alive) {
+      board[index] |= 1L << col;
+    } else {
+      board[index] &= ~(1L << col);
+    }
+  }
+
+  /**
+   * Replaces the board with the cells of a compact state plane.
+   *
+   * @param plane     the state codes of every cell in row-major order
+   * @param aliveCode the code of a live cell
+   */
+  public void load(byte[] plane, byte aliveCode) {
+    for (int row = 0; row < rows; row++) {
+      for (int w = 0; w < words; w++) {
+        long word = 0;
+        int base = row * columns + w * Long.SIZE;
+        int bits = Math.min(Long.SIZE, columns - w * Long.SIZE);
+        for (int bit = 0; bit < bits; bit++) {
+          if (plane[base + bit] == aliveCode) {
+            word |= 1L << bit;
+          }
+        }
+        board[row * words + w] = word;
+      }
+    }
+  }
+
+  /**
+   * Writes the board into a compact state plane.
+   *
+   * @param plane     the array receiving the state code of every cell in row-major order
+   * @param aliveCode the code of a live cell
+   * @param deadCode  the code of a dead cell
+   */
+  public void store(byte[] plane, byte aliveCode, byte deadCode) {
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        plane[row * columns + col] = isAlive(row, col) ? aliveCode : deadCode;
+      }
+    }
+  }
+
+  /**
+   * Advances the board by a number of generations.
+   *
+   * @param generations how many generations to compute
+   */
+  public void step(int generations) {
+    for (int i = 0; i < generations; i++) {
+      step();
+    }
+  }
+
+  /**
+   * Advances the board by one generation.
+   */
+  public void step() {
+    for (int row = 0; row < rows; row++) {
+      int up = neighborRow(row - 1);
+      int down = neighborRow(row + 1);
+      long upWest = westEdge(up);
+      long upEast = eastEdge(up);
+      long midWest = westEdge(row);
+      long midEast = eastEdge(row);
+      long downWest = westEdge(down);
+      long downEast = eastEdge(down);
+
+      for (int w = 0; w < words; w++) {
+        long n = rowWord(up, w);
+        long nw = shiftWest(up, w, upWest);
+        long ne = shiftEast(up, w, upEast);
+        long self = board[row * words + w];
+        long west = shiftWest(row, w, midWest);
+        long east = shiftEast(row, w, midEast);
+        long s = rowWord(down, w);
+        long sw = shiftWest(down, w, downWest);
+        long se = shiftEast(down, w, downEast);
+
+        // Full adders over (nw, n, ne) and (west, east, sw), half adder over (s, se).
+        long sumTop = nw ^ n ^ ne;
+        long carryTop = (nw & n) | (ne & (nw ^ n));
+        long sumMid = west ^ east ^ sw;
+        long carryMid = (west & east) | (sw & (west ^ east));
+        long sumLow = s ^ se;
+        long carryLow = s & se;
+
+        // Ones: add the three partial sums.
+        long bit0 = sumTop ^ sumMid ^ sumLow;
+        long carryOnes = (sumTop & sumMid) | (sumLow & (sumTop ^ sumMid));
+        // Twos: add the four weight-two carries.
+        long twos = carryTop ^ carryMid ^ carryLow;
+        long carryTwos = (carryTop & carryMid) | (carryLow & (carryTop ^ carryMid));
+        long bit1 = twos ^ carryOnes;
+        long carryFours = twos & carryOnes;
+        // Fours and eights.
+        long bit2 = carryTwos ^ carryFours;
+        long bit3 = carryTwos & carryFours;
+
+        long born = 0;
+        long survives = 0;
+        for (int count = 0; count <= MAX_NEIGHBORS; count++) {
+          boolean birth = (birthMask >>> count & 1) != 0;
+          boolean survival = (survivalMask >>> count & 1) != 0;
+          if (!birth && !survival) {
+            continue;
+          }
+          long matches = matchBit(bit0, count & 1) & matchBit(bit1, count >>> 1 & 1)
+              & matchBit(bit2, count >>> 2 & 1) & matchBit(bit3, count >>> 3 & 1);
+          if (birth) {
+            born |= matches;
+          }
+          if (survival) {
+            survives |= matches;
+          }
+        }
+        long next = (~self & born) | (self & survives);
+        if (w == words - 1) {
+          next &= lastWordMask;
+        }
+        scratch[row * words + w] = next;
+      }
+    }
+    long[] previous = board;
+    board = scratch;
+    scratch = previous;
+    generation++;
+  }
+
+  /**
+   * @return the number of live cells on the board
+   */
+  public long getPopulation() {
+    long population = 0;
+    for (long word : board) {
+      population += Long.bitCount(word);
+    }
+    return population;
+  }
+
+  /**
+   * @return the number of generations computed since the engine was created
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public Boundary getBoundary() {
+    return boundary;
+  }
+
+  private static long matchBit(long bits, int expected) {
+    return expected == 1 ? bits : ~bits;
+  }
+
+  /**
+   * Maps a row index that may be just outside the board to the row that stands in for it.
+   *
+   * @return the row to read, or -1 if the row is outside a board with dead edges
+   */
+  private int neighborRow(int row) {
+    if (row >= 0 && row < rows) {
+      return row;
+    }
+    return switch (boundary) {
+      case DEAD -> -1;
+      case TOROIDAL -> (row + rows) % rows;
+      case MIRROR -> row < 0 ? -row : 2 * rows - row - 2;
+    };
+  }
+
+  private long rowWord(int row, int w) {
+    return row < 0 ? 0 : board[row * words + w];
+  }
+
+  private boolean cellAt(int row, int col) {
+    return row >= 0 && isAlive(row, col);
+  }
+
+  /**
+   * @return 1 if the cell standing in for column -1 of the row is alive, 0 otherwise
+   */
+  private long westEdge(int row) {
+    return switch (boundary) {
+      case DEAD -> 0;
+      case TOROIDAL -> cellAt(row, columns - 1) ? 1 : 0;
+      case MIRROR -> cellAt(row, 1) ? 1 : 0;
+    };
+  }
+
+  /**
+   * @return 1 if the cell standing in for column {@code columns} of the row is alive, 0 otherwise
+   */
+  private long eastEdge(int row) {
+    return switch (boundary) {
+      case DEAD -> 0;
+      case TOROIDAL -> cellAt(row, 0) ? 1 : 0;
+      case MIRROR -> cellAt(row, columns - 2) ? 1 : 0;
+    };
+  }
+
+  /**
+   * @return the word whose bit c holds the cell at column c - 1
+   */
+  private long shiftWest(int row, int w, long westEdge) {
+    long carry = w == 0 ? westEdge : rowWord(row, w - 1) >>> (Long.SIZE - 1);
+    return rowWord(row, w) << 1 | carry;
+  }
+
+  /**
+   * @return the word whose bit c holds the cell at column c + 1
+   */
+  private long shiftEast(int row, int w, long eastEdge) {
+    long word = rowWord(row, w) >>> 1;
+    if (w < words - 1) {
+      return word | rowWord(row, w + 1) << (Long.SIZE - 1);
+    }
+    return word | eastEdge << ((columns - 1) % Long.SIZE);
+  }
+}
@@ -0,0 +1,417 @@
+package cellsociety.model.engine;
+
+import cellsociety.parser.GeneralConwayParser;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Hashlife engine for Life-like (B/S) rules on an unbounded plane of dead cells.
+ * <p>
+ * The board is a quadtree of canonical nodes: a node of level {@code k} covers a square of
+ * {@code 2^k} cells and is made of four nodes of level {@code k - 1}. Identical squares share one
+ * node, and every node remembers the center of its square advanced by {@code 2^j} generations the
+ * first time that is computed. Large, sparse or periodic patterns therefore advance by huge numbers
+ * of generations for the cost of a few cache lookups.
+ * </p>
+ * <p>
+ * The canonical node cache is bounded and evicts the least recently used nodes. Eviction is safe:
+ * a node that is still part of the board or of a remembered result stays reachable, and an evicted
+ * square that shows up again simply becomes a new node, so eviction only costs sharing, never
+ * correctness.
+ * </p>
+ * <p>
+ * The cell at row {@code r}, column {@code c} of the plane is addressed with signed coordinates;
+ * the root always stays centered on the origin.
+ * </p>
+ */
+public class HashlifeEngine {
+
+  /**
+   * Default bound on the number of canonical nodes kept in the cache.
+   */
+  public static final int DEFAULT_CACHE_SIZE = 1 << 18;
+
+  private static final int MAX_LEVEL = 60;
+
+  /**
+   * Receives the position of a live cell.
+   */
+  @FunctionalInterface
+  public interface CellVisitor {
+
+    /**
+     * @param row the row of the live cell
+     * @param col the column of the live cell
+     */
+    void visit(long row, long col);
+  }
+
+  private final int birthMask;
+  private final int survivalMask;
+  private final Map<Quad, Node> cache;
+  private final Node deadLeaf = new Node(null, null, null, null, 0, 0);
+  private final Node aliveLeaf = new Node(null, null, null, null, 0, 1);
+  private Node[] emptyNodes = new Node[]{deadLeaf};
+  private Node root;
+  private long generation;
+
+  /**
+   * Creates an engine with every cell dead.
+   *
+   * @param birthMask    bit n is set if a dead cell with n live neighbors is born
+   * @param survivalMask bit n is set if a live cell with n live neighbors survives
+   * @param cacheSize    the largest number of canonical nodes kept in the cache
+   * @throws IllegalArgumentException if cacheSize is not positive
+   */
+  public HashlifeEngine(int birthMask, int survivalMask, int cacheSize) {
+    if (cacheSize <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive, got " + cacheSize);
+    }
+    if ((birthMask & 1) != 0) {
+      throw new IllegalArgumentException("Rules that give birth with no neighbors (B0) are not "
+          + "supported on an unbounded plane");
+    }
+    this.birthMask = birthMask;
+    this.survivalMask = survivalMask;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Quad, Node> eldest) {
+        return size() > cacheSize;
+      }
+    };
+    this.root = empty(3);
+  }
+
+  /**
+   * Creates an engine for a rule string in either B/S or S/B notation (e.g., "B3/S23" or "23/3").
+   *
+   * @param rule      the rule string
+   * @param cacheSize the largest number of canonical nodes kept in the cache
+   * @return an engine with every cell dead
+   */
+  public static HashlifeEngine fromRule(String rule, int cacheSize) {
+    Set<Integer> birthVals = new HashSet<>();
+    Set<Integer> survivalVals = new HashSet<>();
+    GeneralConwayParser.parseRuleString(rule, birthVals, survivalVals);
+    return new HashlifeEngine(GeneralConwayParser.toMask(birthVals),
+        GeneralConwayParser.toMask(survivalVals), cacheSize);
+  }
+
+  /**
+   * Replaces the plane with a rectangular board whose top left cell is at the origin. Every cell
+   * outside the board is dead.
+   *
+   * @param rows    the number of rows of the board
+   * @param columns the number of columns of the board
+   * @param isAlive tells whether the cell with a given row-major id is alive
+   */
+  public void load(int rows, int columns, IntPredicate isAlive) {
+    int level = 3;
+    while (1L << (level - 1) < Math.max(rows, columns)) {
+      level++;
+    }
+    long half = 1L << (level - 1);
+    root = build(level, -half, -half, rows, columns, isAlive);
+  }
+
+  /**
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return true if the cell is alive
+   */
+  public boolean isAlive(long row, long col) {
+    long half = 1L << (root.level - 1);
+    if (row < -half || row >= half || col < -half || col >= half) {
+      return false;
+    }
+    Node node = root;
+    long top = -half;
+    long left = -half;
+    while (node.level > 0) {
+      long size = 1L << (node.level - 1);
+      boolean south = row >= top + size;
+      boolean east = col >= left + size;
+      top += south ? size : 0;
+      left += east ? size : 0;
+      node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+    }
+    return node == aliveLeaf;
+  }
+
+  /**
+   * Calls the visitor for every live cell, skipping empty squares entirely.
+   *
+   * @param visitor the visitor receiving the position of every live cell
+   */
+  public void forEachAlive(CellVisitor visitor) {
+    long half = 1L << (root.level - 1);
+    visit(root, -half, -half, visitor);
+  }
+
+  /**
+   * @return the smallest box holding every live cell as {min row, min col, max row, max col}, or
+   * null if the plane is empty
+   */
+  public long[] getBounds() {
+    if (root.population == 0) {
+      return null;
+    }
+    long[] bounds = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+    forEachAlive((row, col) -> {
+      bounds[0] = Math.min(bounds[0], row);
+      bounds[1] = Math.min(bounds[1], col);
+      bounds[2] = Math.max(bounds[2], row);
+      bounds[3] = Math.max(bounds[3], col);
+    });
+    return bounds;
+  }
+
+  /**
+   * Advances the plane by any number of generations, one power of two at a time.
+   *
+   * @param generations how many generations to compute
+   * @throws IllegalArgumentException if generations is negative
+   * @throws IllegalStateException    if the pattern grows beyond the addressable plane
+   */
+  public void jump(long generations) {
+    if (generations < 0) {
+      throw new IllegalArgumentException("Cannot jump a negative number of generations");
+    }
+    for (int j = 0; j < Long.SIZE - 1; j++) {
+      if ((generations >>> j & 1) != 0) {
+        advancePowerOfTwo(j);
+      }
+    }
+  }
+
+  /**
+   * @return the number of live cells on the plane
+   */
+  public long getPopulation() {
+    return root.population;
+  }
+
+  /**
+   * @return the number of generations computed since the engine was created
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @return the number of canonical nodes currently in the cache
+   */
+  public int getCacheSize() {
+    return cache.size();
+  }
+
+  /**
+   * Advances the root by {@code 2^j} generations. The root is first padded with empty space until
+   * every live cell sits in its innermost quarter and it is large enough for the step, so the
+   * pattern cannot grow past the part of the square the step computes.
+   */
+  private void advancePowerOfTwo(int j) {
+    while (root.level < j + 3 || !isInnerOnly(root)) {
+      if (root.level >= MAX_LEVEL) {
+        throw new IllegalStateException("Pattern grew beyond the addressable plane");
+      }
+      root = expand(root);
+    }
+    root = successor(root, j);
+    generation += 1L << j;
+  }
+
+  private boolean isInnerOnly(Node node) {
+    return node.nw.population == node.nw.se.se.population
+        && node.ne.population == node.ne.sw.sw.population
+        && node.sw.population == node.sw.ne.ne.population
+        && node.se.population == node.se.nw.nw.population;
+  }
+
+  /**
+   * @return a node one level up with the given node in its center and empty space around it
+   */
+  private Node expand(Node node) {
+    Node border = empty(node.level - 1);
+    return join(join(border, border, border, node.nw), join(border, border, node.ne, border),
+        join(border, node.sw, border, border), join(node.se, border, border, border));
+  }
+
+  /**
+   * Returns the center of a node (one level down) advanced by {@code 2^j} generations, with
+   * {@code j <= level - 2}. Results are remembered on the node for every step size.
+   */
+  private Node successor(Node node, int j) {
+    if (node.population == 0) {
+      return node.nw;
+    }
+    if (node.successors == null) {
+      node.successors = new Node[node.level - 1];
+    }
+    Node known = node.successors[j];
+    if (known != null) {
+      return known;
+    }
+
+    Node result;
+    if (node.level == 2) {
+      result = baseSuccessor(node);
+    } else {
+      Node[] parts = {
+          node.nw, join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw), node.ne,
+          join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne),
+          join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw),
+          join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne),
+          node.sw, join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw), node.se};
+      if (j == node.level - 2) {
+        // Two half steps: advance the nine overlapping parts, then the four quadrants they form.
+        Node[] half = new Node[9];
+        for (int i = 0; i < 9; i++) {
+          half[i] = successor(parts[i], j - 1);
+        }
+        result = join(successor(join(half[0], half[1], half[3], half[4]), j - 1),
+            successor(join(half[1], half[2], half[4], half[5]), j - 1),
+            successor(join(half[3], half[4], half[6], half[7]), j - 1),
+            successor(join(half[4], half[5], half[7], half[8]), j - 1));
+      } else {
+        // A smaller step: advance the nine parts once and keep the centers they share.
+        Node[] c = new Node[9];
+        for (int i = 0; i < 9; i++) {
+          c[i] = successor(parts[i], j);
+        }
+        result = join(join(c[0].se, c[1].sw, c[3].ne, c[4].nw),
+            join(c[1].se, c[2].sw, c[4].ne, c[5].nw),
+            join(c[3].se, c[4].sw, c[6].ne, c[7].nw),
+            join(c[4].se, c[5].sw, c[7].ne, c[8].nw));
+      }
+    }
+    node.successors[j] = result;
+    return result;
+  }
+
+  /**
+   * Advances the center 2x2 cells of a 4x4 node by one generation.
+   */
+  private Node baseSuccessor(Node node) {
+    int[][] cells = new int[4][4];
+    for (int row = 0; row < 4; row++) {
+      for (int col = 0; col < 4; col++) {
+        Node quadrant = row < 2 ? (col < 2 ? node.nw : node.ne) : (col < 2 ? node.sw : node.se);
+        int r = row % 2;
+        int c = col % 2;
+        Node leaf = r == 0 ? (c == 0 ? quadrant.nw : quadrant.ne)
+            : (c == 0 ? quadrant.sw : quadrant.se);
+        cells[row][col] = (int) leaf.population;
+      }
+    }
+    Node[] next = new Node[4];
+    for (int i = 0; i < 4; i++) {
+      int row = 1 + i / 2;
+      int col = 1 + i % 2;
+      int neighbors = -cells[row][col];
+      for (int dr = -1; dr <= 1; dr++) {
+        for (int dc = -1; dc <= 1; dc++) {
+          neighbors += cells[row + dr][col + dc];
+        }
+      }
+      int rules = cells[row][col] == 1 ? survivalMask : birthMask;
+      next[i] = (rules >>> neighbors & 1) != 0 ? aliveLeaf : deadLeaf;
+    }
+    return join(next[0], next[1], next[2], next[3]);
+  }
+
+  private Node build(int level, long top, long left, int rows, int columns,
+      IntPredicate isAlive) {
+    long size = 1L << level;
+    if (top >= rows || left >= columns || top + size <= 0 || left + size <= 0) {
+      return empty(level);
+    }
+    if (level == 0) {
+      return isAlive.test((int) top * columns + (int) left) ? aliveLeaf : deadLeaf;
+    }
+    long half = size / 2;
+    return join(build(level - 1, top, left, rows, columns, isAlive),
+        build(level - 1, top, left + half, rows, columns, isAlive),
+        build(level - 1, top + half, left, rows, columns, isAlive),
+        build(level - 1, top + half, left + half, rows, columns, isAlive));
+  }
+
+  private void visit(Node node, long top, long left, CellVisitor visitor) {
+    if (node.population == 0) {
+      return;
+    }
+    if (node.level == 0) {
+      visitor.visit(top, left);
+      return;
+    }
+    long half = 1L << (node.level - 1);
+    visit(node.nw, top, left, visitor);
+    visit(node.ne, top, left + half, visitor);
+    visit(node.sw, top + half, left, visitor);
+    visit(node.se, top + half, left + half, visitor);
+  }
+
+  /**
+   * @return the canonical node with the given quadrants
+   */
+  private Node join(Node nw, Node ne, Node sw, Node se) {
+    Quad key = new Quad(nw, ne, sw, se);
+    Node node = cache.get(key);
+    if (node == null) {
+      node = new Node(nw, ne, sw, se, nw.level + 1,
+          nw.population + ne.population + sw.population + se.population);
+      cache.put(key, node);
+    }
+    return node;
+  }
+
+  /**
+   * @return an empty node of the given level. Empty nodes are kept outside the cache so the
+   * padding around a pattern is never evicted.
+   */
+  private Node empty(int level) {
+    if (level >= emptyNodes.length) {
+      Node[] grown = new Node[level + 1];
+      System.arraycopy(emptyNodes, 0, grown, 0, emptyNodes.length);
+      for (int i = emptyNodes.length; i <= level; i++) {
+        Node below = grown[i - 1];
+        grown[i] = new Node(below, below, below, below, i, 0);
+      }
+      emptyNodes = grown;
+    }
+    return emptyNodes[level];
+  }
+
+  /**
+   * Cache key made of the four quadrants of a node, compared by identity.
+   */
+  private record Quad(Node nw, Node ne, Node sw, Node se) {
+
+  }
+
+  /**
+   * A square of {@code 2^level} cells. Leaves (level 0) have no quadrants.
+   */
+  private static final class Node {
+
+    private final Node nw;
+    private final Node ne;
+    private final Node sw;
+    private final Node se;
+    private final int level;
+    private final long population;
+    private Node[] successors;
+
+    private Node(Node nw, Node ne, Node sw, Node se, int level, long population) {
+      this.nw = nw;
+      this.ne = ne;
+      this.sw = sw;
+      this.se = se;
+      this.level = level;
+      this.population = population;
+    }
+  }
+}
@@ -0,0 +1,369 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.grid.Checkpoints;
+import cellsociety.model.grid.NeighborTable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Incremental Schelling segregation engine.
+ * <p>
+ * Instead of rescanning the board every step, the engine keeps, for every cell, how many of its
+ * neighbors are in each state, together with the set of empty cells and the set of unsatisfied
+ * agents. Both sets support constant-time insertion, removal and random sampling. When an agent
+ * moves, only the cells that have the vacated or the newly occupied cell as a neighbor get their
+ * counters and satisfaction updated, so a step costs time proportional to the number of agents
+ * that move rather than to the size of the board.
+ * </p>
+ * <p>
+ * A step has the semantics of the segregation ruleset: every agent that is unsatisfied at the
+ * start of the step is a candidate to move, as many of them as there are empty cells are picked at
+ * random, and each one moves to a distinct random cell that was empty at the start of the step.
+ * An agent is satisfied when it has no occupied neighbors or when the share of its occupied
+ * neighbors in its own state is above the threshold.
+ * </p>
+ */
+public class SegregationEngine {
+
+  private final NeighborTable table;
+  private final int cells;
+  private final byte emptyCode;
+  private final double threshold;
+  private final byte[] codes;
+  private final int[] counts;
+  private final IndexedSet empty;
+  private final IndexedSet unsatisfied;
+  private int[] moves = new int[0];
+  private int moveCount;
+  private Random random = new Random();
+
+  /**
+   * Creates an engine where every cell is empty.
+   *
+   * @param table      the neighbors of every cell of the board
+   * @param stateCount the number of state codes a cell can hold
+   * @param emptyCode  the state code of an empty cell
+   * @param threshold  the share of like neighbors an agent needs to exceed to be satisfied
+   */
+  public SegregationEngine(NeighborTable table, int stateCount, byte emptyCode, double threshold) {
+    this.table = table;
+    this.cells = table.getCellCount();
+    this.emptyCode = emptyCode;
+    this.threshold = threshold;
+    this.codes = new byte[cells];
+    this.counts = new int[stateCount * cells];
+    this.empty = new IndexedSet(cells);
+    this.unsatisfied = new IndexedSet(cells);
+  }
+
+  /**
+   * Replaces the board and rebuilds every counter and set from scratch.
+   *
+   * @param states the state code of every cell, indexed by cell id
+   */
+  public void load(byte[] states) {
+    load(states, null, cells);
+  }
+
+  /**
+   * Replaces the board and rebuilds every counter and set from scratch, splitting the work into
+   * stripes of whole rows run on a pool.
+   * <p>
+   * Each stripe fills the counters of its own cells, which no other stripe writes, and collects
+   * the unsatisfied agents among them into a local list; the board itself is only read. The lists
+   * are merged in stripe order afterwards, so the result does not depend on the number of
+   * stripes.
+   * </p>
+   *
+   * @param states  the state code of every cell, indexed by cell id
+   * @param pool    the pool to run the stripes on, or null to rebuild on the calling thread
+   * @param columns the number of cells per row, so stripes start at row boundaries
+   */
+  public void load(byte[] states, ForkJoinPool pool, int columns) {
+    System.arraycopy(states, 0, codes, 0, cells);
+    empty.clear();
+    unsatisfied.clear();
+    int rows = cells / columns;
+    int stripes = pool == null ? 1 : Math.min(rows, pool.getParallelism());
+    if (stripes <= 1) {
+      addAll(unsatisfied, scanStripe(0, cells));
+    } else {
+      List<Callable<int[]>> tasks = new ArrayList<>();
+      for (int stripe = 0; stripe < stripes; stripe++) {
+        int from = rows * stripe / stripes * columns;
+        int to = rows * (stripe + 1) / stripes * columns;
+        tasks.add(() -> scanStripe(from, to));
+      }
+      for (Future<int[]> result : pool.invokeAll(tasks)) {
+        try {
+          addAll(unsatisfied, result.get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while scanning the board", e);
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Parallel board scan failed", e.getCause());
+        }
+      }
+    }
+    for (int id = 0; id < cells; id++) {
+      if (codes[id] == emptyCode) {
+        empty.add(id);
+      }
+    }
+  }
+
+  /**
+   * Recounts the neighbors of a range of cells and finds the unsatisfied agents among them.
+   *
+   * @param from the id of the first cell of the range (inclusive)
+   * @param to   the id of the last cell of the range (exclusive)
+   * @return the ids of the unsatisfied agents, preceded by their number
+   */
+  private int[] scanStripe(int from, int to) {
+    int[] indices = table.getIndices();
+    int stateCount = counts.length / cells;
+    int[] found = new int[1 + to - from];
+    int size = 0;
+    for (int id = from; id < to; id++) {
+      for (int code = 0; code < stateCount; code++) {
+        counts[code * cells + id] = 0;
+      }
+      for (int i = table.getStart(id); i < table.getEnd(id); i++) {
+        counts[codes[indices[i]] * cells + id]++;
+      }
+      if (codes[id] != emptyCode && !isSatisfied(id)) {
+        found[1 + size++] = id;
+      }
+    }
+    found[0] = size;
+    return found;
+  }
+
+  private static void addAll(IndexedSet set, int[] found) {
+    for (int i = 1; i <= found[0]; i++) {
+      set.add(found[i]);
+    }
+  }
+
+  /**
+   * Moves as many unsatisfied agents as there are empty cells. The cells written by the step are
+   * available from {@link #getMoves()} afterwards.
+   *
+   * @return the number of agents that moved
+   */
+  public int step() {
+    int movers = Math.min(unsatisfied.size(), empty.size());
+    if (moves.length < 2 * movers) {
+      moves = new int[2 * movers];
+    }
+    for (int i = 0; i < movers; i++) {
+      moves[2 * i] = unsatisfied.pick(i, random);
+    }
+    for (int i = 0; i < movers; i++) {
+      moves[2 * i + 1] = empty.removeRandom(random);
+    }
+    for (int i = 0; i < movers; i++) {
+      int from = moves[2 * i];
+      int to = moves[2 * i + 1];
+      setCode(to, codes[from]);
+      setCode(from, emptyCode);
+    }
+    // Cells vacated this step only become available to the next one.
+    for (int i = 0; i < movers; i++) {
+      empty.add(moves[2 * i]);
+    }
+    moveCount = movers;
+    return movers;
+  }
+
+  /**
+   * @return the ids of the cells written by the last step, as pairs of the cell an agent left and
+   * the cell it moved to; only the first {@code 2 * getMoveCount()} entries are valid
+   */
+  public int[] getMoves() {
+    return moves;
+  }
+
+  /**
+   * @return the number of agents that moved in the last step
+   */
+  public int getMoveCount() {
+    return moveCount;
+  }
+
+  /**
+   * @param id the id of a cell
+   * @return the state code of the cell
+   */
+  public byte getCode(int id) {
+    return codes[id];
+  }
+
+  public int getUnsatisfiedCount() {
+    return unsatisfied.size();
+  }
+
+  public int getEmptyCount() {
+    return empty.size();
+  }
+
+  /**
+   * @return the neighbor table the engine was built for
+   */
+  public NeighborTable getTable() {
+    return table;
+  }
+
+  /**
+   * @param random the source of randomness for picking movers and destinations
+   */
+  public void setRandom(Random random) {
+    this.random = random;
+  }
+
+  /**
+   * Writes the order of the empty cells and of the unsatisfied agents. The counters are not
+   * written, since {@link #load} rebuilds them from the board; the order of the two sets is what
+   * decides, together with the random generator, which agents move next.
+   *
+   * @param out the stream receiving the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    empty.write(out);
+    unsatisfied.write(out);
+  }
+
+  /**
+   * Restores the order written by {@link #writeCheckpoint}. The engine must already be loaded
+   * with the board the checkpoint was taken from.
+   *
+   * @param in the stream holding the checkpoint
+   * @throws IOException if the checkpoint cannot be read or does not fit the board
+   */
+  public void readCheckpoint(DataInput in) throws IOException {
+    empty.read(in, cells);
+    unsatisfied.read(in, cells);
+  }
+
+  /**
+   * Changes the state of a cell and updates the counters and satisfaction of the cell and of every
+   * cell that has it as a neighbor.
+   */
+  private void setCode(int id, byte code) {
+    byte old = codes[id];
+    codes[id] = code;
+    NeighborTable dependents = table.getDependents();
+    int[] dependentIds = dependents.getIndices();
+    for (int i = dependents.getStart(id); i < dependents.getEnd(id); i++) {
+      int dependent = dependentIds[i];
+      counts[old * cells + dependent]--;
+      counts[code * cells + dependent]++;
+      refresh(dependent);
+    }
+    refresh(id);
+  }
+
+  private void refresh(int id) {
+    if (codes[id] == emptyCode || isSatisfied(id)) {
+      unsatisfied.remove(id);
+    } else {
+      unsatisfied.add(id);
+    }
+  }
+
+  private boolean isSatisfied(int id) {
+    double similar = counts[codes[id] * cells + id];
+    double occupied = table.getEnd(id) - table.getStart(id) - counts[emptyCode * cells + id];
+    return occupied == 0 || similar / occupied > threshold;
+  }
+
+  /**
+   * Set of cell ids with constant-time insertion, removal and random sampling: the members are
+   * kept densely packed in an array, with the position of every id in a second array.
+   */
+  private static final class IndexedSet {
+
+    private final int[] items;
+    private final int[] positions;
+    private int size;
+
+    IndexedSet(int capacity) {
+      items = new int[capacity];
+      positions = new int[capacity];
+      Arrays.fill(positions, -1);
+    }
+
+    int size() {
+      return size;
+    }
+
+    void add(int id) {
+      if (positions[id] < 0) {
+        positions[id] = size;
+        items[size++] = id;
+      }
+    }
+
+    void remove(int id) {
+      int position = positions[id];
+      if (position >= 0) {
+        int last = items[--size];
+        items[position] = last;
+        positions[last] = position;
+        positions[id] = -1;
+      }
+    }
+
+    int removeRandom(Random random) {
+      int id = items[random.nextInt(size)];
+      remove(id);
+      return id;
+    }
+
+    /**
+     * Swaps a random member among positions {@code index} and up into {@code index} and returns
+     * it; calling this for index 0, 1, 2, ... draws distinct members without removing them.
+     */
+    int pick(int index, Random random) {
+      int other = index + random.nextInt(size - index);
+      int id = items[other];
+      items[other] = items[index];
+      positions[items[other]] = other;
+      items[index] = id;
+      positions[id] = index;
+      return id;
+    }
+
+    void clear() {
+      for (int i = 0; i < size; i++) {
+        positions[items[i]] = -1;
+      }
+      size = 0;
+    }
+
+    void write(DataOutput out) throws IOException {
+      out.writeInt(size);
+      for (int i = 0; i < size; i++) {
+        out.writeInt(items[i]);
+      }
+    }
+
+    void read(DataInput in, int cells) throws IOException {
+      clear();
+      int count = Checkpoints.readIndex(in, cells + 1);
+      for (int i = 0; i < count; i++) {
+        add(Checkpoints.readIndex(in, cells));
+      }
+    }
+  }
+}
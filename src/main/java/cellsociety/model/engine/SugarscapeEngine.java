@@ -0,0 +1,381 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.agent.SugarscapeAgent;
+import cellsociety.model.grid.Checkpoints;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Sugarscape engine that keeps the sugar of every patch in flat arrays and the agents in a compact
+ * list, so a step visits only the agents.
+ * <p>
+ * Each agent looks along the four lattice directions as far as its vision reaches. The cells it
+ * sees are listed in precomputed offset tables, one per vision value and ordered from nearest to
+ * farthest, so a move costs O(vision) and allocates nothing. The agent moves to the unoccupied
+ * visible patch with the most sugar (the nearest one on ties), harvests it and then burns its
+ * metabolism. Agents that see no free patch stay where they are.
+ * </p>
+ * <p>
+ * Every {@code growBackInterval} steps all patches regrow {@code growBackRate} sugar, up to their
+ * maximum, before the agents move. Regrowth is computed lazily: a patch only remembers how much
+ * sugar it held at the tick it was last written, and its current sugar is derived from the number
+ * of regrowths since then whenever it is read. A step therefore never touches the patches no agent
+ * looks at, and patches that sit at their maximum cost nothing. The board either wraps around or
+ * ends at its edges.
+ * </p>
+ * <p>
+ * Every patch remembers the slot of the agent on it, so removing an agent moves the last agent into
+ * its slot in constant time. A step lists the patches its agents left and harvested, so a grid can
+ * repaint just those on steps without regrowth.
+ * </p>
+ */
+public class SugarscapeEngine {
+
+  private final int rows;
+  private final int columns;
+  private final int defaultVision;
+  private final int metabolism;
+  private final int growBackRate;
+  private final int growBackInterval;
+  private final int[] sugar;
+  private final long[] writtenAt;
+  private final int[] maxSugar;
+  private final SugarscapeAgent[] occupants;
+  private final int[] slots;
+  private int[] positions = new int[0];
+  private SugarscapeAgent[] agents = new SugarscapeAgent[0];
+  private int[] visions = new int[0];
+  private int agentCount;
+  private int[] touched = new int[0];
+  private int touchedCount;
+  private int[][] visionOffsets = new int[1][0];
+  private boolean wrapping = true;
+  private long tick;
+
+  /**
+   * Creates a board with no sugar and no agents.
+   *
+   * @param rows             the number of rows of the board
+   * @param columns          the number of columns of the board
+   * @param defaultVision    how far agents see unless placed with another vision
+   * @param metabolism       the sugar every agent burns per move
+   * @param growBackRate     the sugar a patch regrows at every regrowth
+   * @param growBackInterval the number of steps between regrowths
+   */
+  public SugarscapeEngine(int rows, int columns, int defaultVision, int metabolism,
+      int growBackRate, int growBackInterval) {
+    if (rows <= 0 || columns <= 0) {
+      throw new IllegalArgumentException("Board must have at least one row and one column");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.defaultVision = defaultVision;
+    this.metabolism = metabolism;
+    this.growBackRate = growBackRate;
+    this.growBackInterval = Math.max(1, growBackInterval);
+    this.sugar = new int[rows * columns];
+    this.writtenAt = new long[rows * columns];
+    this.maxSugar = new int[rows * columns];
+    this.occupants = new SugarscapeAgent[rows * columns];
+    this.slots = new int[rows * columns];
+  }
+
+  /**
+   * Advances the board by one step: moves every agent once, in the order they were placed. Sugar
+   * regrown at this tick is already visible to the agents.
+   */
+  public void step() {
+    tick++;
+    touchedCount = 0;
+    if (touched.length < 2 * agentCount) {
+      touched = new int[2 * agentCount];
+    }
+    for (int i = 0; i < agentCount; i++) {
+      moveAgent(i);
+    }
+  }
+
+  /**
+   * Moves an agent to the richest free patch it can see.
+   */
+  private void moveAgent(int index) {
+    int from = positions[index];
+    int row = from / columns;
+    int col = from - row * columns;
+    int[] offsets = visionOffsets[visions[index]];
+    int best = -1;
+    int bestSugar = -1;
+    for (int i = 0; i < offsets.length; i += 2) {
+      int target = resolve(row + offsets[i], col + offsets[i + 1]);
+      if (target >= 0 && occupants[target] == null) {
+        int available = getSugar(target);
+        if (available > bestSugar) {
+          best = target;
+          bestSugar = available;
+        }
+      }
+    }
+    if (best < 0) {
+      return;
+    }
+    SugarscapeAgent agent = agents[index];
+    agent.addSugar(bestSugar);
+    setSugar(best, 0);
+    occupants[from] = null;
+    occupants[best] = agent;
+    slots[best] = index;
+    positions[index] = best;
+    agent.consumeSugar(metabolism);
+    touched[touchedCount++] = from;
+    touched[touchedCount++] = best;
+  }
+
+  /**
+   * @return the position of a cell, or -1 if it is off a board that does not wrap
+   */
+  private int resolve(int row, int col) {
+    if (wrapping) {
+      row = Math.floorMod(row, rows);
+      col = Math.floorMod(col, columns);
+    } else if (row < 0 || row >= rows || col < 0 || col >= columns) {
+      return -1;
+    }
+    return row * columns + col;
+  }
+
+  /**
+   * Returns the cells seen with a given vision as (row, column) offset pairs, building the tables
+   * up to that vision on first use.
+   *
+   * @param vision how far an agent sees along each direction
+   * @return the offsets, nearest first
+   */
+  int[] getVisionOffsets(int vision) {
+    if (vision >= visionOffsets.length) {
+      int[][] grown = Arrays.copyOf(visionOffsets, vision + 1);
+      for (int v = visionOffsets.length; v <= vision; v++) {
+        int[] offsets = new int[8 * v];
+        for (int distance = 1; distance <= v; distance++) {
+          int base = 8 * (distance - 1);
+          offsets[base] = -distance;
+          offsets[base + 2] = distance;
+          offsets[base + 5] = -distance;
+          offsets[base + 7] = distance;
+        }
+        grown[v] = offsets;
+      }
+      visionOffsets = grown;
+    }
+    return visionOffsets[vision];
+  }
+
+  /**
+   * Places an agent on a free patch. Agents move in the order they were placed, except that a
+   * removed agent's place in that order goes to the last agent.
+   *
+   * @param position the position of the patch
+   * @param agent    the agent to place
+   * @param vision   how far the agent sees along each direction
+   * @throws IllegalStateException    if the patch is already occupied
+   * @throws IllegalArgumentException if the vision is negative
+   */
+  public void placeAgent(int position, SugarscapeAgent agent, int vision) {
+    if (occupants[position] != null) {
+      throw new IllegalStateException("Patch " + position + " already holds an agent");
+    }
+    if (vision < 0) {
+      throw new IllegalArgumentException("Vision must not be negative: " + vision);
+    }
+    getVisionOffsets(vision);
+    if (agentCount == agents.length) {
+      int capacity = Math.max(4, agentCount * 2);
+      agents = Arrays.copyOf(agents, capacity);
+      positions = Arrays.copyOf(positions, capacity);
+      visions = Arrays.copyOf(visions, capacity);
+    }
+    agents[agentCount] = agent;
+    positions[agentCount] = position;
+    visions[agentCount] = vision;
+    slots[position] = agentCount;
+    agentCount++;
+    occupants[position] = agent;
+  }
+
+  /**
+   * Removes the agent on a patch, if any, moving the last agent into its slot. Must not be called
+   * during a step.
+   *
+   * @param position the position of the patch
+   */
+  public void removeAgent(int position) {
+    if (occupants[position] == null) {
+      return;
+    }
+    occupants[position] = null;
+    int slot = slots[position];
+    agentCount--;
+    agents[slot] = agents[agentCount];
+    positions[slot] = positions[agentCount];
+    visions[slot] = visions[agentCount];
+    slots[positions[slot]] = slot;
+    agents[agentCount] = null;
+  }
+
+  /**
+   * @param position the position of a patch
+   * @return the agent on the patch, or null
+   */
+  public SugarscapeAgent getAgent(int position) {
+    return occupants[position];
+  }
+
+  /**
+   * Returns the sugar on a patch: what it held when last written plus every regrowth since, up to
+   * its maximum.
+   *
+   * @param position the position of a patch
+   * @return the sugar on the patch
+   */
+  public int getSugar(int position) {
+    long regrowths = tick / growBackInterval - writtenAt[position] / growBackInterval;
+    if (regrowths == 0) {
+      return sugar[position];
+    }
+    return (int) Math.min(sugar[position] + regrowths * growBackRate, maxSugar[position]);
+  }
+
+  /**
+   * @param position the position of a patch
+   * @param amount   the sugar the patch now holds
+   */
+  public void setSugar(int position, int amount) {
+    sugar[position] = amount;
+    writtenAt[position] = tick;
+  }
+
+  /**
+   * @param position the position of a patch
+   * @return the most sugar the patch can hold
+   */
+  public int getMaxSugar(int position) {
+    return maxSugar[position];
+  }
+
+  /**
+   * @param position the position of a patch
+   * @param amount   the most sugar the patch can hold
+   */
+  public void setMaxSugar(int position, int amount) {
+    setSugar(position, getSugar(position));
+    maxSugar[position] = amount;
+  }
+
+  /**
+   * Writes the tick, the current and maximum sugar of every patch and every agent with its
+   * position, vision and sugar, in the order the agents move in. Sugar is written as read at the
+   * current tick, so the regrowth still pending on each patch is folded in.
+   *
+   * @param out the stream receiving the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    out.writeLong(tick);
+    for (int position = 0; position < sugar.length; position++) {
+      out.writeInt(getSugar(position));
+      out.writeInt(maxSugar[position]);
+    }
+    out.writeInt(agentCount);
+    for (int i = 0; i < agentCount; i++) {
+      out.writeInt(positions[i]);
+      out.writeInt(visions[i]);
+      out.writeInt(agents[i].getAgentSugar());
+    }
+  }
+
+  /**
+   * Replaces the board and its agents with those written by {@link #writeCheckpoint}.
+   *
+   * @param in the stream holding the checkpoint
+   * @throws IOException if the checkpoint cannot be read or does not fit the board
+   */
+  public void readCheckpoint(DataInput in) throws IOException {
+    tick = in.readLong();
+    for (int position = 0; position < sugar.length; position++) {
+      setSugar(position, in.readInt());
+      maxSugar[position] = in.readInt();
+    }
+    Arrays.fill(occupants, null);
+    Arrays.fill(agents, null);
+    agentCount = 0;
+    int count = Checkpoints.readIndex(in, occupants.length + 1);
+    for (int i = 0; i < count; i++) {
+      int position = Checkpoints.readIndex(in, occupants.length);
+      int vision = Checkpoints.readIndex(in,
+          Math.max(defaultVision, Math.max(rows, columns)) + 1);
+      if (occupants[position] != null) {
+        throw new IOException("Corrupt checkpoint: two agents at position " + position);
+      }
+      placeAgent(position, new SugarscapeAgent(in.readInt()), vision);
+    }
+  }
+
+  /**
+   * @param wrapping true if the board wraps around, false if it ends at its edges
+   */
+  public void setWrapping(boolean wrapping) {
+    this.wrapping = wrapping;
+  }
+
+  /**
+   * @return how far agents see unless placed with another vision
+   */
+  public int getDefaultVision() {
+    return defaultVision;
+  }
+
+  public int getAgentCount() {
+    return agentCount;
+  }
+
+  /**
+   * Returns the positions the agents left or moved to in the last step, some possibly listed more
+   * than once. Only the first {@link #getTouchedCount()} entries are meaningful.
+   *
+   * @return the positions, reused by the next step
+   */
+  public int[] getTouchedPositions() {
+    return touched;
+  }
+
+  /**
+   * @return the number of positions listed by {@link #getTouchedPositions()}
+   */
+  public int getTouchedCount() {
+    return touchedCount;
+  }
+
+  /**
+   * @return true if sugar regrew in the last step, which may have changed every patch below its
+   * maximum
+   */
+  public boolean regrewLastStep() {
+    return tick > 0 && growBackRate > 0 && tick % growBackInterval == 0;
+  }
+
+  /**
+   * @return the number of steps computed since the engine was created
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+}
@@ -0,0 +1,410 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.grid.Checkpoints;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * WaTor engine that keeps the whole ocean in parallel primitive arrays instead of cells and agent
+ * objects.
+ * <p>
+ * Every position holds a type code (water, fish or shark) and, for occupied positions, the agent's
+ * energy and the steps left until it breeds. The positions of all fish and all sharks are kept in
+ * two compact index lists, with a reverse index so an agent can be moved or removed in constant
+ * time. A step therefore touches only the agents, never the empty ocean, and picks moves by
+ * sampling a random index among the free neighbors instead of shuffling neighbor lists.
+ * </p>
+ * <p>
+ * The rules are those of the WatorWorld ruleset: sharks move first, preferring a neighboring fish
+ * to plain water, then fish move into neighboring water. The ocean wraps around in both directions
+ * and every position has its four orthogonal neighbors. A move costs a shark one energy point and
+ * eating a fish gains it {@code sharkEnergyGain}; an agent leaves a newborn of its kind behind when
+ * its breeding timer reaches zero, and sharks at zero energy die at the end of the step. As in the
+ * ruleset, a position an agent leaves only becomes free water on the next step, and agents with
+ * nowhere to go stay where they are.
+ * </p>
+ */
+public class WatorEngine {
+
+  /**
+   * Type code of a position without an agent.
+   */
+  public static final byte WATER = 0;
+  /**
+   * Type code of a position holding a fish.
+   */
+  public static final byte FISH = 1;
+  /**
+   * Type code of a position holding a shark.
+   */
+  public static final byte SHARK = 2;
+  /**
+   * Energy every shark is born with.
+   */
+  public static final int STARTING_ENERGY = 5;
+
+  private static final int NEIGHBORS = 4;
+
+  private final int rows;
+  private final int columns;
+  private final int fishBreedTime;
+  private final int sharkBreedTime;
+  private final int sharkEnergyGain;
+  private final byte[] types;
+  private final int[] energy;
+  private final int[] breedTimer;
+  private final int[] slots;
+  private final long[] vacatedAt;
+  private final int[] fish;
+  private final int[] sharks;
+  private final int[] order;
+  private final int[] starved;
+  private final int[] candidates = new int[NEIGHBORS];
+  private int fishCount;
+  private int sharkCount;
+  private Random random = new Random();
+  private long generation;
+
+  /**
+   * Creates an ocean of plain water.
+   *
+   * @param rows            the number of rows of the ocean
+   * @param columns         the number of columns of the ocean
+   * @param fishBreedTime   the number of moves between a fish's births
+   * @param sharkBreedTime  the number of moves between a shark's births
+   * @param sharkEnergyGain the energy a shark gains by eating a fish
+   * @throws IllegalArgumentException if the ocean is empty
+   */
+  public WatorEngine(int rows, int columns, int fishBreedTime, int sharkBreedTime,
+      int sharkEnergyGain) {
+    if (rows <= 0 || columns <= 0) {
+      throw new IllegalArgumentException("Ocean must have at least one row and one column");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.fishBreedTime = fishBreedTime;
+    this.sharkBreedTime = sharkBreedTime;
+    this.sharkEnergyGain = sharkEnergyGain;
+    int size = rows * columns;
+    types = new byte[size];
+    energy = new int[size];
+    breedTimer = new int[size];
+    slots = new int[size];
+    vacatedAt = new long[size];
+    fish = new int[size];
+    sharks = new int[size];
+    order = new int[size];
+    starved = new int[size];
+  }
+
+  /**
+   * Replaces the ocean with the contents of a compact state plane. Agents already in the engine
+   * whose position still holds the same kind keep their energy and breeding timer; every other
+   * agent starts fresh.
+   *
+   * @param plane     the state codes of every position in row-major order
+   * @param fishCode  the code of a fish
+   * @param sharkCode the code of a shark
+   */
+  public void load(byte[] plane, byte fishCode, byte sharkCode) {
+    fishCount = 0;
+    sharkCount = 0;
+    for (int position = 0; position < types.length; position++) {
+      byte type = plane[position] == fishCode ? FISH : plane[position] == sharkCode ? SHARK : WATER;
+      if (type != types[position]) {
+        types[position] = type;
+        energy[position] = STARTING_ENERGY;
+        breedTimer[position] = type == SHARK ? sharkBreedTime : fishBreedTime;
+      }
+      if (type != WATER) {
+        addToList(position, type);
+      }
+    }
+  }
+
+  /**
+   * Writes the ocean into a compact state plane.
+   *
+   * @param plane     the array receiving the state code of every position in row-major order
+   * @param fishCode  the code of a fish
+   * @param sharkCode the code of a shark
+   * @param waterCode the code of plain water
+   */
+  public void store(byte[] plane, byte fishCode, byte sharkCode, byte waterCode) {
+    for (int position = 0; position < types.length; position++) {
+      byte type = types[position];
+      plane[position] = type == FISH ? fishCode : type == SHARK ? sharkCode : waterCode;
+    }
+  }
+
+  /**
+   * Checks whether a compact state plane holds exactly the agents of this engine.
+   *
+   * @param plane     the state codes of every position in row-major order
+   * @param fishCode  the code of a fish
+   * @param sharkCode the code of a shark
+   * @return true if every position of the plane matches the engine
+   */
+  public boolean matches(byte[] plane, byte fishCode, byte sharkCode) {
+    for (int position = 0; position < types.length; position++) {
+      byte type = plane[position] == fishCode ? FISH : plane[position] == sharkCode ? SHARK : WATER;
+      if (type != types[position]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the generation and every agent with its energy and breeding timer, sharks then fish,
+   * each kind in the order it moves in.
+   *
+   * @param out the stream receiving the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    out.writeLong(generation);
+    writeAgents(out, sharks, sharkCount);
+    writeAgents(out, fish, fishCount);
+  }
+
+  private void writeAgents(DataOutput out, int[] list, int count) throws IOException {
+    out.writeInt(count);
+    for (int i = 0; i < count; i++) {
+      int position = list[i];
+      out.writeInt(position);
+      out.writeInt(energy[position]);
+      out.writeInt(breedTimer[position]);
+    }
+  }
+
+  /**
+   * Replaces the ocean with the agents written by {@link #writeCheckpoint}, in the same move
+   * order.
+   *
+   * @param in the stream holding the checkpoint
+   * @throws IOException if the checkpoint cannot be read or does not fit the ocean
+   */
+  public void readCheckpoint(DataInput in) throws IOException {
+    generation = in.readLong();
+    Arrays.fill(types, WATER);
+    Arrays.fill(vacatedAt, 0);
+    sharkCount = 0;
+    fishCount = 0;
+    readAgents(in, SHARK);
+    readAgents(in, FISH);
+  }
+
+  private void readAgents(DataInput in, byte type) throws IOException {
+    int count = Checkpoints.readIndex(in, types.length + 1);
+    for (int i = 0; i < count; i++) {
+      int position = Checkpoints.readIndex(in, types.length);
+      if (types[position] != WATER) {
+        throw new IOException("Corrupt checkpoint: two agents at position " + position);
+      }
+      types[position] = type;
+      energy[position] = in.readInt();
+      breedTimer[position] = in.readInt();
+      addToList(position, type);
+    }
+  }
+
+  /**
+   * Advances the ocean by one step.
+   */
+  public void step() {
+    generation++;
+    int movers = sharkCount;
+    System.arraycopy(sharks, 0, order, 0, movers);
+    int starvedCount = 0;
+    for (int i = 0; i < movers; i++) {
+      int from = order[i];
+      int to = pickNeighbor(from, FISH);
+      if (to < 0) {
+        to = pickNeighbor(from, WATER);
+      }
+      if (to < 0) {
+        continue;
+      }
+      boolean ate = types[to] == FISH;
+      if (ate) {
+        remove(to);
+      }
+      move(from, to);
+      energy[to] += (ate ? sharkEnergyGain : 0) - 1;
+      if (energy[to] <= 0) {
+        starved[starvedCount++] = to;
+      }
+    }
+
+    movers = fishCount;
+    System.arraycopy(fish, 0, order, 0, movers);
+    for (int i = 0; i < movers; i++) {
+      int from = order[i];
+      int to = pickNeighbor(from, WATER);
+      if (to >= 0) {
+        move(from, to);
+      }
+    }
+
+    for (int i = 0; i < starvedCount; i++) {
+      remove(starved[i]);
+    }
+  }
+
+  /**
+   * Advances the ocean by a number of steps.
+   *
+   * @param steps how many steps to compute
+   */
+  public void step(int steps) {
+    for (int i = 0; i < steps; i++) {
+      step();
+    }
+  }
+
+  /**
+   * @param row the row of the position
+   * @param col the column of the position
+   * @return the type code of the position
+   */
+  public byte getType(int row, int col) {
+    return types[row * columns + col];
+  }
+
+  /**
+   * @param row the row of the position
+   * @param col the column of the position
+   * @return the energy of the agent at the position
+   */
+  public int getEnergy(int row, int col) {
+    return energy[row * columns + col];
+  }
+
+  /**
+   * @param row the row of the position
+   * @param col the column of the position
+   * @return the number of moves before the agent at the position breeds
+   */
+  public int getBreedTimer(int row, int col) {
+    return breedTimer[row * columns + col];
+  }
+
+  public int getFishCount() {
+    return fishCount;
+  }
+
+  public int getSharkCount() {
+    return sharkCount;
+  }
+
+  /**
+   * @return the number of steps computed since the engine was created
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * @param random the source of randomness for picking moves, e.g. a seeded one for repeatable runs
+   */
+  public void setRandom(Random random) {
+    this.random = random;
+  }
+
+  /**
+   * Picks a random orthogonal neighbor of a given type.
+   *
+   * @return the neighbor's position, or -1 if no neighbor has that type
+   */
+  private int pickNeighbor(int position, byte type) {
+    int row = position / columns;
+    int col = position - row * columns;
+    int up = (row == 0 ? rows - 1 : row - 1) * columns + col;
+    int down = (row == rows - 1 ? 0 : row + 1) * columns + col;
+    int left = row * columns + (col == 0 ? columns - 1 : col - 1);
+    int right = row * columns + (col == columns - 1 ? 0 : col + 1);
+    int count = 0;
+    count = addCandidate(up, type, count);
+    count = addCandidate(down, type, count);
+    count = addCandidate(left, type, count);
+    count = addCandidate(right, type, count);
+    if (count == 0) {
+      return -1;
+    }
+    return count == 1 ? candidates[0] : candidates[random.nextInt(count)];
+  }
+
+  private int addCandidate(int position, byte type, int count) {
+    if (types[position] == type && vacatedAt[position] != generation) {
+      candidates[count++] = position;
+    }
+    return count;
+  }
+
+  /**
+   * Moves the agent at {@code from} into the free position {@code to}, ticks its breeding timer,
+   * and leaves a newborn behind if the timer ran out.
+   */
+  private void move(int from, int to) {
+    byte type = types[from];
+    int[] list = type == SHARK ? sharks : fish;
+    list[slots[from]] = to;
+    slots[to] = slots[from];
+    types[to] = type;
+    types[from] = WATER;
+    vacatedAt[from] = generation;
+    energy[to] = energy[from];
+
+    int breedTime = type == SHARK ? sharkBreedTime : fishBreedTime;
+    int timer = breedTimer[from] - 1;
+    if (timer < 0) {
+      timer = breedTime;
+    }
+    breedTimer[to] = timer;
+    if (timer == 0) {
+      types[from] = type;
+      energy[from] = STARTING_ENERGY;
+      breedTimer[from] = breedTime;
+      addToList(from, type);
+    }
+  }
+
+  /**
+   * Removes the agent at a position, leaving plain water.
+   */
+  private void remove(int position) {
+    int slot = slots[position];
+    if (types[position] == SHARK) {
+      int last = sharks[--sharkCount];
+      sharks[slot] = last;
+      slots[last] = slot;
+    } else {
+      int last = fish[--fishCount];
+      fish[slot] = last;
+      slots[last] = slot;
+    }
+    types[position] = WATER;
+  }
+
+  private void addToList(int position, byte type) {
+    if (type == SHARK) {
+      slots[position] = sharkCount;
+      sharks[sharkCount++] = position;
+    } else {
+      slots[position] = fishCount;
+      fish[fishCount++] = position;
+    }
+  }
+}
@@ -5,7 +5,9 @@ import cellsociety.model.cell.SugarscapePatch;
 import cellsociety.model.state.CellState;
 import cellsociety.parser.PropertiesLoader;
 import java.lang.reflect.Constructor;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -13,6 +15,10 @@ import org.apache.logging.log4j.Logger;
  * Author: Daniel Rodriguez-Florido
  * <p>
  * Factory to generate any kind of cell based on the given state and id
+ * <p>
+ * The property files are read once, and the constructor for each state is looked up the first time
+ * a cell in that state is created and reused afterwards, so building a grid costs one allocation
+ * per cell rather than a classpath read and a reflective lookup.
  */
 public class CellFactory {
 
@@ -20,6 +26,22 @@ public class CellFactory {
 
   private static final String CELL_CLASS_PROPERTY_FILE_NAME = "cellsociety/cells.properties";
   private static final String CELL_STATE_PROPERTY_FILE_NAME = "cellsociety/cellstates.properties";
+  private static final int DEFAULT_MAX_SUGAR = 25;
+
+  private static final Properties cellClassProperties = loadProperties(
+      CELL_CLASS_PROPERTY_FILE_NAME);
+  private static final Properties cellStateProperties = loadProperties(
+      CELL_STATE_PROPERTY_FILE_NAME);
+  private static final Map<CellState, CellCreator> creators = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a cell of a type that has already been resolved.
+   */
+  @FunctionalInterface
+  private interface CellCreator {
+
+    Cell create(int id, CellState state, Integer initialSugar) throws ReflectiveOperationException;
+  }
 
   /**
    * Creates a cell of the desired type based on the given unique CellState
@@ -29,11 +51,24 @@ public class CellFactory {
    * @return New concrete Cell object which extends Cell
    */
   public static Cell createCell(int id, CellState state, Integer initialSugar) {
-    Properties cellClassProperties = new Properties();
-    PropertiesLoader.loadPropertiesFolder(CELL_CLASS_PROPERTY_FILE_NAME, cellClassProperties);
+    try {
+      return creators.computeIfAbsent(state, CellFactory::resolveCreator)
+          .create(id, state, initialSugar);
+    } catch (Exception e) {
+      log.error("Could not instantiate cell for state: {}", state);
+      throw new RuntimeException("Error creating cell for state " + state);
+    }
+  }
 
+  /**
+   * Looks up the cell class of a state and the constructor used to build it.
+   *
+   * @param state The state to resolve
+   * @return A creator that calls the resolved constructor
+   */
+  private static CellCreator resolveCreator(CellState state) {
     String cellType = getCellType(state);
-    String cellClass = cellClassProperties.getProperty(cellType);
+    String cellClass = cellType == null ? null : cellClassProperties.getProperty(cellType);
 
     try {
       Class<? extends Cell> clazz = (Class<? extends Cell>) Class.forName(cellClass);
@@ -42,13 +77,12 @@ public class CellFactory {
       if (clazz.equals(SugarscapePatch.class)) {
         Constructor<? extends Cell> constructor = clazz.getConstructor(int.class, CellState.class,
             CellState.class, int.class, int.class);
-        int sugarValue = (initialSugar != null) ? initialSugar : 0; // Default to 0 if not provided
-        return constructor.newInstance(id, state, null, sugarValue, 25); // Assuming maxSugar is 25
-      } else {
-        Constructor<? extends Cell> constructor = clazz.getConstructor(int.class, CellState.class,
-            CellState.class);
-        return constructor.newInstance(id, state, null);
+        return (id, cellState, initialSugar) -> constructor.newInstance(id, cellState, null,
+            initialSugar != null ? initialSugar : 0, DEFAULT_MAX_SUGAR);
       }
+      Constructor<? extends Cell> constructor = clazz.getConstructor(int.class, CellState.class,
+          CellState.class);
+      return (id, cellState, initialSugar) -> constructor.newInstance(id, cellState, null);
     } catch (Exception classNotFoundException) {
       log.error("Could not instantiate cell type: {}", cellType);
       throw new RuntimeException("Error creating cell of type " + cellType);
@@ -62,9 +96,6 @@ public class CellFactory {
    * @return The Cell type the state belongs to
    */
   private static String getCellType(CellState state) {
-    Properties cellStateProperties = new Properties();
-    PropertiesLoader.loadPropertiesFolder(CELL_STATE_PROPERTY_FILE_NAME, cellStateProperties);
-
     for (String key : cellStateProperties.stringPropertyNames()) {
       String[] states = cellStateProperties.getProperty(key).split(",");
       for (String myState : states) {
@@ -77,4 +108,10 @@ public class CellFactory {
     return null;
   }
 
+  private static Properties loadProperties(String fileName) {
+    Properties properties = new Properties();
+    PropertiesLoader.loadPropertiesFolder(fileName, properties);
+    return properties;
+  }
+
 }
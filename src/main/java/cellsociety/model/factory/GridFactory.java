@@ -0,0 +1,71 @@
+package cellsociety.model.factory;
+
+import cellsociety.model.grid.CellShapeFactory;
+import cellsociety.model.grid.EdgeFactory;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.NeighborhoodFactory;
+import cellsociety.model.grid.storage.StorageType;
+import cellsociety.model.ruleset.Ruleset;
+import cellsociety.model.ruleset.SugarscapeRuleset;
+import cellsociety.parser.BinarySnapshotParser;
+import cellsociety.parser.Parser;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Factory that builds a fully configured {@link Grid} from a parsed simulation file: the ruleset,
+ * its storage, the initial states and the edge handler, neighborhood and cell shape named in the
+ * file. Both the JavaFX screens and the headless batch runner go through it, so a configuration
+ * behaves the same way whether or not it is displayed.
+ */
+public class GridFactory {
+
+  /**
+   * Creates the ruleset named in the file and a grid that runs it.
+   *
+   * @param parser a parser that has read a simulation file
+   * @return the configured grid
+   */
+  public static Grid createGrid(Parser parser) {
+    Ruleset ruleset = RulesetFactory.createRuleset(parser.getSimType(), parser.getSimVarsMap());
+    return createGrid(parser, ruleset);
+  }
+
+  /**
+   * Creates a grid that runs the given ruleset with the settings of the file. Compact grids are
+   * filled straight from the parser's state codes when it has them, so no symbol is created per
+   * cell. Grids built from a binary snapshot get the snapshot's checkpoint restored, so they
+   * continue the run it was taken from.
+   *
+   * @param parser  a parser that has read a simulation file
+   * @param ruleset the ruleset the grid applies
+   * @return the configured grid
+   * @throws UncheckedIOException if the checkpoint of a snapshot cannot be restored
+   */
+  public static Grid createGrid(Parser parser, Ruleset ruleset) {
+    ruleset.setStorageType(StorageType.fromName(parser.getStorageType()));
+    if (Parser.requiresValues(parser.getSimType())) {
+      ((SugarscapeRuleset) ruleset).setInitialValues(parser.getValues());
+    }
+    boolean stateCodes = parser.hasStateCodes()
+        && ruleset.getStorageType() == StorageType.COMPACT && !ruleset.requiresCellObjects();
+    Grid grid = ruleset.createGrid(parser.getRows(), parser.getColumns(),
+        stateCodes ? null : parser.getInitialStates());
+    if (stateCodes) {
+      grid.loadStateCodes(parser.getStateSymbols(), parser::readStateCodes);
+    }
+    grid.setEdgeHandler(EdgeFactory.createEdgeHandler(parser.getEdgeType()));
+    grid.setNeighborhoodStrategy(
+        NeighborhoodFactory.createNeighborhoodStrategy(parser.getNeighborhoodType()));
+    grid.setCellShape(CellShapeFactory.createCellShape(parser.getCellShape()));
+    grid.setThreadCount(parser.getThreads());
+    if (parser instanceof BinarySnapshotParser snapshot) {
+      try {
+        snapshot.restoreCheckpoint(grid);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not restore checkpoint: " + e.getMessage(), e);
+      }
+    }
+    return grid;
+  }
+}
@@ -1,12 +1,17 @@
 package cellsociety.model.factory;
 
 import cellsociety.model.agent.WatorAgent;
+import cellsociety.model.cell.WatorCell.WatorState;
 import cellsociety.model.state.CellState;
 import cellsociety.parser.PropertiesLoader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -15,6 +20,11 @@ import org.apache.logging.log4j.Logger;
  * Author: Daniel Rodriguez-Florido
  * <p>
  * Agent factory for the WatorWorld Ruleset (instantiates either fish or shark)
+ * <p>
+ * The agent classes, their constructors and the breeding and energy parameters are all resolved
+ * when the factory is built, so creating an agent during a step is a plain constructor call. The
+ * factory can also keep a pool of agents handed back with {@link #releaseWatorAgent(WatorAgent)}
+ * and reset them instead of allocating new ones.
  */
 public class WatorAgentFactory {
 
@@ -23,18 +33,30 @@ public class WatorAgentFactory {
   private static final String FISH_BREED_PARAM_NAME = "fishBreedTime";
   private static final String SHARK_BREED_PARAM_NAME = "sharkBreedTime";
   private static final String SHARK_ENERGY_GAIN_NAME = "sharkEnergyGain";
+  private static final String AGENT_POOL_PARAM_NAME = "agentPool";
 
   private static final Logger log = LogManager.getLogger(WatorAgentFactory.class);
 
-  private final Map<String, String> params;
+  private final Map<CellState, Supplier<WatorAgent>> creators = new HashMap<>();
+  private final Map<CellState, Deque<WatorAgent>> pool = new HashMap<>();
+  private boolean pooling;
 
   /**
    * Constructor to take in the params of the agents
    *
-   * @param params The parameters we wish to fill the agents with
+   * @param params The parameters we wish to fill the agents with. The optional "agentPool"
+   *               parameter turns agent recycling off when set to false.
    */
   public WatorAgentFactory(Map<String, String> params) {
-    this.params = params;
+    Properties myProperties = new Properties();
+    PropertiesLoader.loadPropertiesFolder(PROPERTY_FILE_NAME, myProperties);
+    for (WatorState state : WatorState.values()) {
+      String agentClassName = myProperties.getProperty(state.toString());
+      if (agentClassName != null) {
+        creators.put(state, resolveCreator(agentClassName, params));
+      }
+    }
+    pooling = Boolean.parseBoolean(params.getOrDefault(AGENT_POOL_PARAM_NAME, "true"));
   }
 
   /**
@@ -44,10 +66,52 @@ public class WatorAgentFactory {
    * @return The new WatorAgent
    */
   public WatorAgent createWatorAgent(CellState agentType) {
-    Properties myProperties = new Properties();
-    PropertiesLoader.loadPropertiesFolder(PROPERTY_FILE_NAME, myProperties);
-    String agentClassName = myProperties.getProperty(agentType.toString());
+    Supplier<WatorAgent> creator = creators.get(agentType);
+    if (creator == null) {
+      log.error("The provided state does not have a corresponding agent: {}", agentType);
+      throw new RuntimeException(
+          "The provided state does not have a corresponding agent: " + agentType);
+    }
+    Deque<WatorAgent> freeAgents = pool.get(agentType);
+    if (pooling && freeAgents != null && !freeAgents.isEmpty()) {
+      WatorAgent agent = freeAgents.pop();
+      agent.reset();
+      return agent;
+    }
+    return creator.get();
+  }
 
+  /**
+   * Hands back an agent that is no longer on the grid so a later call to
+   * {@link #createWatorAgent(CellState)} can reuse it. The caller must not keep any reference to
+   * the agent. Does nothing when pooling is off.
+   *
+   * @param agent The agent that has been removed from the grid
+   */
+  public void releaseWatorAgent(WatorAgent agent) {
+    if (pooling) {
+      pool.computeIfAbsent(agent.getState(), state -> new ArrayDeque<>()).push(agent);
+    }
+  }
+
+  /**
+   * @param pooling true to reuse released agents, false to always allocate new ones
+   */
+  public void setPooling(boolean pooling) {
+    this.pooling = pooling;
+    if (!pooling) {
+      pool.clear();
+    }
+  }
+
+  /**
+   * Looks up the constructor of an agent class and binds it to its parameters.
+   *
+   * @param agentClassName The fully qualified name of the agent class
+   * @param params         The parameters of the simulation
+   * @return A supplier calling the constructor
+   */
+  private Supplier<WatorAgent> resolveCreator(String agentClassName, Map<String, String> params) {
     try {
       Class<?> clazz = Class.forName(agentClassName);
 
@@ -55,27 +119,28 @@ public class WatorAgentFactory {
         Constructor<?> constructor = clazz.getConstructor(int.class, int.class);
         int param1 = Integer.parseInt(params.getOrDefault(SHARK_ENERGY_GAIN_NAME, "5"));
         int param2 = Integer.parseInt(params.getOrDefault(SHARK_BREED_PARAM_NAME, "3"));
-        return (WatorAgent) constructor.newInstance(param1, param2);
+        return () -> instantiate(constructor, param1, param2);
       } catch (NoSuchMethodException e) {
-        log.warn("No constructor for agent of two params. Trying other constructor.");
+        log.debug("No constructor for agent of two params. Trying other constructor.");
       }
 
       Constructor<?> constructor = clazz.getConstructor(int.class);
       int param1 = Integer.parseInt(params.getOrDefault(FISH_BREED_PARAM_NAME, "5"));
-      return (WatorAgent) constructor.newInstance(param1);
+      return () -> instantiate(constructor, param1);
 
     } catch (ClassNotFoundException | NoSuchMethodException e) {
       log.error("Could not load agent class {}", agentClassName);
       throw new RuntimeException("Could not load agent class " + agentClassName);
-    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-      log.error("Could not instantiate Agent with one parameter: {}", agentType);
-      throw new RuntimeException("Could not instantiate Agent with one parameter " + agentType);
-    } catch (NullPointerException e) {
-      log.error("The provided state does not have a corresponding agent: {}", agentType);
-      throw new RuntimeException(
-          "The provided state does not have a corresponding agent: " + agentType);
     }
+  }
 
+  private WatorAgent instantiate(Constructor<?> constructor, Object... args) {
+    try {
+      return (WatorAgent) constructor.newInstance(args);
+    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+      log.error("Could not instantiate Agent: {}", constructor.getDeclaringClass());
+      throw new RuntimeException("Could not instantiate Agent " + constructor.getDeclaringClass());
+    }
   }
 
 }
@@ -0,0 +1,72 @@
+package cellsociety.model.grid;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Ids of the cells of a {@link Grid} whose state changed since the list was last cleared, each
+ * listed once, or a flag saying every cell must be treated as changed.
+ * <p>
+ * A grid keeps one list for its view and opens one more for every other reader, such as a
+ * {@link ReplayRecorder}, so each reader clears its own list at its own pace. Lists are only used
+ * on the thread that steps the grid.
+ * </p>
+ *
+ * @author Luke
+ */
+final class ChangeList {
+
+  private final BitSet marks = new BitSet();
+  private int[] ids = new int[0];
+  private int count;
+  private boolean allChanged = true;
+
+  /**
+   * Lists a cell as changed, unless it is already listed or every cell is.
+   *
+   * @param id the row-major id of the cell
+   */
+  void add(int id) {
+    if (allChanged || marks.get(id)) {
+      return;
+    }
+    marks.set(id);
+    if (count == ids.length) {
+      ids = Arrays.copyOf(ids, Math.max(16, 2 * count));
+    }
+    ids[count++] = id;
+  }
+
+  /**
+   * @return a read-only buffer of the listed ids, not meaningful while {@link #isAllChanged()}
+   */
+  IntBuffer getIds() {
+    return IntBuffer.wrap(ids, 0, count).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * @return true if every cell must be treated as changed
+   */
+  boolean isAllChanged() {
+    return allChanged;
+  }
+
+  /**
+   * Treats every cell as changed until the list is cleared.
+   */
+  void markAllChanged() {
+    allChanged = true;
+  }
+
+  /**
+   * Empties the list.
+   */
+  void clear() {
+    for (int i = 0; i < count; i++) {
+      marks.clear(ids[i]);
+    }
+    count = 0;
+    allChanged = false;
+  }
+}
@@ -0,0 +1,62 @@
+package cellsociety.model.grid;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Helpers shared by the classes that write their state into a grid checkpoint.
+ * <p>
+ * A random generator is checkpointed by reseeding it with a seed drawn from itself and recording
+ * that seed. The running simulation and one restored from the checkpoint then draw the same
+ * numbers from that point on, without serializing the generator object.
+ * </p>
+ *
+ * @author Luke
+ */
+public final class Checkpoints {
+
+  private Checkpoints() {
+  }
+
+  /**
+   * Reseeds a generator and writes the new seed.
+   *
+   * @param out    the checkpoint being written
+   * @param random the generator to record
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public static void writeRandom(DataOutput out, Random random) throws IOException {
+    long seed = random.nextLong();
+    random.setSeed(seed);
+    out.writeLong(seed);
+  }
+
+  /**
+   * Reseeds a generator with the seed recorded by {@link #writeRandom}.
+   *
+   * @param in     the checkpoint being read
+   * @param random the generator to restore
+   * @throws IOException if the checkpoint cannot be read
+   */
+  public static void readRandom(DataInput in, Random random) throws IOException {
+    random.setSeed(in.readLong());
+  }
+
+  /**
+   * Reads a count or index and checks it lies in {@code [0, limit)}.
+   *
+   * @param in    the checkpoint being read
+   * @param limit the exclusive upper bound
+   * @return the value read
+   * @throws IOException if the value cannot be read or is out of range
+   */
+  public static int readIndex(DataInput in, int limit) throws IOException {
+    int value = in.readInt();
+    if (value < 0 || value >= limit) {
+      throw new IOException("Corrupt checkpoint: " + value + " is not below " + limit);
+    }
+    return value;
+  }
+}
@@ -1,5 +1,16 @@
 package cellsociety.model.grid;
 
+import cellsociety.model.cell.ConwayCell.ConwayState;
+import cellsociety.model.engine.BitLifeEngine;
+import cellsociety.model.engine.BitLifeEngine.Boundary;
+import cellsociety.model.engine.HashlifeEngine;
+import cellsociety.model.grid.handler.InfiniteEdgeHandler;
+import cellsociety.model.grid.handler.MirrorEdgeHandler;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.grid.storage.ByteCellStorage;
+import cellsociety.model.ruleset.ConwayRuleset;
 import cellsociety.model.ruleset.Ruleset;
 
 /*
@@ -8,6 +19,9 @@ Does not display the grid or interact at all with javafx packages (i.e Scene, Gr
  */
 public class ConwayGrid extends Grid {
 
+  private BitLifeEngine bitEngine;
+  private HashlifeEngine hashlifeEngine;
+
   /**
    * Constructor for ConwayGrid.
    *
@@ -19,4 +33,156 @@ public class ConwayGrid extends Grid {
     super(rows, columns, ruleset, cells);
   }
 
+  @Override
+  public void update() {
+    step(1);
+  }
+
+  /**
+   * Advances the grid by several generations.
+   * <p>
+   * Grids with infinite edges, rectangular cells, the full Moore neighborhood and a rule without
+   * B0 jump straight to the target generation with a {@link HashlifeEngine}. Compact grids on
+   * rectangular cells with the full Moore neighborhood and toroidal or mirrored edges are stepped
+   * by a {@link BitLifeEngine}, which packs 64 cells per word. The board is packed once, stepped
+   * for every generation, and unpacked once. Every other grid is updated one generation at a time.
+   * </p>
+   *
+   * @param generations how many generations to compute
+   */
+  @Override
+  public void advance(long generations) {
+    ConwayRuleset rules = getHashlifeRules();
+    if (generations > 0 && rules != null) {
+      jump(rules, generations);
+      return;
+    }
+    step(Math.toIntExact(generations));
+  }
+
+  /**
+   * @return true while the grid can be advanced with Hashlife
+   */
+  @Override
+  public boolean canJumpGenerations() {
+    return getHashlifeRules() != null;
+  }
+
+  /**
+   * Steps the grid one generation at a time, through the bit-packed engine when it applies.
+   */
+  private void step(int generations) {
+    BitLifeEngine engine = getBitEngine();
+    if (engine == null) {
+      for (int i = 0; i < generations; i++) {
+        super.update();
+      }
+      return;
+    }
+    ByteCellStorage planes = getPlanes();
+    byte aliveCode = planes.getCode(ConwayState.ALIVE);
+    engine.load(planes.getCurrentPlane(), aliveCode);
+    engine.step(generations);
+    engine.store(planes.getNextPlane(), aliveCode, planes.getCode(ConwayState.DEAD));
+    moveNextStateToCurrent();
+    markAllDirty();
+  }
+
+  /**
+   * Advances an infinite grid with Hashlife, then grows the grid so it holds every live cell of
+   * the result. The engine is kept between calls so the squares it has already evolved are reused.
+   *
+   * @param rules       the rules of the grid
+   * @param generations how many generations to compute
+   */
+  private void jump(ConwayRuleset rules, long generations) {
+    if (hashlifeEngine == null) {
+      hashlifeEngine = new HashlifeEngine(rules.getBirthMask(), rules.getSurvivalMask(),
+          HashlifeEngine.DEFAULT_CACHE_SIZE);
+    }
+    int columns = getColumns();
+    hashlifeEngine.load(getRows(), columns,
+        id -> getCell(id / columns, id % columns).getCurrState() == ConwayState.ALIVE);
+    hashlifeEngine.jump(generations);
+
+    long[] bounds = hashlifeEngine.getBounds();
+    int rowShift = 0;
+    int colShift = 0;
+    if (bounds != null) {
+      rowShift = (int) Math.max(0, -bounds[0]);
+      colShift = (int) Math.max(0, -bounds[1]);
+      if (rowShift > 0 || colShift > 0) {
+        expandGrid(-rowShift, -colShift);
+      }
+      int lastRow = Math.toIntExact(bounds[2] + rowShift);
+      int lastCol = Math.toIntExact(bounds[3] + colShift);
+      if (lastRow >= getRows() || lastCol >= getColumns()) {
+        expandGrid(lastRow, lastCol);
+      }
+    }
+    for (int row = 0; row < getRows(); row++) {
+      for (int col = 0; col < getColumns(); col++) {
+        getCell(row, col).setNextState(ConwayState.DEAD);
+      }
+    }
+    int shiftRows = rowShift;
+    int shiftCols = colShift;
+    hashlifeEngine.forEachAlive((row, col) ->
+        getCell((int) row + shiftRows, (int) col + shiftCols).setNextState(ConwayState.ALIVE));
+    moveNextStateToCurrent();
+    markAllDirty();
+  }
+
+  /**
+   * @return the rules to jump this grid with, or null if Hashlife cannot compute its generations
+   */
+  private ConwayRuleset getHashlifeRules() {
+    if (getLength() == 0 || !(getEdgeHandler() instanceof InfiniteEdgeHandler)
+        || !(getRuleset() instanceof ConwayRuleset rules) || (rules.getBirthMask() & 1) != 0
+        || !(getNeighborhoodStrategy() instanceof ExtendedMooreNeighborhood)
+        || !(getCellShape() instanceof RectangularShape)) {
+      return null;
+    }
+    return rules;
+  }
+
+  /**
+   * @return true if updates of this grid currently run on the bit-packed engine
+   */
+  public boolean usesBitEngine() {
+    return getBitEngine() != null;
+  }
+
+  /**
+   * Returns the bit-packed engine matching the grid's current size and edges, creating it if the
+   * grid changed since it was last used.
+   *
+   * @return the engine, or null if this grid cannot be stepped by it
+   */
+  private BitLifeEngine getBitEngine() {
+    Boundary boundary = getBoundary();
+    if (boundary == null || getPlanes() == null || getRows() < 2 || getColumns() < 2
+        || !(getRuleset() instanceof ConwayRuleset rules)
+        || !(getNeighborhoodStrategy() instanceof ExtendedMooreNeighborhood)
+        || !(getCellShape() instanceof RectangularShape)) {
+      return null;
+    }
+    if (bitEngine == null || bitEngine.getRows() != getRows()
+        || bitEngine.getColumns() != getColumns() || bitEngine.getBoundary() != boundary) {
+      bitEngine = new BitLifeEngine(getRows(), getColumns(), rules.getBirthMask(),
+          rules.getSurvivalMask(), boundary);
+    }
+    return bitEngine;
+  }
+
+  private Boundary getBoundary() {
+    if (getEdgeHandler() instanceof ToroidalEdgeHandler) {
+      return Boundary.TOROIDAL;
+    }
+    if (getEdgeHandler() instanceof MirrorEdgeHandler) {
+      return Boundary.MIRROR;
+    }
+    return null;
+  }
+
 }
@@ -1,5 +1,6 @@
 package cellsociety.model.grid;
 
+import cellsociety.model.ruleset.FireRuleset;
 import cellsociety.model.ruleset.Ruleset;
 
 /*
@@ -18,4 +19,15 @@ public class FireGrid extends Grid {
     super(rows, columns, ruleset, cells);
   }
 
+  /**
+   * Updates every cell, then moves the ruleset's random draws on to the next generation.
+   */
+  @Override
+  public void update() {
+    super.update();
+    if (getRuleset() instanceof FireRuleset rules) {
+      rules.endGeneration();
+    }
+  }
+
 }
@@ -10,21 +10,39 @@ import cellsociety.model.factory.CellFactory;
 import cellsociety.model.grid.handler.EdgeHandler;
 import cellsociety.model.grid.neighborhood.NeighborhoodStrategy;
 import cellsociety.model.grid.shape.CellShape;
+import cellsociety.model.grid.storage.ByteCellStorage;
+import cellsociety.model.grid.storage.CellStorage;
+import cellsociety.model.grid.storage.ObjectCellStorage;
+import cellsociety.model.grid.storage.StorageType;
 import cellsociety.model.ruleset.Ruleset;
+import cellsociety.model.ruleset.StateCodeRuleset;
 import cellsociety.model.ruleset.SugarscapeRuleset;
 import cellsociety.model.state.CellState;
 import cellsociety.model.state.SugarscapeState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Updates Grid based on Cell logic. This abstract class manages a grid of cells and applies a given
  * ruleset to update cell states. It does not handle any UI or JavaFX display logic.
  * <p>
  * The grid is initialized using a provided array of state symbols, which are mapped to specific
- * {@link CellState} instances via a static state map.
+ * {@link CellState} instances via a static state map. Cells are kept in a {@link CellStorage}: one
+ * object per cell by default, or two flat byte planes when the ruleset asks for
+ * {@link StorageType#COMPACT} storage and its cells carry nothing but a state.
  *
  * @author Luke
  * @author Palo
@@ -57,7 +75,19 @@ public abstract class Grid {
   private int rows;
   private int columns;
   private final String[] myCells;
-  private List<List<Cell>> myGrid;
+  private CellStorage myStorage;
+  private ByteCellStorage myPlanes;
+  private int[] neighborIds = new int[0];
+  private NeighborTable neighborTable;
+  private final List<Cell> neighborBuffer = new ArrayList<>();
+  private boolean dirtyTracking = true;
+  private BitSet activeCells;
+  private BitSet nextActiveCells = new BitSet();
+  private int[] evaluatedIds = new int[0];
+  private final ChangeList viewChanges = new ChangeList();
+  private final List<ChangeList> changeLists = new ArrayList<>(List.of(viewChanges));
+  private ForkJoinPool pool;
+  private boolean ownsPool;
   private final Ruleset ruleset;
   private EdgeHandler edgeHandler;
   private NeighborhoodStrategy neighborhoodStrategy;
@@ -69,7 +99,8 @@ public abstract class Grid {
    * @param rows    the number of rows in the grid
    * @param columns the number of columns in the grid
    * @param ruleset the {@link Ruleset} to apply to this grid
-   * @param cells   an array of state symbols representing the initial states of the cells
+   * @param cells   an array of state symbols representing the initial states of the cells, or
+   *                null to start every cell in the ruleset's default state
    */
   public Grid(int rows, int columns, Ruleset ruleset, String[] cells) {
     this.rows = rows;
@@ -86,6 +117,7 @@ public abstract class Grid {
    */
   public void setEdgeHandler(EdgeHandler handler) {
     this.edgeHandler = handler;
+    invalidateNeighbors();
   }
 
   /**
@@ -95,6 +127,7 @@ public abstract class Grid {
    */
   public void setNeighborhoodStrategy(NeighborhoodStrategy strategy) {
     this.neighborhoodStrategy = strategy;
+    invalidateNeighbors();
   }
 
   /**
@@ -105,28 +138,93 @@ public abstract class Grid {
    */
   public void setCellShape(CellShape shape) {
     this.cellShape = shape;
+    invalidateNeighbors();
+  }
+
+  /**
+   * Sets how many threads update the grid. With more than one thread, grids whose ruleset is
+   * cell-local are split into bands of rows that are updated concurrently on a pool owned by the
+   * grid; other rulesets keep updating sequentially.
+   *
+   * @param threads the number of threads to use, 1 for a sequential update
+   * @throws IllegalArgumentException if threads is less than 1
+   */
+  public void setThreadCount(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Thread count must be at least 1, got " + threads);
+    }
+    setPool(threads > 1 ? new ForkJoinPool(threads) : null, true);
+  }
+
+  /**
+   * Runs parallel updates on a pool supplied by the caller, with one band of rows per unit of the
+   * pool's parallelism. The grid never shuts this pool down.
+   *
+   * @param forkJoinPool the pool to update on, or null for a sequential update
+   */
+  public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+    setPool(forkJoinPool, false);
+  }
+
+  /**
+   * Shuts down the pool the grid created in {@link #setThreadCount}, if any; a pool supplied
+   * through {@link #setForkJoinPool} is left running. The grid updates sequentially afterwards.
+   * Call this once the grid is no longer stepped, so its threads do not outlive it.
+   */
+  public void close() {
+    setPool(null, false);
+  }
+
+  private void setPool(ForkJoinPool newPool, boolean owned) {
+    if (pool != null && ownsPool) {
+      pool.shutdown();
+    }
+    pool = newPool;
+    ownsPool = owned;
+  }
+
+  /**
+   * @return the pool parallel updates run on, or null if the grid updates on the calling thread
+   */
+  protected ForkJoinPool getForkJoinPool() {
+    return pool;
+  }
+
+  /**
+   * @return the number of threads the grid updates with
+   */
+  public int getThreadCount() {
+    return pool == null ? 1 : pool.getParallelism();
   }
 
   /**
    * Initializes the grid by creating cells based on the provided state symbols.
    * <p>
    * Each cell is created by mapping its state symbol to a {@link CellState} via
-   * {@link #getInitialState(String)} and then dynamically instantiating the appropriate cell type.
+   * {@link #getInitialState(String)}. In compact storage the state is only encoded into the
+   * current plane; otherwise the appropriate cell type is instantiated dynamically.
    * </p>
    */
   public void initializeGrid() {
-    myGrid = new ArrayList<>();
+    markAllChanged();
+    if (ruleset.getStorageType() == StorageType.COMPACT && !ruleset.requiresCellObjects()) {
+      initializeCompactGrid();
+      return;
+    }
+    List<List<Cell>> myGrid = new ArrayList<>(rows);
+    int[] initialValues = (ruleset instanceof SugarscapeRuleset) ?
+        ((SugarscapeRuleset) ruleset).getInitialValues() : null;
     int count = 0;
 
     for (int x = 0; x < rows; x++) {
-      List<Cell> row = new ArrayList<>();
+      List<Cell> row = new ArrayList<>(columns);
       for (int y = 0; y < columns; y++) {
         // Get the initial state of the cell
-        CellState initialState = getInitialState(myCells[count]);
+        CellState initialState = myCells == null ? ruleset.getDefaultCellState()
+            : getInitialState(myCells[count]);
 
         // Determine initial sugar amount if the simulation is Sugarscape
-        Integer initialSugar = (ruleset instanceof SugarscapeRuleset) ?
-            ((SugarscapeRuleset) ruleset).getInitialValues()[count] : null;
+        Integer initialSugar = (initialValues != null) ? initialValues[count] : null;
 
         // Create the cell with or without initial sugar
         Cell cell = CellFactory.createCell(count, initialState, initialSugar);
@@ -136,6 +234,74 @@ public abstract class Grid {
       }
       myGrid.add(row);
     }
+    myPlanes = null;
+    myStorage = new ObjectCellStorage(myGrid, columns);
+  }
+
+  /**
+   * Encodes every initial state symbol straight into the current plane of a compact storage.
+   */
+  private void initializeCompactGrid() {
+    myPlanes = new ByteCellStorage(rows, columns, ruleset.getCellStates());
+    myStorage = myPlanes;
+    if (myCells == null) {
+      Arrays.fill(myPlanes.getCurrentPlane(), myPlanes.getCode(ruleset.getDefaultCellState()));
+      return;
+    }
+    for (int id = 0; id < rows * columns; id++) {
+      CellState initialState = getInitialState(myCells[id]);
+      if (initialState == null) {
+        throw new IllegalArgumentException("Unknown cell state: " + myCells[id]);
+      }
+      myPlanes.setCurrState(id, initialState);
+    }
+  }
+
+  /**
+   * Replaces the states of a compact grid with codes written straight into its current plane, so
+   * large boards load without one symbol per cell. The reader's codes index {@code symbols} and
+   * are translated in place to this simulation's codes.
+   *
+   * @param symbols the state symbol of every code the reader writes
+   * @param reader  writes the state code of every cell in row-major order into the plane it gets
+   * @throws IllegalStateException    if the grid does not use compact storage
+   * @throws IllegalArgumentException if a symbol or code is not a state of this simulation
+   */
+  public void loadStateCodes(String[] symbols, Consumer<byte[]> reader) {
+    if (myPlanes == null) {
+      throw new IllegalStateException("Only compact grids load state codes");
+    }
+    byte[] translation = new byte[symbols.length];
+    boolean identity = true;
+    for (int code = 0; code < symbols.length; code++) {
+      CellState state = getInitialState(symbols[code]);
+      if (state == null) {
+        throw new IllegalArgumentException("Unknown cell state: " + symbols[code]);
+      }
+      translation[code] = myPlanes.getCode(state);
+      identity &= translation[code] == code;
+    }
+    byte[] plane = myPlanes.getCurrentPlane();
+    reader.accept(plane);
+    int length = getLength();
+    for (int id = 0; id < length; id++) {
+      int code = plane[id];
+      if (code < 0 || code >= translation.length) {
+        throw new IllegalArgumentException("Unknown state code " + code + " for cell " + id);
+      }
+      if (!identity) {
+        plane[id] = translation[code];
+      }
+    }
+    markAllChanged();
+    markAllDirty();
+  }
+
+  /**
+   * @return true if the cells are kept in flat byte planes rather than one object per cell
+   */
+  public boolean usesCompactStorage() {
+    return myPlanes != null;
   }
 
 
@@ -144,43 +310,459 @@ public abstract class Grid {
    * <p>
    * For each cell, the method obtains its neighbors and updates its state based on the rules
    * defined in the {@link Ruleset}. After processing all cells, the new states are applied.
+   * Neighbors come from the grid's {@link NeighborTable} whenever the edge handler allows one, so
+   * no offsets or neighbor lists are allocated per cell.
    * </p>
    */
   public void update() {
-    //return a list of cell ids that were changed,
-    //loop over all cells and randomly change color of alive cells with probability 0.4
-    int length = getLength();
-    for (int id = 0; id < length; id++) {
-      int row = id / columns;
-      int col = id % columns;
-      Cell cell = myGrid.get(row).get(col);
-      // Retrieve neighbors for the current cell.
-      List<Cell> neighbors = getNeighbors(row, col);
-      // Update cell state based on the ruleset.
-      ruleset.updateCellState(cell, new ArrayList<>(neighbors));
+    NeighborTable table = getNeighborTable();
+    StateCodeRuleset codeRules =
+        myPlanes != null && ruleset instanceof StateCodeRuleset rules ? rules : null;
+    if (codeRules == null) {
+      beginGeneration();
+    }
+    if (table != null && pool == null && tracksActiveCells(codeRules != null)) {
+      updateActiveCells(table, codeRules);
+      return;
+    }
+    activeCells = null;
+    if (table == null) {
+      updateWithoutTable(codeRules);
+    } else if (pool != null && ruleset.isCellLocal()) {
+      updateInBands(table, codeRules);
+    } else {
+      updateRows(table, codeRules, 0, rows, neighborBuffer);
     }
     // Apply all updated states.
     moveNextStateToCurrent();
   }
 
   /**
-   * Applies the next state for all cells by moving the generated next state into the current
-   * state.
+   * Advances the grid by several generations, one {@link #update()} at a time unless a subclass
+   * can compute them at once.
+   *
+   * @param generations how many generations to compute
+   */
+  public void advance(long generations) {
+    for (long i = 0; i < generations; i++) {
+      update();
+    }
+  }
+
+  /**
+   * Whether {@link #advance} currently computes any number of generations at once, in about the
+   * time of a few updates, so that a fast-forward can reach its target in a single call.
+   *
+   * @return false by default
+   */
+  public boolean canJumpGenerations() {
+    return false;
+  }
+
+  /**
+   * Whether the next update may skip cells whose neighborhood did not change. That is only true for
+   * deterministic rulesets, where a cell whose own state and neighbors are unchanged is bound to
+   * keep its state.
+   */
+  private boolean tracksActiveCells(boolean stateCodes) {
+    return dirtyTracking && ruleset.isDeterministic() && (stateCodes || myPlanes == null);
+  }
+
+  /**
+   * Updates only the cells that changed last generation and the cells that have them as
+   * neighbors, then marks the cells to look at in the next generation. The first generation after
+   * the grid changed shape or was written from outside evaluates every cell.
    * <p>
-   * After updating all cells, this method ensures that each cell's state is properly updated for
-   * the next simulation step.
+   * Skipped cells need no write: only the evaluated cells are committed, so every other cell keeps
+   * its current state.
+   * </p>
+   *
+   * @param table      the compiled neighbors of the grid
+   * @param codeRules  the ruleset's state-code rules, or null to update through cell objects
+   */
+  private void updateActiveCells(NeighborTable table, StateCodeRuleset codeRules) {
+    int length = getLength();
+    if (evaluatedIds.length < length) {
+      evaluatedIds = new int[length];
+    }
+    NeighborTable dependents = table.getDependents();
+    int[] dependentIds = dependents.getIndices();
+    int[] indices = table.getIndices();
+    nextActiveCells.clear();
+    int count = 0;
+    int id = activeCells == null ? 0 : activeCells.nextSetBit(0);
+    while (id >= 0 && id < length) {
+      boolean changed;
+      if (codeRules != null) {
+        byte[] current = myPlanes.getCurrentPlane();
+        byte nextCode = codeRules.updateStateCode(id, current[id], current, indices,
+            table.getStart(id), table.getEnd(id));
+        myPlanes.getNextPlane()[id] = nextCode;
+        changed = nextCode != current[id];
+      } else {
+        Cell cell = getCell(id / columns, id % columns);
+        ruleset.updateCellState(cell, fillNeighbors(table, id, neighborBuffer));
+        changed = cell.getNextState() != null && cell.getNextState() != cell.getCurrState();
+      }
+      evaluatedIds[count++] = id;
+      if (changed) {
+        nextActiveCells.set(id);
+        for (int i = dependents.getStart(id); i < dependents.getEnd(id); i++) {
+          nextActiveCells.set(dependentIds[i]);
+        }
+      }
+      id = activeCells == null ? id + 1 : activeCells.nextSetBit(id + 1);
+    }
+    moveNextStateToCurrent(evaluatedIds, count);
+
+    BitSet evaluatedNext = activeCells == null ? new BitSet(length) : activeCells;
+    activeCells = nextActiveCells;
+    nextActiveCells = evaluatedNext;
+  }
+
+  /**
+   * Turns skipping of unchanged cells on or off for deterministic rulesets. It is on by default.
+   *
+   * @param enabled whether updates may skip cells whose neighborhood did not change
+   */
+  public void setDirtyTracking(boolean enabled) {
+    dirtyTracking = enabled;
+    activeCells = null;
+  }
+
+  /**
+   * Forgets which cells changed, so the next update evaluates every cell. Must be called whenever
+   * cells are written outside of {@link #update()}.
+   */
+  protected void markAllDirty() {
+    activeCells = null;
+  }
+
+  /**
+   * @return the number of cells the next update will evaluate
+   */
+  public int getActiveCellCount() {
+    return activeCells == null ? getLength() : activeCells.cardinality();
+  }
+
+  private void invalidateNeighbors() {
+    neighborTable = null;
+    activeCells = null;
+  }
+
+  /**
+   * Updates the cells of a band of rows using the compiled neighbor table. Compact grids with
+   * state-code rules go straight from the current plane into the next plane, so no cell objects
+   * or neighbor lists of cells are created.
+   *
+   * @param table      the compiled neighbors of the grid
+   * @param codeRules  the ruleset's state-code rules, or null to update through cell objects
+   * @param fromRow    the first row to update (inclusive)
+   * @param toRow      the last row to update (exclusive)
+   * @param buffer     list reused to hand the neighbors of each cell to the ruleset
+   */
+  private void updateRows(NeighborTable table, StateCodeRuleset codeRules, int fromRow, int toRow,
+      List<Cell> buffer) {
+    int fromId = fromRow * columns;
+    int toId = toRow * columns;
+    if (codeRules != null) {
+      byte[] current = myPlanes.getCurrentPlane();
+      byte[] next = myPlanes.getNextPlane();
+      int[] indices = table.getIndices();
+      for (int id = fromId; id < toId; id++) {
+        next[id] = codeRules.updateStateCode(id, current[id], current, indices,
+            table.getStart(id), table.getEnd(id));
+      }
+      return;
+    }
+    for (int id = fromId; id < toId; id++) {
+      Cell cell = getCell(id / columns, id % columns);
+      ruleset.updateCellState(cell, fillNeighbors(table, id, buffer));
+    }
+  }
+
+  /**
+   * Splits the grid into one band of rows per thread and updates the bands concurrently. Only used
+   * for cell-local rulesets, where every cell reads the current generation and writes nothing but
+   * its own next state, so the result is the same as updating the rows in order.
+   *
+   * @param table      the compiled neighbors of the grid
+   * @param codeRules  the ruleset's state-code rules, or null to update through cell objects
+   */
+  private void updateInBands(NeighborTable table, StateCodeRuleset codeRules) {
+    int bands = Math.min(rows, pool.getParallelism());
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int band = 0; band < bands; band++) {
+      int fromRow = rows * band / bands;
+      int toRow = rows * (band + 1) / bands;
+      tasks.add(() -> {
+        updateRows(table, codeRules, fromRow, toRow, new ArrayList<>());
+        return null;
+      });
+    }
+    for (Future<Void> result : pool.invokeAll(tasks)) {
+      try {
+        result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while updating the grid", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Parallel grid update failed", e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Updates every cell by resolving its neighbors on the fly. Used when the edge handler cannot
+   * compile a neighbor table because the grid may grow while neighbors are resolved.
+   *
+   * @param codeRules  the ruleset's state-code rules, or null to update through cell objects
+   */
+  private void updateWithoutTable(StateCodeRuleset codeRules) {
+    int id = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        if (codeRules != null) {
+          byte[] current = myPlanes.getCurrentPlane();
+          List<int[]> offsets = neighborhoodStrategy.getFinalOffsets(cellShape, row, col);
+          if (neighborIds.length < offsets.size()) {
+            neighborIds = new int[offsets.size()];
+          }
+          int count = edgeHandler.handleNeighborIds(row, col, offsets, this, neighborIds);
+          myPlanes.getNextPlane()[id] = codeRules.updateStateCode(id, current[id], current,
+              neighborIds, 0, count);
+        } else {
+          ruleset.updateCellState(getCell(row, col), getNeighbors(row, col));
+        }
+        id++;
+      }
+    }
+  }
+
+  /**
+   * Refills a neighbor buffer with the neighbors of one cell. The buffer is reused for every cell,
+   * so rulesets must not keep it past the call they receive it in.
+   *
+   * @param table  the compiled neighbors of the grid
+   * @param id     the row-major id of the cell
+   * @param buffer the list to refill
+   * @return the buffer holding the cell's neighbors
+   */
+  private List<Cell> fillNeighbors(NeighborTable table, int id, List<Cell> buffer) {
+    int[] indices = table.getIndices();
+    buffer.clear();
+    for (int i = table.getStart(id); i < table.getEnd(id); i++) {
+      buffer.add(getCell(indices[i] / columns, indices[i] % columns));
+    }
+    return buffer;
+  }
+
+  /**
+   * Returns the compiled neighbor ids of every cell, building them on first use after the shape,
+   * neighborhood, edge handling or size of the grid changed.
+   *
+   * @return the neighbor table, or null if the edge handler cannot resolve neighbors ahead of time
+   */
+  public NeighborTable getNeighborTable() {
+    if (neighborTable == null && edgeHandler != null && edgeHandler.hasFixedNeighbors()) {
+      neighborTable = NeighborTable.build(this, neighborhoodStrategy, cellShape, edgeHandler);
+    }
+    return neighborTable;
+  }
+
+  /**
+   * Prepares the back plane for a generation that may leave some cells untouched, so those cells
+   * keep their current state. Grids that update through {@link Ruleset#updateGridState()} call this
+   * before handing control to the ruleset.
+   */
+  protected void beginGeneration() {
+    myStorage.beginGeneration();
+  }
+
+  /**
+   * Makes the next generation the current one.
+   * <p>
+   * Compact grids flip their generation index in constant time. Object grids commit every cell in a
+   * single pass, and cells that were given no next state keep their current state.
    * </p>
    */
   protected void moveNextStateToCurrent() {
-    for (int id = 0; id < getLength(); id++) {
-      int row = id / columns;
-      int col = id % columns;
-      Cell cell = myGrid.get(row).get(col);
-      cell.setCurrState(cell.getNextState());
-      cell.setNextState(null);
+    recordChanges(null, getLength());
+    myStorage.moveNextStateToCurrent();
+  }
+
+  /**
+   * Applies the next states of only the listed cells; every other cell keeps its current state, so
+   * no {@link #beginGeneration()} is needed.
+   *
+   * @param ids   the ids of the cells that were written
+   * @param count the number of ids to read from the array
+   */
+  protected void moveNextStateToCurrent(int[] ids, int count) {
+    recordChanges(ids, count);
+    myStorage.moveNextStateToCurrent(ids, count);
+  }
+
+  /**
+   * Adds the cells about to be committed whose next state differs from their current state to the
+   * changed cells. Must run before the commit, while both generations are still readable.
+   *
+   * @param ids   the ids of the cells to compare, or null for every cell
+   * @param count the number of cells to compare
+   */
+  private void recordChanges(int[] ids, int count) {
+    boolean listing = false;
+    for (ChangeList list : changeLists) {
+      listing |= !list.isAllChanged();
+    }
+    if (!listing) {
+      return;
+    }
+    byte[] current = myPlanes == null ? null : myPlanes.getCurrentPlane();
+    byte[] next = myPlanes == null ? null : myPlanes.getNextPlane();
+    for (int i = 0; i < count; i++) {
+      int id = ids == null ? i : ids[i];
+      boolean changed;
+      if (current != null) {
+        changed = next[id] != current[id];
+      } else {
+        CellState nextState = myStorage.getNextState(id);
+        changed = nextState != null && nextState != myStorage.getCurrState(id);
+      }
+      if (changed) {
+        for (ChangeList list : changeLists) {
+          list.add(id);
+        }
+      }
     }
   }
 
+  /**
+   * Returns the ids of the cells whose state changed since the last call to
+   * {@link #clearChangedCells()}, so a view can repaint only those. Each id appears once. The list
+   * is not meaningful while {@link #haveAllCellsChanged()} is true.
+   *
+   * @return a read-only buffer of row-major cell ids
+   */
+  public IntBuffer getChangedCells() {
+    return viewChanges.getIds();
+  }
+
+  /**
+   * @return true if the grid was rebuilt, resized or written in a way that is not tracked cell by
+   * cell since the last call to {@link #clearChangedCells()}, so every cell must be treated as
+   * changed
+   */
+  public boolean haveAllCellsChanged() {
+    return viewChanges.isAllChanged();
+  }
+
+  /**
+   * Starts a new list of changed cells, typically after a view has repainted them.
+   */
+  public void clearChangedCells() {
+    viewChanges.clear();
+  }
+
+  /**
+   * Starts a second list of changed cells, independent of the view's, for a reader that clears it
+   * on its own schedule. Every cell counts as changed until the list is first cleared. Must be
+   * called on the thread that steps the grid.
+   *
+   * @return the new list
+   */
+  ChangeList openChangeList() {
+    ChangeList list = new ChangeList();
+    changeLists.add(list);
+    return list;
+  }
+
+  /**
+   * Stops tracking changes into a list opened with {@link #openChangeList()}.
+   *
+   * @param list the list to drop
+   */
+  void closeChangeList(ChangeList list) {
+    if (list != viewChanges) {
+      changeLists.remove(list);
+    }
+  }
+
+  /**
+   * Marks every cell as changed. Subclasses call this when cells change without going through a
+   * commit, e.g. when their appearance depends on more than their state.
+   */
+  protected void markAllChanged() {
+    for (ChangeList list : changeLists) {
+      list.markAllChanged();
+    }
+  }
+
+  /**
+   * Marks one cell as changed. Subclasses call this for cells that change without going through a
+   * commit, when only a few of them did.
+   *
+   * @param id the row-major id of the cell
+   */
+  protected void markChanged(int id) {
+    for (ChangeList list : changeLists) {
+      list.add(id);
+    }
+  }
+
+  /**
+   * Writes everything the next generations depend on beyond the current cell states: the agents
+   * and engines of the grid, then the state kept by its ruleset, such as its random generator.
+   * Together with the cell states this lets a run be resumed exactly where it stopped. Must be
+   * called between generations, on the thread that steps the grid.
+   *
+   * @param out the stream receiving the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    out.writeInt(rows);
+    out.writeInt(columns);
+    writeCheckpointData(out);
+    ruleset.writeCheckpoint(out);
+  }
+
+  /**
+   * Restores a checkpoint written by {@link #writeCheckpoint} into a grid built with the same
+   * settings and cell states as the grid it was taken from.
+   *
+   * @param in the stream holding the checkpoint
+   * @throws IOException if the checkpoint cannot be read or does not fit this grid
+   */
+  public void readCheckpoint(DataInput in) throws IOException {
+    int checkpointRows = in.readInt();
+    int checkpointColumns = in.readInt();
+    if (checkpointRows != rows || checkpointColumns != columns) {
+      throw new IOException("Checkpoint of a " + checkpointRows + "x" + checkpointColumns
+          + " grid does not fit a " + rows + "x" + columns + " grid");
+    }
+    readCheckpointData(in);
+    ruleset.readCheckpoint(in);
+  }
+
+  /**
+   * Writes the state this grid keeps beyond its cell states. Grids holding nothing else write
+   * nothing.
+   *
+   * @param out the stream receiving the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  protected void writeCheckpointData(DataOutput out) throws IOException {
+  }
+
+  /**
+   * Reads what {@link #writeCheckpointData} wrote.
+   *
+   * @param in the stream holding the checkpoint
+   * @throws IOException if the checkpoint cannot be read or does not fit this grid
+   */
+  protected void readCheckpointData(DataInput in) throws IOException {
+  }
+
   /**
    * Retrieves the cell at the specified grid position.
    *
@@ -189,7 +771,7 @@ public abstract class Grid {
    * @return the {@link Cell} located at (row, col) in the grid
    */
   public Cell getCell(int row, int col) {
-    return myGrid.get(row).get(col);
+    return myStorage.getCell(row, col);
   }
 
 
@@ -206,6 +788,10 @@ public abstract class Grid {
    * @return a list of neighboring {@link Cell} objects surrounding the cell at (row, col)
    */
   public List<Cell> getNeighbors(int row, int col) {
+    NeighborTable table = getNeighborTable();
+    if (table != null) {
+      return fillNeighbors(table, row * columns + col, new ArrayList<>());
+    }
     // 1️Use cell shape to get base relative offsets
     List<int[]> finalOffsets = neighborhoodStrategy.getFinalOffsets(cellShape, row, col);
     return edgeHandler.handleNeighbors(row, col, finalOffsets, this);
@@ -217,11 +803,7 @@ public abstract class Grid {
    * @return the total count of cells in the grid
    */
   public int getLength() {
-    int totalCount = 0;
-    for (List<Cell> list : myGrid) {
-      totalCount += list.size();
-    }
-    return totalCount;
+    return myStorage.getLength();
   }
 
   /**
@@ -234,6 +816,23 @@ public abstract class Grid {
     return STATE_MAP.get(stateSymbol);
   }
 
+  /**
+   * Maps the current state of a cell back to the symbol used for it in simulation files.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the symbol of the cell's current state, or null if it has no state
+   */
+  public String getStateSymbol(int row, int col) {
+    CellState state = getCell(row, col).getCurrState();
+    for (Map.Entry<String, CellState> entry : STATE_MAP.entrySet()) {
+      if (entry.getValue() == state) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
   public int getRows() {
     return rows;
   }
@@ -246,6 +845,25 @@ public abstract class Grid {
     return ruleset;
   }
 
+  protected EdgeHandler getEdgeHandler() {
+    return edgeHandler;
+  }
+
+  protected NeighborhoodStrategy getNeighborhoodStrategy() {
+    return neighborhoodStrategy;
+  }
+
+  protected CellShape getCellShape() {
+    return cellShape;
+  }
+
+  /**
+   * @return the byte planes of a compact grid, or null if the grid keeps one object per cell
+   */
+  protected ByteCellStorage getPlanes() {
+    return myPlanes;
+  }
+
   public boolean isValidPosition(int row, int col) {
     return row >= 0 && row < rows && col >= 0 && col < columns;
   }
@@ -276,27 +894,19 @@ public abstract class Grid {
     int newRows = Math.max(rows + rowShift, newRow + 1);
     int newCols = Math.max(columns + colShift, newCol + 1);
 
-    // Create a new grid with updated dimensions.
-    List<List<Cell>> newGrid = new ArrayList<>();
-
-    for (int i = 0; i < newRows; i++) {
-      List<Cell> row = new ArrayList<>();
-      for (int j = 0; j < newCols; j++) {
-        if (i >= rowShift && j >= colShift && (i - rowShift) < rows && (j - colShift) < columns) {
-          // Shift existing cell to new position.
-          row.add(myGrid.get(i - rowShift).get(j - colShift));
-        } else {
-          // Create a new cell with the default state.
-          CellState initialState = ruleset.getDefaultCellState();
-        }
-      }
-      newGrid.add(row);
-    }
+    // Create a new storage with updated dimensions; new cells get the default state.
+    CellStorage expanded = myStorage.expand(newRows, newCols, rowShift, colShift,
+        ruleset.getDefaultCellState());
 
     // Update grid properties.
-    myGrid = newGrid;
+    myStorage = expanded;
+    if (myPlanes != null) {
+      myPlanes = (ByteCellStorage) expanded;
+    }
     rows = newRows;
     columns = newCols;
+    invalidateNeighbors();
+    markAllChanged();
   }
 
   /**
@@ -323,6 +933,7 @@ public abstract class Grid {
       } else {
         throw new IllegalArgumentException("Invalid strategy type: " + strategyType);
       }
+      invalidateNeighbors();
     } catch (ClassNotFoundException | InstantiationException | IllegalAccessException |
              NoSuchMethodException |
              InvocationTargetException e) {
@@ -0,0 +1,141 @@
+package cellsociety.model.grid;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.grid.storage.ByteCellStorage;
+import java.nio.IntBuffer;
+
+/**
+ * Immutable copy of the cells of a {@link Grid} that changed since the previous snapshot, taken so
+ * the grid can keep stepping on one thread while another thread displays it.
+ * <p>
+ * A snapshot is either full, holding every cell in row-major order, or a delta holding only the
+ * cells the grid listed as changed. Each cell is described by the ordinal of its state and, for
+ * cells whose look depends on an amount (Sugarscape patches), a fill level between 0 and 1.
+ * Applying the snapshots of a grid in order therefore reproduces the grid, however many
+ * generations were computed between two snapshots.
+ * </p>
+ *
+ * @author Luke
+ */
+public final class GridSnapshot {
+
+  private final long generation;
+  private final int rows;
+  private final int columns;
+  private final int[] ids;
+  private final byte[] codes;
+  private final float[] levels;
+
+  GridSnapshot(long generation, int rows, int columns, int[] ids, byte[] codes, float[] levels) {
+    this.generation = generation;
+    this.rows = rows;
+    this.columns = columns;
+    this.ids = ids;
+    this.codes = codes;
+    this.levels = levels;
+  }
+
+  /**
+   * Copies the cells of a grid that changed since the previous capture and starts a new list of
+   * changed cells on the grid. Must be called on the thread that updates the grid.
+   *
+   * @param grid       the grid to copy
+   * @param generation the number of steps the grid has computed
+   * @return the snapshot, full if the grid could not list its changes cell by cell
+   */
+  public static GridSnapshot capture(Grid grid, long generation) {
+    int rows = grid.getRows();
+    int columns = grid.getColumns();
+    int[] ids = null;
+    int count = rows * columns;
+    if (!grid.haveAllCellsChanged()) {
+      IntBuffer changed = grid.getChangedCells();
+      ids = new int[changed.remaining()];
+      changed.get(ids);
+      count = ids.length;
+    }
+    byte[] codes = new byte[count];
+    boolean leveled = count > 0 && grid.getCell(0, 0) instanceof SugarscapePatch;
+    float[] levels = leveled ? new float[count] : null;
+    ByteCellStorage planes = grid.getPlanes();
+    if (planes != null && ids == null) {
+      System.arraycopy(planes.getCurrentPlane(), 0, codes, 0, count);
+    } else {
+      for (int i = 0; i < count; i++) {
+        int id = ids == null ? i : ids[i];
+        Cell cell = grid.getCell(id / columns, id % columns);
+        codes[i] = (byte) ((Enum<?>) cell.getCurrState()).ordinal();
+        if (leveled) {
+          levels[i] = levelOf((SugarscapePatch) cell);
+        }
+      }
+    }
+    grid.clearChangedCells();
+    return new GridSnapshot(generation, rows, columns, ids, codes, levels);
+  }
+
+  static float levelOf(SugarscapePatch patch) {
+    return patch.getMaxSugar() > 0 ? (float) patch.getSugarAmount() / patch.getMaxSugar() : 0;
+  }
+
+  /**
+   * @return the number of steps the grid had computed when the snapshot was taken
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * @return true if the snapshot holds every cell rather than only the changed ones
+   */
+  public boolean isFull() {
+    return ids == null;
+  }
+
+  /**
+   * @return the number of cells held by the snapshot
+   */
+  public int getCellCount() {
+    return codes.length;
+  }
+
+  /**
+   * @param index the index of a cell in the snapshot
+   * @return the row-major id of the cell in the grid
+   */
+  public int getId(int index) {
+    return ids == null ? index : ids[index];
+  }
+
+  /**
+   * @param index the index of a cell in the snapshot
+   * @return the ordinal of the cell's state
+   */
+  public byte getCode(int index) {
+    return codes[index];
+  }
+
+  /**
+   * @return true if the cells carry a fill level
+   */
+  public boolean hasLevels() {
+    return levels != null;
+  }
+
+  /**
+   * @param index the index of a cell in the snapshot
+   * @return how full the cell is, between 0 and 1, or 0 if the cells carry no level
+   */
+  public float getLevel(int index) {
+    return levels == null ? 0 : levels[index];
+  }
+}
@@ -0,0 +1,132 @@
+package cellsociety.model.grid;
+
+import cellsociety.model.grid.handler.EdgeHandler;
+import cellsociety.model.grid.neighborhood.NeighborhoodStrategy;
+import cellsociety.model.grid.shape.CellShape;
+import java.util.List;
+
+/**
+ * Flat table of the neighbor ids of every cell in a grid, compiled once for a given combination of
+ * {@link CellShape}, {@link NeighborhoodStrategy} and {@link EdgeHandler}.
+ * <p>
+ * The table is stored in compressed sparse row form: the neighbors of the cell with id {@code id}
+ * are {@code getIndices()[getStart(id)]} up to (excluding) {@code getIndices()[getEnd(id)]}.
+ * Walking it allocates nothing, unlike asking the strategies for offsets and cells on every step.
+ * </p>
+ *
+ * @see Grid
+ */
+public final class NeighborTable {
+
+  private final int[] starts;
+  private final int[] indices;
+  private NeighborTable dependents;
+
+  private NeighborTable(int[] starts, int[] indices) {
+    this.starts = starts;
+    this.indices = indices;
+  }
+
+  /**
+   * Compiles the neighbor ids of every cell of the grid.
+   *
+   * @param grid     the grid whose dimensions are used
+   * @param strategy the neighborhood strategy selecting the offsets of each cell
+   * @param shape    the cell shape providing the base offsets
+   * @param handler  the edge handler resolving offsets into cell ids
+   * @return the compiled table
+   */
+  public static NeighborTable build(Grid grid, NeighborhoodStrategy strategy, CellShape shape,
+      EdgeHandler handler) {
+    int rows = grid.getRows();
+    int columns = grid.getColumns();
+    int[] starts = new int[rows * columns + 1];
+    int[] indices = new int[rows * columns * 8];
+    int[] buffer = new int[8];
+    int size = 0;
+    int id = 0;
+
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        List<int[]> offsets = strategy.getFinalOffsets(shape, row, col);
+        if (buffer.length < offsets.size()) {
+          buffer = new int[offsets.size()];
+        }
+        int count = handler.handleNeighborIds(row, col, offsets, grid, buffer);
+        if (indices.length < size + count) {
+          int[] grown = new int[Math.max(indices.length * 2, size + count)];
+          System.arraycopy(indices, 0, grown, 0, size);
+          indices = grown;
+        }
+        System.arraycopy(buffer, 0, indices, size, count);
+        size += count;
+        starts[++id] = size;
+      }
+    }
+
+    int[] trimmed = new int[size];
+    System.arraycopy(indices, 0, trimmed, 0, size);
+    return new NeighborTable(starts, trimmed);
+  }
+
+  /**
+   * @return the neighbor ids of every cell, one run per cell in id order
+   */
+  public int[] getIndices() {
+    return indices;
+  }
+
+  /**
+   * @param id the row-major id of a cell
+   * @return the index in {@link #getIndices()} of the cell's first neighbor
+   */
+  public int getStart(int id) {
+    return starts[id];
+  }
+
+  /**
+   * @param id the row-major id of a cell
+   * @return the index in {@link #getIndices()} just past the cell's last neighbor
+   */
+  public int getEnd(int id) {
+    return starts[id + 1];
+  }
+
+  /**
+   * Returns the inverse of this table: the run of a cell lists every cell that has it as a
+   * neighbor. Neighborhoods are not always symmetric (mirrored edges, alternating hexagon rows), so
+   * this is what tells which cells have to be looked at again when a cell changes. It is built on
+   * first use and kept with the table.
+   *
+   * @return the table of dependents of every cell
+   */
+  public NeighborTable getDependents() {
+    if (dependents == null) {
+      int cells = getCellCount();
+      int[] dependentStarts = new int[cells + 1];
+      for (int index : indices) {
+        dependentStarts[index + 1]++;
+      }
+      for (int id = 0; id < cells; id++) {
+        dependentStarts[id + 1] += dependentStarts[id];
+      }
+      int[] fill = new int[cells];
+      System.arraycopy(dependentStarts, 0, fill, 0, cells);
+      int[] dependentIndices = new int[indices.length];
+      for (int id = 0; id < cells; id++) {
+        for (int i = starts[id]; i < starts[id + 1]; i++) {
+          dependentIndices[fill[indices[i]]++] = id;
+        }
+      }
+      dependents = new NeighborTable(dependentStarts, dependentIndices);
+    }
+    return dependents;
+  }
+
+  /**
+   * @return the number of cells the table was built for
+   */
+  public int getCellCount() {
+    return starts.length - 1;
+  }
+}
@@ -0,0 +1,282 @@
+package cellsociety.model.grid;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Plays back a replay file written by {@link ReplayRecorder} as a sequence of
+ * {@link GridSnapshot}s, ready for the view, without running any ruleset.
+ * <p>
+ * Opening a replay reads the record headers once to index where every generation and every
+ * keyframe starts; the cells themselves are only decoded when asked for. {@link #seek} jumps to a
+ * generation by decoding the last keyframe at or before it and applying the deltas that follow, so
+ * it never decodes more than one keyframe interval of records. {@link #next} then plays on one
+ * record at a time. A record cut short at the end of the file, as left by an interrupted
+ * recording, is ignored.
+ * </p>
+ *
+ * @author Luke
+ */
+public class ReplayReader implements Closeable {
+
+  private static final int HEADER_BYTES = 3 * Integer.BYTES + 1;
+
+  private final RandomAccessFile file;
+  private final int keyframeInterval;
+  private final boolean leveled;
+  private final Inflater inflater = new Inflater();
+  private long[] generations = new long[64];
+  private long[] offsets = new long[64];
+  private int[] keyframes = new int[8];
+  private int recordCount;
+  private int keyframeCount;
+  private int cursor;
+  private int rows;
+  private int columns;
+  private byte[] codes;
+  private float[] levels;
+  private byte[] compressed = new byte[0];
+  private byte[] raw = new byte[0];
+
+  /**
+   * Opens a replay file and indexes its records.
+   *
+   * @param replay the file written by a {@link ReplayRecorder}
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a replay or holds no complete keyframe
+   */
+  public ReplayReader(File replay) throws IOException {
+    file = new RandomAccessFile(replay, "r");
+    try {
+      long length = file.length();
+      if (length < HEADER_BYTES || file.readInt() != ReplayRecorder.MAGIC) {
+        throw new IllegalArgumentException(replay.getName() + " is not a replay file");
+      }
+      int version = file.readInt();
+      if (version != ReplayRecorder.VERSION) {
+        throw new IllegalArgumentException("Unsupported replay version " + version);
+      }
+      keyframeInterval = file.readInt();
+      leveled = file.readBoolean();
+      indexRecords(length);
+      if (recordCount == 0 || keyframeCount == 0 || keyframes[0] != 0) {
+        throw new IllegalArgumentException(replay.getName() + " holds no complete keyframe");
+      }
+    } catch (IOException | RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Walks the record headers, stopping at the end of the file or at a truncated record.
+   */
+  private void indexRecords(long length) throws IOException {
+    long position = HEADER_BYTES;
+    while (position + ReplayRecorder.RECORD_HEADER_BYTES <= length) {
+      file.seek(position);
+      byte type = file.readByte();
+      long generation = file.readLong();
+      file.readInt();
+      int size = file.readInt();
+      long end = position + ReplayRecorder.RECORD_HEADER_BYTES + size;
+      if (size < 0 || end > length) {
+        break;
+      }
+      if (recordCount > 0 && generation <= generations[recordCount - 1]) {
+        throw new IllegalArgumentException("Replay generations are out of order at " + generation);
+      }
+      if (recordCount == generations.length) {
+        generations = Arrays.copyOf(generations, 2 * recordCount);
+        offsets = Arrays.copyOf(offsets, 2 * recordCount);
+      }
+      if (type == ReplayRecorder.KEYFRAME) {
+        if (keyframeCount == keyframes.length) {
+          keyframes = Arrays.copyOf(keyframes, 2 * keyframeCount);
+        }
+        keyframes[keyframeCount++] = recordCount;
+      }
+      generations[recordCount] = generation;
+      offsets[recordCount++] = position;
+      position = end;
+    }
+  }
+
+  /**
+   * Moves to a generation and returns every cell as it was then. Generations outside the
+   * recording are clamped to its first or last one; between two recorded generations the earlier
+   * one is used.
+   *
+   * @param generation the generation to show
+   * @return a full snapshot of the generation
+   * @throws IOException if the records cannot be read or are corrupt
+   */
+  public GridSnapshot seek(long generation) throws IOException {
+    int record = Arrays.binarySearch(generations, 0, recordCount, generation);
+    if (record < 0) {
+      record = Math.max(0, -record - 2);
+    }
+    int keyframe = Arrays.binarySearch(keyframes, 0, keyframeCount, record);
+    if (keyframe < 0) {
+      keyframe = -keyframe - 2;
+    }
+    for (int i = keyframes[keyframe]; i <= record; i++) {
+      decode(i, false);
+    }
+    cursor = record + 1;
+    return new GridSnapshot(generations[record], rows, columns, null, codes.clone(),
+        levels == null ? null : levels.clone());
+  }
+
+  /**
+   * Plays the next recorded generation.
+   *
+   * @return the cells that changed since the previous generation, or every cell at a keyframe,
+   * or null once the recording has been played to the end
+   * @throws IOException if the record cannot be read or is corrupt
+   */
+  public GridSnapshot next() throws IOException {
+    if (cursor >= recordCount) {
+      return null;
+    }
+    int record = cursor++;
+    int[] ids = decode(record, true);
+    if (ids == null) {
+      return new GridSnapshot(generations[record], rows, columns, null, codes.clone(),
+          levels == null ? null : levels.clone());
+    }
+    int changed = ids.length;
+    byte[] changedCodes = new byte[changed];
+    float[] changedLevels = leveled ? new float[changed] : null;
+    for (int i = 0; i < changed; i++) {
+      changedCodes[i] = codes[ids[i]];
+      if (leveled) {
+        changedLevels[i] = levels[ids[i]];
+      }
+    }
+    return new GridSnapshot(generations[record], rows, columns, ids, changedCodes,
+        changedLevels);
+  }
+
+  /**
+   * Decodes one record into the current cells.
+   *
+   * @param listIds whether to list the ids a delta changes
+   * @return the ids a delta changed, or null for a keyframe or when no ids were asked for
+   */
+  private int[] decode(int record, boolean listIds) throws IOException {
+    file.seek(offsets[record]);
+    byte type = file.readByte();
+    file.readLong();
+    int rawLength = file.readInt();
+    int size = file.readInt();
+    if (compressed.length < size) {
+      compressed = new byte[size];
+    }
+    if (raw.length < rawLength) {
+      raw = new byte[rawLength];
+    }
+    file.readFully(compressed, 0, size);
+    inflater.reset();
+    inflater.setInput(compressed, 0, size);
+    try {
+      if (inflater.inflate(raw, 0, rawLength) != rawLength || !inflater.finished()) {
+        throw new IOException("Corrupt replay record at generation " + generations[record]);
+      }
+      ByteBuffer payload = ByteBuffer.wrap(raw, 0, rawLength);
+      if (type == ReplayRecorder.KEYFRAME) {
+        readKeyframe(payload);
+        return null;
+      }
+      return readDelta(payload, listIds);
+    } catch (DataFormatException | BufferUnderflowException e) {
+      throw new IOException("Corrupt replay record at generation " + generations[record], e);
+    }
+  }
+
+  private void readKeyframe(ByteBuffer payload) throws IOException {
+    rows = payload.getInt();
+    columns = payload.getInt();
+    if (rows < 0 || columns < 0 || (long) rows * columns > payload.remaining()) {
+      throw new IOException("Corrupt replay keyframe of " + rows + "x" + columns);
+    }
+    int cells = rows * columns;
+    if (codes == null || codes.length != cells) {
+      codes = new byte[cells];
+      levels = leveled ? new float[cells] : null;
+    }
+    payload.get(codes);
+    if (leveled) {
+      payload.asFloatBuffer().get(levels);
+    }
+  }
+
+  private int[] readDelta(ByteBuffer payload, boolean listIds) throws IOException {
+    int count = readVarint(payload);
+    if (count < 0 || count > codes.length) {
+      throw new IOException("Corrupt replay delta of " + count + " cells");
+    }
+    int[] ids = listIds ? new int[count] : null;
+    int id = -1;
+    for (int i = 0; i < count; i++) {
+      id += readVarint(payload);
+      if (id < 0 || id >= codes.length) {
+        throw new IOException("Corrupt replay delta: cell " + id + " is outside the grid");
+      }
+      codes[id] = payload.get();
+      if (leveled) {
+        levels[id] = payload.getFloat();
+      }
+      if (ids != null) {
+        ids[i] = id;
+      }
+    }
+    return ids;
+  }
+
+  private static int readVarint(ByteBuffer payload) {
+    int value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      byte b = payload.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return the first generation in the recording
+   */
+  public long getFirstGeneration() {
+    return generations[0];
+  }
+
+  /**
+   * @return the last complete generation in the recording
+   */
+  public long getLastGeneration() {
+    return generations[recordCount - 1];
+  }
+
+  /**
+   * @return the number of generations between keyframes
+   */
+  public int getKeyframeInterval() {
+    return keyframeInterval;
+  }
+
+  @Override
+  public void close() throws IOException {
+    inflater.end();
+    file.close();
+  }
+}
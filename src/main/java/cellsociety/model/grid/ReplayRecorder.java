@@ -0,0 +1,274 @@
+package cellsociety.model.grid;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.grid.storage.ByteCellStorage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Records a run generation by generation into an append-only replay file that
+ * {@link ReplayReader} plays back without running the ruleset.
+ * <p>
+ * The file starts with a small header, followed by one record per recorded generation. A record is
+ * a keyframe holding every cell, or a delta holding only the cells whose state (or fill level)
+ * differs from the previous record: their ids, as gaps between ascending ids, and their new
+ * states. Every record is compressed on its own with a {@link Deflater}, so a reader can start
+ * decoding at any keyframe. A keyframe is written every {@code keyframeInterval} generations, and
+ * whenever the grid changes size, so seeking to a generation never decodes more than that many
+ * records.
+ * </p>
+ * <p>
+ * Changed cells are found through a change list the grid keeps for this recorder alone, next to
+ * the view's, so the recorder clears it every generation without the view losing any changes.
+ * Cells listed as changed are still compared with the states last recorded, so a cell that changed
+ * and changed back within a generation is left out of the delta. Records are only ever appended,
+ * and the file is flushed after every keyframe, so a recording cut short by a crash remains
+ * readable at least up to its last keyframe. Deltas after it are buffered and may be lost.
+ * </p>
+ *
+ * @author Luke
+ */
+public class ReplayRecorder implements Closeable {
+
+  /**
+   * File name extension of replay files.
+   */
+  public static final String EXTENSION = ".creplay";
+  /**
+   * Number of generations between keyframes unless another interval is given.
+   */
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+
+  static final int MAGIC = 0x43535250;
+  static final int VERSION = 1;
+  static final byte DELTA = 0;
+  static final byte KEYFRAME = 1;
+  static final int RECORD_HEADER_BYTES = 1 + Long.BYTES + 2 * Integer.BYTES;
+
+  private final DataOutputStream out;
+  private final Grid grid;
+  private final ChangeList changes;
+  private final int keyframeInterval;
+  private final boolean leveled;
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+  private final DataOutputStream payload = new DataOutputStream(raw);
+  private byte[] compressed = new byte[1 << 12];
+  private int rows;
+  private int columns;
+  private byte[] recordedCodes;
+  private float[] recordedLevels;
+  private int[] changed = new int[0];
+  private long lastGeneration;
+  private long lastKeyframe;
+
+  /**
+   * Creates a replay file and records the current state of a grid as its first keyframe. Must be
+   * called on the thread that steps the grid.
+   *
+   * @param file             the file to write, replaced if it exists
+   * @param grid             the grid to record
+   * @param generation       the generation the grid is at
+   * @param keyframeInterval the number of generations between keyframes
+   * @throws IOException if the file cannot be written
+   */
+  public ReplayRecorder(File file, Grid grid, long generation, int keyframeInterval)
+      throws IOException {
+    if (keyframeInterval <= 0) {
+      throw new IllegalArgumentException("Keyframe interval must be positive: " + keyframeInterval);
+    }
+    this.keyframeInterval = keyframeInterval;
+    this.leveled = grid.getLength() > 0 && grid.getCell(0, 0) instanceof SugarscapePatch;
+    this.out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file.toPath()), 1 << 16));
+    this.grid = grid;
+    this.changes = grid.openChangeList();
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(keyframeInterval);
+    out.writeBoolean(leveled);
+    writeKeyframe(grid, generation);
+  }
+
+  /**
+   * Records the generation a grid just computed. Must be called on the thread that steps the grid,
+   * between generations.
+   *
+   * @param grid       the grid, the same one the recording started from
+   * @param generation the generation the grid is now at, after the last recorded one
+   * @throws IOException if the record cannot be written
+   */
+  public void record(Grid grid, long generation) throws IOException {
+    if (generation <= lastGeneration) {
+      throw new IllegalArgumentException(
+          "Generation " + generation + " was already recorded; last is " + lastGeneration);
+    }
+    if (grid.getRows() != rows || grid.getColumns() != columns
+        || generation - lastKeyframe >= keyframeInterval) {
+      writeKeyframe(grid, generation);
+    } else {
+      writeDelta(grid, generation);
+    }
+  }
+
+  private void writeKeyframe(Grid grid, long generation) throws IOException {
+    rows = grid.getRows();
+    columns = grid.getColumns();
+    int cells = rows * columns;
+    if (recordedCodes == null || recordedCodes.length != cells) {
+      recordedCodes = new byte[cells];
+      recordedLevels = leveled ? new float[cells] : null;
+    }
+    ByteCellStorage planes = grid.getPlanes();
+    if (planes != null) {
+      System.arraycopy(planes.getCurrentPlane(), 0, recordedCodes, 0, cells);
+    } else {
+      for (int id = 0; id < cells; id++) {
+        readCell(grid, id);
+      }
+    }
+    changes.clear();
+    payload.writeInt(rows);
+    payload.writeInt(columns);
+    payload.write(recordedCodes);
+    if (leveled) {
+      for (float level : recordedLevels) {
+        payload.writeFloat(level);
+      }
+    }
+    writeRecord(KEYFRAME, generation);
+    out.flush();
+    lastKeyframe = generation;
+  }
+
+  private void writeDelta(Grid grid, long generation) throws IOException {
+    int count = 0;
+    if (changes.isAllChanged()) {
+      for (int id = 0; id < recordedCodes.length; id++) {
+        count = compare(grid, id, count);
+      }
+    } else {
+      IntBuffer ids = changes.getIds();
+      while (ids.hasRemaining()) {
+        count = compare(grid, ids.get(), count);
+      }
+      Arrays.sort(changed, 0, count);
+    }
+    changes.clear();
+    writeVarint(count);
+    int previous = -1;
+    for (int i = 0; i < count; i++) {
+      int id = changed[i];
+      writeVarint(id - previous);
+      previous = id;
+      payload.writeByte(recordedCodes[id]);
+      if (leveled) {
+        payload.writeFloat(recordedLevels[id]);
+      }
+    }
+    writeRecord(DELTA, generation);
+  }
+
+  /**
+   * Lists a cell as changed if it differs from the state last recorded, and records it.
+   *
+   * @return the new number of changed cells
+   */
+  private int compare(Grid grid, int id, int count) {
+    byte code = recordedCodes[id];
+    float level = leveled ? recordedLevels[id] : 0;
+    readCell(grid, id);
+    if (recordedCodes[id] != code || leveled && recordedLevels[id] != level) {
+      if (count == changed.length) {
+        changed = Arrays.copyOf(changed, Math.max(16, 2 * count));
+      }
+      changed[count++] = id;
+    }
+    return count;
+  }
+
+  /**
+   * Copies the current state, and fill level if any, of a cell into the recorded arrays.
+   */
+  private void readCell(Grid grid, int id) {
+    ByteCellStorage planes = grid.getPlanes();
+    if (planes != null) {
+      recordedCodes[id] = planes.getCurrentPlane()[id];
+      return;
+    }
+    Cell cell = grid.getCell(id / columns, id % columns);
+    recordedCodes[id] = (byte) ((Enum<?>) cell.getCurrState()).ordinal();
+    if (leveled) {
+      recordedLevels[id] = GridSnapshot.levelOf((SugarscapePatch) cell);
+    }
+  }
+
+  private void writeVarint(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      payload.writeByte(value & 0x7F | 0x80);
+      value >>>= 7;
+    }
+    payload.writeByte(value);
+  }
+
+  /**
+   * Compresses the payload built so far and appends it as one record.
+   */
+  private void writeRecord(byte type, long generation) throws IOException {
+    payload.flush();
+    byte[] bytes = raw.toByteArray();
+    raw.reset();
+    deflater.reset();
+    deflater.setInput(bytes);
+    deflater.finish();
+    int length = 0;
+    while (!deflater.finished()) {
+      if (length == compressed.length) {
+        compressed = Arrays.copyOf(compressed, 2 * compressed.length);
+      }
+      length += deflater.deflate(compressed, length, compressed.length - length);
+    }
+    out.writeByte(type);
+    out.writeLong(generation);
+    out.writeInt(bytes.length);
+    out.writeInt(length);
+    out.write(compressed, 0, length);
+    lastGeneration = generation;
+  }
+
+  /**
+   * @return the last generation recorded
+   */
+  public long getLastGeneration() {
+    return lastGeneration;
+  }
+
+  /**
+   * Writes any buffered records to the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Stops tracking the grid's changes and closes the file. Must be called on the thread that steps
+   * the grid.
+   */
+  @Override
+  public void close() throws IOException {
+    grid.closeChangeList(changes);
+    deflater.end();
+    out.close();
+  }
+}
@@ -1,20 +1,102 @@
 package cellsociety.model.grid;
 
+import cellsociety.model.engine.SegregationEngine;
 import cellsociety.model.ruleset.Ruleset;
+import cellsociety.model.ruleset.SegregationRuleset;
+import cellsociety.model.state.CellState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class SegregationGrid extends Grid {
 
+  private SegregationEngine engine;
+
   public SegregationGrid(int rows, int columns, Ruleset ruleset, String[] cells) {
     super(rows, columns, ruleset, cells);
   }
 
+  /**
+   * Moves the unsatisfied agents. Grids whose neighbors fit in a {@link NeighborTable} are stepped
+   * by a {@link SegregationEngine} that keeps its neighbor counters between steps, so only the
+   * cells that moved are written and committed, without copying the rest of the board; the others
+   * fall back to the ruleset's full scan. The engine's
+   * initial scan of the board runs in row stripes on the grid's pool when it has more than one
+   * thread.
+   */
   @Override
   public void update() {
-    //return a list of cell ids that were changed,
-    //loop over all cells and randomly change color of alive cells with probability 0.4
-    getRuleset().updateGridState();
-    // Second pass: Apply new states and update cells to utilize the next state
-    moveNextStateToCurrent();
+    NeighborTable table = getNeighborTable();
+    if (table == null || !(getRuleset() instanceof SegregationRuleset rules)) {
+      beginGeneration();
+      getRuleset().updateGridState();
+      // Second pass: Apply new states and update cells to utilize the next state
+      moveNextStateToCurrent();
+      return;
+    }
+    if (engine == null || engine.getTable() != table) {
+      engine = rules.createEngine(table);
+      engine.load(readStateCodes(), getForkJoinPool(), getColumns());
+    }
+    int movers = engine.step();
+    if (movers == 0) {
+      return;
+    }
+    CellState[] states = getRuleset().getCellStates();
+    int[] moves = engine.getMoves();
+    for (int i = 0; i < 2 * movers; i++) {
+      int id = moves[i];
+      getCell(id / getColumns(), id % getColumns()).setNextState(states[engine.getCode(id)]);
+    }
+    moveNextStateToCurrent(moves, 2 * movers);
+  }
+
+  /**
+   * @return the engine stepping this grid, or null if the grid has not been stepped by one
+   */
+  public SegregationEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Writes the order of the engine's sets, if the grid is stepped by an engine.
+   */
+  @Override
+  protected void writeCheckpointData(DataOutput out) throws IOException {
+    out.writeBoolean(engine != null);
+    if (engine != null) {
+      engine.writeCheckpoint(out);
+    }
+  }
+
+  /**
+   * Rebuilds the engine from the restored board and puts its sets back in checkpointed order.
+   */
+  @Override
+  protected void readCheckpointData(DataInput in) throws IOException {
+    engine = null;
+    if (!in.readBoolean()) {
+      return;
+    }
+    NeighborTable table = getNeighborTable();
+    if (table == null || !(getRuleset() instanceof SegregationRuleset rules)) {
+      throw new IOException("Checkpoint holds an engine this grid cannot be stepped by");
+    }
+    engine = rules.createEngine(table);
+    engine.load(readStateCodes(), getForkJoinPool(), getColumns());
+    engine.readCheckpoint(in);
+  }
+
+  /**
+   * @return the state code (the index in the ruleset's states) of every cell, indexed by id
+   */
+  private byte[] readStateCodes() {
+    byte[] codes = new byte[getRows() * getColumns()];
+    for (int id = 0; id < codes.length; id++) {
+      CellState state = getCell(id / getColumns(), id % getColumns()).getCurrState();
+      codes[id] = (byte) ((Enum<?>) state).ordinal();
+    }
+    return codes;
   }
 
 }
@@ -0,0 +1,331 @@
+package cellsociety.model.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Steps a {@link Grid} on a dedicated thread, independently of how often it is displayed.
+ * <p>
+ * The runner owns the grid while it is started: every other thread must hand changes to the grid
+ * through {@link #submit(Runnable)}, which runs them between two steps. After a step, the runner
+ * captures a {@link GridSnapshot} into a single-slot mailbox, but only if the previous one was
+ * taken. A display polls the mailbox once per frame, so it renders at most once per frame and
+ * skips the generations computed in between; since a snapshot holds every cell that changed since
+ * the last one, nothing is lost by skipping. The mailbox is an {@link AtomicReference}, so neither
+ * side ever blocks on the other.
+ * </p>
+ * <p>
+ * The runner steps at a fixed number of generations per second, or as fast as possible. It can
+ * instead step a fixed number of generations per displayed frame, waiting for the display to take
+ * each frame before computing the next one, or run as fast as possible up to a target generation
+ * and pause there. A fast-forward on a grid that {@link Grid#canJumpGenerations() can jump}, such
+ * as an infinite Game of Life, reaches its target in a single {@link Grid#advance} unless a
+ * recording needs every generation.
+ * </p>
+ * <p>
+ * A {@link ReplayRecorder} set on the runner records every generation as it is computed, whether
+ * or not the display shows it.
+ * </p>
+ *
+ * @author Luke
+ */
+public class SimulationRunner {
+
+  private static final Logger LOGGER = Logger.getLogger(SimulationRunner.class.getName());
+
+  private final Grid grid;
+  private final AtomicReference<GridSnapshot> mailbox = new AtomicReference<>();
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private volatile boolean paused = true;
+  private volatile boolean stopped;
+  private volatile double stepsPerSecond;
+  private volatile int stepsPerFrame;
+  private volatile long targetGeneration = -1;
+  private volatile long generation;
+  private volatile RuntimeException failure;
+  private volatile Thread thread;
+  private boolean unpublished;
+  private int stepsInFrame;
+  private volatile ReplayRecorder recorder;
+
+  /**
+   * Creates a paused runner. The grid may still be used directly until {@link #start()} is called.
+   *
+   * @param grid the grid to step
+   */
+  public SimulationRunner(Grid grid) {
+    this(grid, 0);
+  }
+
+  /**
+   * Creates a paused runner for a grid restored from a checkpoint, counting generations from the
+   * one the checkpoint was taken at.
+   *
+   * @param grid       the grid to step
+   * @param generation the generation the grid is at
+   */
+  public SimulationRunner(Grid grid, long generation) {
+    this.grid = grid;
+    this.generation = generation;
+  }
+
+  /**
+   * Starts stepping, creating the thread on first use.
+   *
+   * @throws IllegalStateException if the runner was stopped
+   */
+  public synchronized void start() {
+    if (stopped) {
+      throw new IllegalStateException("Runner was stopped");
+    }
+    if (thread == null) {
+      thread = new Thread(this::run, "simulation");
+      thread.setDaemon(true);
+      thread.start();
+    }
+    paused = false;
+    LockSupport.unpark(thread);
+  }
+
+  /**
+   * Stops stepping after the current step. Submitted tasks still run.
+   */
+  public void pause() {
+    paused = true;
+  }
+
+  /**
+   * Ends the thread for good and then closes the grid, shutting down any pool it owns, since the
+   * runner is only stopped when its grid is dropped. The grid may still be used directly, updating
+   * sequentially, once {@link #isAlive()} is false.
+   */
+  public synchronized void stop() {
+    stopped = true;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    } else {
+      grid.close();
+    }
+  }
+
+  /**
+   * Runs a change to the grid on the runner's thread, between two steps. Runs it right away on the
+   * calling thread if the runner was never started.
+   *
+   * @param task the change to make
+   */
+  public synchronized void submit(Runnable task) {
+    if (thread == null) {
+      task.run();
+      return;
+    }
+    tasks.add(task);
+    LockSupport.unpark(thread);
+  }
+
+  /**
+   * Records every generation computed from now on, closing the previous recorder if any. Must be
+   * called through {@link #submit(Runnable)} once the runner was started; the runner closes the
+   * recorder when its thread ends.
+   *
+   * @param recorder the recorder, started at the current generation, or null to stop recording
+   */
+  public void setRecorder(ReplayRecorder recorder) {
+    closeRecorder();
+    this.recorder = recorder;
+  }
+
+  /**
+   * @return true while generations are being recorded
+   */
+  public boolean isRecording() {
+    return recorder != null;
+  }
+
+  /**
+   * Takes the newest snapshot out of the mailbox.
+   *
+   * @return the snapshot, or null if no step finished since the last call
+   */
+  public GridSnapshot poll() {
+    GridSnapshot snapshot = mailbox.getAndSet(null);
+    if (snapshot != null) {
+      // The runner may be waiting for the mailbox to empty.
+      wake();
+    }
+    return snapshot;
+  }
+
+  /**
+   * @param stepsPerSecond how many generations to compute per second, or 0 to step as fast as
+   *                       possible
+   */
+  public void setStepsPerSecond(double stepsPerSecond) {
+    this.stepsPerSecond = stepsPerSecond;
+    wake();
+  }
+
+  /**
+   * Locks stepping to the display: the runner computes this many generations, publishes the last
+   * one and waits for the display to take it. The step rate is ignored while this is set.
+   *
+   * @param stepsPerFrame how many generations to compute per displayed frame, or 0 to step
+   *                      independently of the display
+   */
+  public void setStepsPerFrame(int stepsPerFrame) {
+    this.stepsPerFrame = Math.max(0, stepsPerFrame);
+    wake();
+  }
+
+  /**
+   * Starts stepping and pauses once the grid reaches a generation. Combine with a step rate of 0
+   * to get there as fast as possible.
+   *
+   * @param generation the generation to stop at; nothing is stepped if it was already reached
+   */
+  public void fastForwardTo(long generation) {
+    targetGeneration = generation;
+    start();
+  }
+
+  private void wake() {
+    Thread current = thread;
+    if (current != null) {
+      LockSupport.unpark(current);
+    }
+  }
+
+  /**
+   * @return the number of generations computed so far
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  public boolean isPaused() {
+    return paused;
+  }
+
+  /**
+   * @return true while the thread has been started and not yet ended
+   */
+  public synchronized boolean isAlive() {
+    return thread != null && thread.isAlive();
+  }
+
+  /**
+   * @return the exception that ended the thread, or null
+   */
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  private void run() {
+    long nextStep = System.nanoTime();
+    try {
+      while (!stopped) {
+        if (runTasks()) {
+          unpublished = true;
+        }
+        long target = targetGeneration;
+        if (target >= 0 && generation >= target) {
+          targetGeneration = -1;
+          paused = true;
+        }
+        int frame = stepsPerFrame;
+        if (paused || frame > 0 && stepsInFrame >= frame) {
+          // Hand the last generations to the display before waiting.
+          if (unpublished && mailbox.get() == null) {
+            publish();
+            continue;
+          }
+          LockSupport.park(this);
+          nextStep = System.nanoTime();
+          continue;
+        }
+        if (target >= 0 && recorder == null && grid.canJumpGenerations()) {
+          // No generation before the target is recorded or shown, so jump straight to it.
+          grid.advance(target - generation);
+          generation = target;
+          unpublished = true;
+          continue;
+        }
+        double rate = stepsPerSecond;
+        if (rate > 0 && frame == 0) {
+          long now = System.nanoTime();
+          if (now < nextStep) {
+            LockSupport.parkNanos(this, nextStep - now);
+            continue;
+          }
+          long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+          // Do not try to catch up on steps missed while the grid was slower than the rate.
+          nextStep = Math.max(nextStep + interval, now);
+        }
+        grid.update();
+        generation++;
+        record();
+        unpublished = true;
+        stepsInFrame++;
+        if (frame == 0 && mailbox.get() == null) {
+          publish();
+        }
+      }
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.SEVERE, "Simulation step failed", e);
+      failure = e;
+    } finally {
+      closeRecorder();
+      grid.close();
+    }
+  }
+
+  private void record() {
+    if (recorder == null) {
+      return;
+    }
+    try {
+      recorder.record(grid, generation);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void closeRecorder() {
+    if (recorder == null) {
+      return;
+    }
+    try {
+      recorder.close();
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not close the replay recording", e);
+    }
+    recorder = null;
+  }
+
+  private boolean runTasks() {
+    boolean ran = false;
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+      ran = true;
+    }
+    return ran;
+  }
+
+  /**
+   * Captures a snapshot into the empty mailbox. Only this thread fills the mailbox, so it cannot
+   * have been filled since the caller checked it.
+   */
+  private void publish() {
+    mailbox.set(GridSnapshot.capture(grid, generation));
+    unpublished = false;
+    stepsInFrame = 0;
+  }
+}
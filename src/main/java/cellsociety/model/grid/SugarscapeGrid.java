@@ -1,5 +1,7 @@
 package cellsociety.model.grid;
 
+import cellsociety.model.engine.SugarscapeEngine;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
 import cellsociety.model.ruleset.SugarscapeRuleset;
 
 /**
@@ -11,9 +13,29 @@ public class SugarscapeGrid extends Grid {
     super(rows, columns, ruleset, initialStates);
   }
 
+  /**
+   * Steps the simulation. The patches read their sugar and agents from the ruleset's engine, so
+   * no next states are written and there is nothing to commit. Only the patches the agents left
+   * and harvested count as changed, unless sugar grew back, which may change every patch.
+   */
   @Override
   public void update() {
     getRuleset().updateGridState();
-    moveNextStateToCurrent();
+    SugarscapeEngine engine = ((SugarscapeRuleset) getRuleset()).getEngine();
+    if (engine.regrewLastStep()) {
+      markAllChanged();
+      return;
+    }
+    int[] touched = engine.getTouchedPositions();
+    for (int i = 0; i < engine.getTouchedCount(); i++) {
+      markChanged(touched[i]);
+    }
+  }
+
+  /**
+   * @return true if the edges of the grid wrap around, so agents can see across them
+   */
+  public boolean wrapsAround() {
+    return getEdgeHandler() instanceof ToroidalEdgeHandler;
   }
 }
@@ -1,23 +1,122 @@
 package cellsociety.model.grid;
 
+import cellsociety.model.agent.WatorAgent;
 import cellsociety.model.cell.Cell;
+import cellsociety.model.cell.WatorCell;
+import cellsociety.model.cell.WatorCell.WatorState;
+import cellsociety.model.engine.WatorEngine;
+import cellsociety.model.grid.storage.ByteCellStorage;
 import cellsociety.model.ruleset.Ruleset;
+import cellsociety.model.ruleset.WatorRuleset;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class WatorGrid extends Grid {
 
+  private WatorEngine engine;
+
   public WatorGrid(int rows, int columns, Ruleset ruleset, String[] cells) {
     super(rows, columns, ruleset, cells);
   }
 
+  /**
+   * Steps the ocean. Compact grids are stepped by a {@link WatorEngine} that keeps the agents in
+   * flat arrays; grids with cell objects let the ruleset move the agents between cells.
+   */
   @Override
   public void update() {
+    if (usesCompactStorage() && getRuleset() instanceof WatorRuleset rules) {
+      updateWithEngine(rules);
+      return;
+    }
     getRuleset().updateGridState();
     // Second pass: Apply new states and update cells to utilize the next state
     moveNextStateToCurrent();
   }
 
+  /**
+   * Steps the engine and copies the resulting ocean into the grid. The engine is kept between
+   * steps so agents keep their energy and breeding timers; it is reloaded from the grid if the
+   * grid changed size or its cells were edited since the last step.
+   */
+  private void updateWithEngine(WatorRuleset rules) {
+    ByteCellStorage planes = getPlanes();
+    byte fishCode = planes.getCode(WatorState.FISH);
+    byte sharkCode = planes.getCode(WatorState.SHARK);
+    if (engine == null || engine.getRows() != getRows() || engine.getColumns() != getColumns()) {
+      engine = rules.createEngine(getRows(), getColumns());
+      engine.load(planes.getCurrentPlane(), fishCode, sharkCode);
+    } else if (!engine.matches(planes.getCurrentPlane(), fishCode, sharkCode)) {
+      engine.load(planes.getCurrentPlane(), fishCode, sharkCode);
+    }
+    engine.step();
+    engine.store(planes.getNextPlane(), fishCode, sharkCode, planes.getCode(WatorState.WATER));
+    moveNextStateToCurrent();
+    markAllDirty();
+  }
+
+  /**
+   * @return the engine stepping this grid, or null if the grid keeps agents in its cells
+   */
+  public WatorEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Writes the agents of the ocean: the engine's arrays for compact grids, or the energy, breeding
+   * timer and moved flag of the agent in every cell for grids with cell objects.
+   */
+  @Override
+  protected void writeCheckpointData(DataOutput out) throws IOException {
+    if (usesCompactStorage()) {
+      out.writeBoolean(engine != null);
+      if (engine != null) {
+        engine.writeCheckpoint(out);
+      }
+      return;
+    }
+    for (int id = 0; id < getLength(); id++) {
+      WatorAgent agent = ((WatorCell) getCell(id / getColumns(), id % getColumns())).getAgent();
+      out.writeBoolean(agent != null);
+      if (agent != null) {
+        out.writeInt(agent.getEnergy());
+        out.writeInt(agent.getReproductionTime());
+        out.writeBoolean(agent.getMoved());
+      }
+    }
+  }
+
+  /**
+   * Restores the agents written by {@link #writeCheckpointData}. Grids with cell objects already
+   * hold a fresh agent in every fish and shark cell, which gets its checkpointed values back.
+   */
+  @Override
+  protected void readCheckpointData(DataInput in) throws IOException {
+    if (usesCompactStorage()) {
+      engine = null;
+      if (in.readBoolean()) {
+        if (!(getRuleset() instanceof WatorRuleset rules)) {
+          throw new IOException("Checkpoint holds an engine this grid cannot be stepped by");
+        }
+        engine = rules.createEngine(getRows(), getColumns());
+        engine.readCheckpoint(in);
+      }
+      return;
+    }
+    for (int id = 0; id < getLength(); id++) {
+      WatorAgent agent = ((WatorCell) getCell(id / getColumns(), id % getColumns())).getAgent();
+      if (in.readBoolean() != (agent != null)) {
+        throw new IOException("Checkpoint does not match the agents of cell " + id);
+      }
+      if (agent != null) {
+        agent.restore(in.readInt(), in.readInt(), in.readBoolean());
+      }
+    }
+  }
+
   /**
    * A function that determines the four adjacent cells (N,E,S,W)
    *
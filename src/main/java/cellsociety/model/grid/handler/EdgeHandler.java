@@ -7,4 +7,34 @@ import java.util.List;
 public interface EdgeHandler {
 
   List<Cell> handleNeighbors(int row, int col, List<int[]> offsets, Grid grid);
+
+  /**
+   * Resolves the neighbors of a cell to their row-major ids instead of cell objects, so grids that
+   * store states compactly never have to create cells. The default implementation goes through
+   * {@link #handleNeighbors} and reads the id of every neighbor.
+   *
+   * @param row     the row index of the target cell
+   * @param col     the column index of the target cell
+   * @param offsets a list of relative offsets representing potential neighbor positions
+   * @param grid    the grid from which neighbors should be retrieved
+   * @param ids     array the neighbor ids are written into, at least {@code offsets.size()} long
+   * @return the number of neighbor ids written
+   */
+  default int handleNeighborIds(int row, int col, List<int[]> offsets, Grid grid, int[] ids) {
+    List<Cell> neighbors = handleNeighbors(row, col, offsets, grid);
+    for (int i = 0; i < neighbors.size(); i++) {
+      ids[i] = neighbors.get(i).getId();
+    }
+    return neighbors.size();
+  }
+
+  /**
+   * Whether the neighbors of a cell depend only on its position and the grid's size, so the grid
+   * can compile them once into a {@link cellsociety.model.grid.NeighborTable}.
+   *
+   * @return true by default
+   */
+  default boolean hasFixedNeighbors() {
+    return true;
+  }
 }
@@ -2,11 +2,18 @@ package cellsociety.model.grid.handler;
 
 import cellsociety.model.cell.Cell;
 import cellsociety.model.grid.Grid;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Edge handler implementation for an infinite grid. If the cell position is outside the current
  * grid boundaries, this handler expands the grid dynamically, then retrieves the neighbors.
+ * <p>
+ * Neighbor positions beyond the grid's current bounds are left out, as empty space the simulation
+ * has not reached yet; the grid is not grown for them. This handler used to ask the grid for the
+ * neighbors again, which called straight back into this handler and never returned, so grids with
+ * infinite edges could not be stepped at all.
+ * </p>
  *
  * @see EdgeHandler
  */
@@ -14,8 +21,9 @@ public class InfiniteEdgeHandler implements EdgeHandler {
 
   /**
    * Handles the retrieval of neighbors by expanding the grid if necessary. If the target cell
-   * position is invalid, the grid is expanded to include the position, and then neighbors are
-   * retrieved from the updated grid.
+   * position is invalid, the grid is expanded to include the position. Neighbors beyond the
+   * current bounds of the grid have never been reached by the simulation, so they are left out
+   * like empty space.
    *
    * @param row     the row index of the cell
    * @param col     the column index of the cell
@@ -27,8 +35,28 @@ public class InfiniteEdgeHandler implements EdgeHandler {
   public List<Cell> handleNeighbors(int row, int col, List<int[]> offsets, Grid grid) {
     if (!grid.isValidPosition(row, col)) {
       grid.expandGrid(row, col); // Dynamically expands grid size
+      row = Math.max(row, 0);
+      col = Math.max(col, 0);
     }
-    return grid.getNeighbors(row, col); // Fetch neighbors from updated grid
+    List<Cell> neighbors = new ArrayList<>();
+    for (int[] offset : offsets) {
+      int newRow = row + offset[0];
+      int newCol = col + offset[1];
+      if (grid.isValidPosition(newRow, newCol)) {
+        neighbors.add(grid.getCell(newRow, newCol));
+      }
+    }
+    return neighbors;
+  }
+
+  /**
+   * The grid may grow while neighbors are being resolved, so they cannot be compiled ahead.
+   *
+   * @return false
+   */
+  @Override
+  public boolean hasFixedNeighbors() {
+    return false;
   }
 
 }
\ No newline at end of file
@@ -58,4 +58,32 @@ public class MirrorEdgeHandler implements EdgeHandler {
     }
     return neighbors;
   }
+
+  /**
+   * Resolves neighbor ids using mirror reflection at the grid edges.
+   *
+   * @param row     the row index of the target cell
+   * @param col     the column index of the target cell
+   * @param offsets a list of relative offsets representing potential neighbor positions
+   * @param grid    the grid from which neighbors should be retrieved
+   * @param ids     array the neighbor ids are written into
+   * @return the number of neighbor ids written
+   */
+  @Override
+  public int handleNeighborIds(int row, int col, List<int[]> offsets, Grid grid, int[] ids) {
+    int numRows = grid.getRows();
+    int numCols = grid.getColumns();
+    int count = 0;
+
+    for (int[] offset : offsets) {
+      int newRow = mirrorIndex(row + offset[0], numRows);
+      int newCol = mirrorIndex(col + offset[1], numCols);
+      if (!grid.isValidPosition(newRow, newCol)) {
+        throw new IndexOutOfBoundsException("Mirrored neighbor (" + newRow + ", " + newCol
+            + ") is outside the grid");
+      }
+      ids[count++] = newRow * numCols + newCol;
+    }
+    return count;
+  }
 }
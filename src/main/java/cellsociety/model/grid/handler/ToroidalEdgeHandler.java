@@ -38,4 +38,28 @@ public class ToroidalEdgeHandler implements EdgeHandler {
     return neighbors;
   }
 
+  /**
+   * Resolves neighbor ids using toroidal (wrap-around) boundaries.
+   *
+   * @param row     the row index of the target cell
+   * @param col     the column index of the target cell
+   * @param offsets a list of relative offsets representing potential neighbor positions
+   * @param grid    the grid from which neighbors should be retrieved
+   * @param ids     array the neighbor ids are written into
+   * @return the number of neighbor ids written
+   */
+  @Override
+  public int handleNeighborIds(int row, int col, List<int[]> offsets, Grid grid, int[] ids) {
+    int numRows = grid.getRows();
+    int numCols = grid.getColumns();
+    int count = 0;
+
+    for (int[] offset : offsets) {
+      int newRow = (row + offset[0] + numRows) % numRows;
+      int newCol = (col + offset[1] + numCols) % numCols;
+      ids[count++] = newRow * numCols + newCol;
+    }
+    return count;
+  }
+
 }
@@ -0,0 +1,214 @@
+package cellsociety.model.grid.storage;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.state.CellState;
+import java.util.Arrays;
+
+/**
+ * Compact storage that keeps the current and next state of every cell in two flat byte planes.
+ * <p>
+ * The planes are double-buffered: a generation index picks which plane is the front (current)
+ * one, and committing a generation just flips that index. The back plane is never cleared, so it
+ * still holds the generation before last until it is overwritten; callers that do not write every
+ * cell either seed it with {@link #beginGeneration()} first or commit only the cells they wrote
+ * with {@link #moveNextStateToCurrent(int[], int)}, which copies them into the front plane.
+ * </p>
+ * <p>
+ * Each byte is the index of the cell's state in the simulation's state array (its enum ordinal),
+ * or {@link #NO_STATE} when no state has been set. No cell objects are kept: {@link #getCell}
+ * returns a lightweight view that reads and writes straight through to the planes, so the memory
+ * cost is two bytes per cell and whole-board passes walk contiguous arrays. Views are created the
+ * first time a cell is asked for and reused afterwards, so loops over {@link #getCell} allocate
+ * nothing once every cell has been visited.
+ * </p>
+ */
+public class ByteCellStorage implements CellStorage {
+
+  /**
+   * Code stored for a cell whose state has not been set yet.
+   */
+  public static final byte NO_STATE = -1;
+
+  private final int rows;
+  private final int columns;
+  private final CellState[] states;
+  private final byte[][] planes;
+  private StateView[] views;
+  private int generation;
+
+  /**
+   * Creates a storage where every cell starts without a current or next state.
+   *
+   * @param rows    the number of rows in the grid
+   * @param columns the number of columns in the grid
+   * @param states  every state a cell of this simulation can be in, indexed by state code
+   */
+  public ByteCellStorage(int rows, int columns, CellState[] states) {
+    if (states.length > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many cell states for compact storage");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.states = states;
+    this.planes = new byte[2][rows * columns];
+    Arrays.fill(planes[0], NO_STATE);
+    Arrays.fill(planes[1], NO_STATE);
+  }
+
+  /**
+   * Maps a state to the code stored in the planes.
+   *
+   * @param state the state to encode, may be null
+   * @return the code of the state, or {@link #NO_STATE} for null
+   * @throws IllegalArgumentException if the state does not belong to this simulation
+   */
+  public byte getCode(CellState state) {
+    if (state == null) {
+      return NO_STATE;
+    }
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == state) {
+        return (byte) i;
+      }
+    }
+    throw new IllegalArgumentException("State " + state + " is not part of this simulation");
+  }
+
+  /**
+   * Maps a code stored in the planes back to its state.
+   *
+   * @param code the code to decode
+   * @return the state with that code, or null for {@link #NO_STATE}
+   */
+  public CellState getState(byte code) {
+    return code == NO_STATE ? null : states[code];
+  }
+
+  /**
+   * @return the plane holding the state codes of the current generation
+   */
+  public byte[] getCurrentPlane() {
+    return planes[generation];
+  }
+
+  /**
+   * @return the plane the next generation's state codes are written into
+   */
+  public byte[] getNextPlane() {
+    return planes[generation ^ 1];
+  }
+
+  @Override
+  public Cell getCell(int row, int col) {
+    if (row < 0 || row >= rows || col < 0 || col >= columns) {
+      throw new IndexOutOfBoundsException("No cell at (" + row + ", " + col + ")");
+    }
+    if (views == null) {
+      views = new StateView[rows * columns];
+    }
+    int id = row * columns + col;
+    if (views[id] == null) {
+      views[id] = new StateView(id);
+    }
+    return views[id];
+  }
+
+  @Override
+  public CellState getCurrState(int id) {
+    return getState(getCurrentPlane()[id]);
+  }
+
+  @Override
+  public void setCurrState(int id, CellState state) {
+    getCurrentPlane()[id] = getCode(state);
+  }
+
+  @Override
+  public CellState getNextState(int id) {
+    return getState(getNextPlane()[id]);
+  }
+
+  @Override
+  public void setNextState(int id, CellState state) {
+    getNextPlane()[id] = getCode(state);
+  }
+
+  /**
+   * Copies the current plane into the back plane so cells that are not written this generation
+   * keep their state.
+   */
+  @Override
+  public void beginGeneration() {
+    System.arraycopy(getCurrentPlane(), 0, getNextPlane(), 0, getLength());
+  }
+
+  /**
+   * Flips the generation index so the back plane becomes the current one. No cell is touched.
+   */
+  @Override
+  public void moveNextStateToCurrent() {
+    generation ^= 1;
+  }
+
+  /**
+   * Copies the listed cells from the back plane into the current one without flipping, so a sparse
+   * generation costs as many writes as it has listed cells and needs no
+   * {@link #beginGeneration()}.
+   */
+  @Override
+  public void moveNextStateToCurrent(int[] ids, int count) {
+    byte[] current = getCurrentPlane();
+    byte[] next = getNextPlane();
+    for (int i = 0; i < count; i++) {
+      current[ids[i]] = next[ids[i]];
+    }
+  }
+
+  @Override
+  public int getLength() {
+    return planes[0].length;
+  }
+
+  @Override
+  public CellStorage expand(int newRows, int newColumns, int rowShift, int colShift,
+      CellState fillState) {
+    ByteCellStorage expanded = new ByteCellStorage(newRows, newColumns, states);
+    byte[] expandedCurrent = expanded.getCurrentPlane();
+    Arrays.fill(expandedCurrent, getCode(fillState));
+    for (int row = 0; row < rows; row++) {
+      System.arraycopy(getCurrentPlane(), row * columns, expandedCurrent,
+          (row + rowShift) * newColumns + colShift, columns);
+    }
+    return expanded;
+  }
+
+  /**
+   * Cell that has no state of its own and instead reads and writes the storage planes.
+   */
+  private class StateView extends Cell {
+
+    StateView(int id) {
+      super(id, null, null);
+    }
+
+    @Override
+    public CellState getCurrState() {
+      return getState(getCurrentPlane()[getId()]);
+    }
+
+    @Override
+    public void setCurrState(CellState state) {
+      getCurrentPlane()[getId()] = getCode(state);
+    }
+
+    @Override
+    public CellState getNextState() {
+      return getState(getNextPlane()[getId()]);
+    }
+
+    @Override
+    public void setNextState(CellState state) {
+      getNextPlane()[getId()] = getCode(state);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package cellsociety.model.grid.storage;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.state.CellState;
+
+/**
+ * Backing store for the cells of a {@link cellsociety.model.grid.Grid}. Cells are addressed either
+ * by (row, col) or by their row-major id ({@code row * columns + col}).
+ */
+public interface CellStorage {
+
+  /**
+   * Retrieves the cell at the specified position.
+   *
+   * @param row the row index of the desired cell
+   * @param col the column index of the desired cell
+   * @return the {@link Cell} located at (row, col)
+   * @throws IndexOutOfBoundsException if the position is outside the storage
+   */
+  Cell getCell(int row, int col);
+
+  /**
+   * @param id the row-major id of the cell
+   * @return the current state of the cell
+   */
+  CellState getCurrState(int id);
+
+  /**
+   * @param id    the row-major id of the cell
+   * @param state the state the cell should currently be in
+   */
+  void setCurrState(int id, CellState state);
+
+  /**
+   * @param id the row-major id of the cell
+   * @return the state written for the cell's next generation. On object storage this is null if
+   * none was set; compact storage keeps stale states in its back plane, so only states written
+   * during the current generation are meaningful there.
+   */
+  CellState getNextState(int id);
+
+  /**
+   * @param id    the row-major id of the cell
+   * @param state the state the cell should have in the next generation
+   */
+  void setNextState(int id, CellState state);
+
+  /**
+   * Prepares the storage for a generation in which not every cell is guaranteed to be written, so
+   * that cells left untouched keep their current state.
+   */
+  void beginGeneration();
+
+  /**
+   * Makes the next generation the current one. Cells that were not given a next state keep their
+   * current state.
+   */
+  void moveNextStateToCurrent();
+
+  /**
+   * Makes the next generation the current one when only the listed cells were given a next state.
+   * Every other cell keeps its current state, whatever its next state holds.
+   *
+   * @param ids   the row-major ids of the cells written this generation
+   * @param count how many ids of the array are used
+   */
+  void moveNextStateToCurrent(int[] ids, int count);
+
+  /**
+   * @return the total number of cells held by the storage
+   */
+  int getLength();
+
+  /**
+   * Creates a larger storage that holds the cells of this one shifted by the given amounts, with
+   * every new position filled with the given state.
+   *
+   * @param newRows    the number of rows of the expanded storage
+   * @param newColumns the number of columns of the expanded storage
+   * @param rowShift   how many rows existing cells move down
+   * @param colShift   how many columns existing cells move right
+   * @param fillState  the state of newly created cells
+   * @return the expanded storage
+   */
+  CellStorage expand(int newRows, int newColumns, int rowShift, int colShift,
+      CellState fillState);
+}
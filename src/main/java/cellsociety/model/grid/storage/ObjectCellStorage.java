@@ -0,0 +1,124 @@
+package cellsociety.model.grid.storage;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.factory.CellFactory;
+import cellsociety.model.state.CellState;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage that keeps one {@link Cell} object per grid position. This is the default storage and
+ * works for every simulation, including the ones whose cells hold agents or sugar.
+ */
+public class ObjectCellStorage implements CellStorage {
+
+  private final List<List<Cell>> myCells;
+  private final int columns;
+  private final int length;
+
+  /**
+   * Wraps a row-major list of rows of cells. The lists must not change size afterwards.
+   *
+   * @param cells   the cells of the grid, one list per row
+   * @param columns the number of columns in every row
+   */
+  public ObjectCellStorage(List<List<Cell>> cells, int columns) {
+    this.myCells = cells;
+    this.columns = columns;
+    this.length = cells.size() * columns;
+  }
+
+  @Override
+  public Cell getCell(int row, int col) {
+    return myCells.get(row).get(col);
+  }
+
+  @Override
+  public CellState getCurrState(int id) {
+    return getCell(id / columns, id % columns).getCurrState();
+  }
+
+  @Override
+  public void setCurrState(int id, CellState state) {
+    getCell(id / columns, id % columns).setCurrState(state);
+  }
+
+  @Override
+  public CellState getNextState(int id) {
+    return getCell(id / columns, id % columns).getNextState();
+  }
+
+  @Override
+  public void setNextState(int id, CellState state) {
+    getCell(id / columns, id % columns).setNextState(state);
+  }
+
+  /**
+   * Cells keep their own states, so there is nothing to seed: a null next state already means the
+   * cell is untouched.
+   */
+  @Override
+  public void beginGeneration() {
+  }
+
+  /**
+   * Commits every cell in a single pass. Cells with no next state keep their current one, which
+   * replaces the separate pass rulesets used to make over untouched cells.
+   */
+  @Override
+  public void moveNextStateToCurrent() {
+    for (List<Cell> row : myCells) {
+      for (Cell cell : row) {
+        CellState nextState = cell.getNextState();
+        if (nextState != null) {
+          cell.setCurrState(nextState);
+          cell.setNextState(null);
+        }
+      }
+    }
+  }
+
+  /**
+   * Commits only the listed cells, so the cost follows the number of cells written rather than the
+   * size of the grid.
+   */
+  @Override
+  public void moveNextStateToCurrent(int[] ids, int count) {
+    for (int i = 0; i < count; i++) {
+      Cell cell = getCell(ids[i] / columns, ids[i] % columns);
+      CellState nextState = cell.getNextState();
+      if (nextState != null) {
+        cell.setCurrState(nextState);
+        cell.setNextState(null);
+      }
+    }
+  }
+
+  @Override
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public CellStorage expand(int newRows, int newColumns, int rowShift, int colShift,
+      CellState fillState) {
+    int oldRows = myCells.size();
+    List<List<Cell>> newGrid = new ArrayList<>();
+
+    for (int i = 0; i < newRows; i++) {
+      List<Cell> row = new ArrayList<>();
+      for (int j = 0; j < newColumns; j++) {
+        if (i >= rowShift && j >= colShift && (i - rowShift) < oldRows
+            && (j - colShift) < columns) {
+          // Shift existing cell to new position.
+          row.add(getCell(i - rowShift, j - colShift));
+        } else {
+          // Create a new cell with the default state.
+          row.add(CellFactory.createCell(i * newColumns + j, fillState, null));
+        }
+      }
+      newGrid.add(row);
+    }
+    return new ObjectCellStorage(newGrid, newColumns);
+  }
+}
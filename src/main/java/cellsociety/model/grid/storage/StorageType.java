@@ -0,0 +1,32 @@
+package cellsociety.model.grid.storage;
+
+/**
+ * The ways a {@link cellsociety.model.grid.Grid} can store the states of its cells.
+ * <p>
+ * {@code OBJECT} keeps one {@link cellsociety.model.cell.Cell} object per position and works for
+ * every simulation. {@code COMPACT} keeps the states in flat byte planes and only creates cell
+ * objects on demand, so it is limited to simulations whose cells carry nothing but a state.
+ * </p>
+ */
+public enum StorageType {
+  OBJECT,
+  COMPACT;
+
+  /**
+   * Maps a storage name from a configuration file to a storage type.
+   *
+   * @param name the name of the storage type (e.g., "Object", "Compact")
+   * @return the matching storage type, or {@code OBJECT} if the name is null, empty or unknown
+   */
+  public static StorageType fromName(String name) {
+    if (name == null || name.trim().isEmpty()) {
+      return OBJECT;
+    }
+    for (StorageType type : values()) {
+      if (type.name().equalsIgnoreCase(name.trim())) {
+        return type;
+      }
+    }
+    return OBJECT;
+  }
+}
@@ -15,7 +15,12 @@ import org.apache.logging.log4j.Logger;
  * Simulation
  */
 
-public class ConwayRuleset extends Ruleset {
+public class ConwayRuleset extends Ruleset implements StateCodeRuleset {
+
+  protected static final byte ALIVE_CODE = (byte) ConwayState.ALIVE.ordinal();
+  protected static final byte DEAD_CODE = (byte) ConwayState.DEAD.ordinal();
+  private static final int BIRTH_MASK = 1 << 3;
+  private static final int SURVIVAL_MASK = 1 << 2 | 1 << 3;
 
   Logger log = LogManager.getLogger(ConwayRuleset.class);
 
@@ -53,6 +58,40 @@ public class ConwayRuleset extends Ruleset {
     }
   }
 
+  @Override
+  public boolean isCellLocal() {
+    return true;
+  }
+
+  @Override
+  public boolean isDeterministic() {
+    return true;
+  }
+
+  @Override
+  public byte updateStateCode(int id, byte state, byte[] plane, int[] neighbors, int from,
+      int to) {
+    int aliveCells = countAliveNeighbors(plane, neighbors, from, to);
+    if (state == ALIVE_CODE) {
+      return (aliveCells < 2 || aliveCells > 3) ? DEAD_CODE : ALIVE_CODE;
+    }
+    return aliveCells == 3 ? ALIVE_CODE : DEAD_CODE;
+  }
+
+  /**
+   * @return Bit mask where bit n is set if a dead cell with n alive neighbors is born
+   */
+  public int getBirthMask() {
+    return BIRTH_MASK;
+  }
+
+  /**
+   * @return Bit mask where bit n is set if an alive cell with n alive neighbors survives
+   */
+  public int getSurvivalMask() {
+    return SURVIVAL_MASK;
+  }
+
   /**
    * Dummy function that does not require implementation for this simulation (strategy pattern)
    */
@@ -76,6 +115,25 @@ public class ConwayRuleset extends Ruleset {
     return aliveCells;
   }
 
+  /**
+   * Function to count the amount of alive neighbors of a cell from compact state codes
+   *
+   * @param plane     The state codes of the current generation
+   * @param neighbors Array holding the ids of the neighbors
+   * @param from      Index of the first neighbor id (inclusive)
+   * @param to        Index of the last neighbor id (exclusive)
+   * @return An integer denoting the amount of alive cells
+   */
+  protected int countAliveNeighbors(byte[] plane, int[] neighbors, int from, int to) {
+    int aliveCells = 0;
+    for (int i = from; i < to; i++) {
+      if (plane[neighbors[i]] == ALIVE_CODE) {
+        aliveCells++;
+      }
+    }
+    return aliveCells;
+  }
+
   /**
    * Sets the next state of a cell to DEAD
    *
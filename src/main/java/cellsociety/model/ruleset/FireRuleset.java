@@ -5,22 +5,42 @@ import cellsociety.model.cell.FireCell.FireState;
 import cellsociety.model.grid.FireGrid;
 import cellsociety.model.grid.Grid;
 import cellsociety.model.state.CellState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * Author: Daniel Rodriguez-Florido The back-end ruleset logic to preform the Forest Fire
  * Simulation
+ * <p>
+ * Random draws are a hash of a seed, the generation and the cell's id rather than calls on a
+ * shared generator, so row bands updated on different threads never contend for one and draw the
+ * same numbers in any order. Recording the seed and the generation is then enough for a restored
+ * fire to spread the same way.
+ * </p>
  */
 
-public class FireRuleset extends Ruleset {
+public class FireRuleset extends Ruleset implements StateCodeRuleset {
 
   private static final String PROB_GROW_PARAM_NAME = "probGrow";
   private static final String PROB_CATCH_PARAM_NAME = "probCatch";
+  private static final byte EMPTY_CODE = (byte) FireState.EMPTY.ordinal();
+  private static final byte TREE_CODE = (byte) FireState.TREE.ordinal();
+  private static final byte BURNING_CODE = (byte) FireState.BURNING.ordinal();
   private final double probGrow;
   private final double probCatch;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final int GROW_DRAW = 0;
+  private static final int FIRST_CATCH_DRAW = 1;
+  private static final int SECOND_CATCH_DRAW = 2;
+  private long seed = ThreadLocalRandom.current().nextLong();
+  private long generation;
+  private long generationKey = mix(seed);
   Logger log = LogManager.getLogger(FireRuleset.class);
 
   /**
@@ -48,8 +68,9 @@ public class FireRuleset extends Ruleset {
 
   @Override
   public void updateCellState(Cell cell, List<Cell> neighbors) {
+    int id = cell.getId();
     if (cell.getCurrState() == FireState.EMPTY) {
-      if (Math.random() < probGrow) {
+      if (draw(id, GROW_DRAW) < probGrow) {
         growTree(cell);
       } else {
         maintainCell(cell);
@@ -63,9 +84,9 @@ public class FireRuleset extends Ruleset {
     }
 
     // The following code will only execute if tree
-    if (isNeighborCellBurning(neighbors) || Math.random() < probCatch) {
+    if (isNeighborCellBurning(neighbors) || draw(id, FIRST_CATCH_DRAW) < probCatch) {
       lightFire(cell);
-    } else if (Math.random() < probCatch) {
+    } else if (draw(id, SECOND_CATCH_DRAW) < probCatch) {
       lightFire(cell);
     } else {
       maintainCell(cell);
@@ -73,6 +94,74 @@ public class FireRuleset extends Ruleset {
 
   }
 
+  @Override
+  public boolean isCellLocal() {
+    return true;
+  }
+
+  @Override
+  public byte updateStateCode(int id, byte state, byte[] plane, int[] neighbors, int from,
+      int to) {
+    if (state == EMPTY_CODE) {
+      return draw(id, GROW_DRAW) < probGrow ? TREE_CODE : EMPTY_CODE;
+    }
+    if (state == BURNING_CODE) {
+      return EMPTY_CODE;
+    }
+    for (int i = from; i < to; i++) {
+      if (plane[neighbors[i]] == BURNING_CODE) {
+        return BURNING_CODE;
+      }
+    }
+    // Mirrors the two independent chances a tree has to catch fire in updateCellState
+    if (draw(id, FIRST_CATCH_DRAW) < probCatch || draw(id, SECOND_CATCH_DRAW) < probCatch) {
+      return BURNING_CODE;
+    }
+    return TREE_CODE;
+  }
+
+  /**
+   * Moves the random draws on to the next generation. Called by the grid once every cell was
+   * updated.
+   */
+  public void endGeneration() {
+    generation++;
+    generationKey = mix(seed + generation * GOLDEN_GAMMA);
+  }
+
+  /**
+   * @return a number in [0, 1) that depends only on the seed, the generation, the cell and which
+   * of the cell's draws it is
+   */
+  private double draw(int id, int index) {
+    return (mix(generationKey + (4L * id + index) * GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * The SplitMix64 finalizer, which spreads every input bit over the whole result.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Records the seed and generation of the random draws, so a restored fire spreads the same way.
+   */
+  @Override
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    out.writeLong(seed);
+    out.writeLong(generation);
+  }
+
+  @Override
+  public void readCheckpoint(DataInput in) throws IOException {
+    seed = in.readLong();
+    generation = in.readLong();
+    generationKey = mix(seed + generation * GOLDEN_GAMMA);
+  }
+
   /**
    * Dummy function that is not used in this implementation
    */
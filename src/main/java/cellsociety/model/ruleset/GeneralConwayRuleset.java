@@ -18,6 +18,8 @@ public class GeneralConwayRuleset extends ConwayRuleset {
 
   private final Set<Integer> birthVals;
   private final Set<Integer> survivalVals;
+  private final int birthMask;
+  private final int survivalMask;
 
   /**
    * Constructor for the General Conway Game of Life Ruleset
@@ -29,6 +31,8 @@ public class GeneralConwayRuleset extends ConwayRuleset {
     survivalVals = new HashSet<>();
     String rules = params.getOrDefault(RULE_PARAM_NAME, "B3/S23");
     GeneralConwayParser.parseRuleString(rules, birthVals, survivalVals);
+    birthMask = GeneralConwayParser.toMask(birthVals);
+    survivalMask = GeneralConwayParser.toMask(survivalVals);
   }
 
   @Override
@@ -43,6 +47,24 @@ public class GeneralConwayRuleset extends ConwayRuleset {
     }
   }
 
+  @Override
+  public byte updateStateCode(int id, byte state, byte[] plane, int[] neighbors, int from,
+      int to) {
+    int aliveCells = countAliveNeighbors(plane, neighbors, from, to);
+    int rules = state == ALIVE_CODE ? survivalMask : birthMask;
+    return aliveCells < Integer.SIZE && (rules & (1 << aliveCells)) != 0 ? ALIVE_CODE : DEAD_CODE;
+  }
+
+  @Override
+  public int getBirthMask() {
+    return birthMask;
+  }
+
+  @Override
+  public int getSurvivalMask() {
+    return survivalMask;
+  }
+
   @Override
   public CellState getDefaultCellState() {
     return ConwayState.DEAD;
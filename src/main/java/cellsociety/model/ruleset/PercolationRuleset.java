@@ -12,7 +12,10 @@ import java.util.List;
  * Simulation
  */
 
-public class PercolationRuleset extends Ruleset {
+public class PercolationRuleset extends Ruleset implements StateCodeRuleset {
+
+  private static final byte OPEN_CODE = (byte) PercolationState.OPEN.ordinal();
+  private static final byte PERCOLATED_CODE = (byte) PercolationState.PERCOLATED.ordinal();
 
   /**
    * Empty constructor since no parameters necessary
@@ -37,6 +40,30 @@ public class PercolationRuleset extends Ruleset {
 
   }
 
+  @Override
+  public boolean isCellLocal() {
+    return true;
+  }
+
+  @Override
+  public boolean isDeterministic() {
+    return true;
+  }
+
+  @Override
+  public byte updateStateCode(int id, byte state, byte[] plane, int[] neighbors, int from,
+      int to) {
+    if (state != OPEN_CODE) {
+      return state;
+    }
+    for (int i = from; i < to; i++) {
+      if (plane[neighbors[i]] == PERCOLATED_CODE) {
+        return PERCOLATED_CODE;
+      }
+    }
+    return OPEN_CODE;
+  }
+
   /**
    * Empty function that does not need implementation for this simulation (strategy pattern)
    */
@@ -2,7 +2,11 @@ package cellsociety.model.ruleset;
 
 import cellsociety.model.cell.Cell;
 import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.storage.StorageType;
 import cellsociety.model.state.CellState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -12,6 +16,8 @@ import java.util.List;
  */
 public abstract class Ruleset {
 
+  private StorageType storageType = StorageType.OBJECT;
+
   public Ruleset() {
   }
 
@@ -48,20 +54,82 @@ public abstract class Ruleset {
   }
 
   /**
-   * Function that moves all the current states into next states for unaffected cells
+   * @return the default cell state of a ruleset
+   */
+  public abstract CellState getDefaultCellState();
+
+  /**
+   * @return Every state a cell of this simulation can be in, indexed by its compact state code
    */
-  protected void maintainRestOfGrid(Grid myGrid) {
-    for (int i = 0; i < myGrid.getRows(); i++) {
-      for (int j = 0; j < myGrid.getColumns(); j++) {
-        if (myGrid.getCell(i, j).getNextState() == null) {
-          maintainCell(myGrid.getCell(i, j));
-        }
-      }
-    }
+  public CellState[] getCellStates() {
+    Enum<?> defaultState = (Enum<?>) getDefaultCellState();
+    return (CellState[]) defaultState.getDeclaringClass().getEnumConstants();
   }
 
   /**
-   * @return the default cell state of a ruleset
+   * @return The way grids created by this ruleset store their cells
    */
-  public abstract CellState getDefaultCellState();
+  public StorageType getStorageType() {
+    return storageType;
+  }
+
+  /**
+   * Sets how grids created by this ruleset store their cells. Must be called before createGrid.
+   *
+   * @param storageType The storage to use for new grids
+   */
+  public void setStorageType(StorageType storageType) {
+    this.storageType = storageType;
+  }
+
+  /**
+   * Whether the cells of this simulation hold data beyond their state (agents, sugar...), in which
+   * case grids always fall back to one object per cell.
+   *
+   * @return false by default, true for rulesets that need concrete cell objects
+   */
+  public boolean requiresCellObjects() {
+    return false;
+  }
+
+  /**
+   * Whether the next state of a cell depends only on the current states of the cell and its
+   * neighbors, and {@link #updateCellState} writes nothing but the next state of the cell it is
+   * given. Grids may then update disjoint parts of the board on different threads.
+   *
+   * @return false by default
+   */
+  public boolean isCellLocal() {
+    return false;
+  }
+
+  /**
+   * Whether the next state of a cell is fully determined by the current states of the cell and its
+   * neighbors (no randomness). Grids then skip cells whose neighborhood did not change since the
+   * last generation, since such a cell is bound to keep its state.
+   *
+   * @return false by default
+   */
+  public boolean isDeterministic() {
+    return false;
+  }
+
+  /**
+   * Writes the state this ruleset keeps between generations, such as its random generator, into
+   * a grid checkpoint. Rulesets without such state write nothing.
+   *
+   * @param out The stream receiving the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public void writeCheckpoint(DataOutput out) throws IOException {
+  }
+
+  /**
+   * Reads what {@link #writeCheckpoint} wrote.
+   *
+   * @param in The stream holding the checkpoint
+   * @throws IOException if the checkpoint cannot be read
+   */
+  public void readCheckpoint(DataInput in) throws IOException {
+  }
 }
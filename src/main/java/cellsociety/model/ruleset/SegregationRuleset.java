@@ -2,13 +2,20 @@ package cellsociety.model.ruleset;
 
 import cellsociety.model.cell.Cell;
 import cellsociety.model.cell.SegregationCell.SegregationState;
+import cellsociety.model.engine.SegregationEngine;
+import cellsociety.model.grid.Checkpoints;
 import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.NeighborTable;
 import cellsociety.model.grid.SegregationGrid;
 import cellsociety.model.state.CellState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * Author: Daniel Rodriguez-Florido The back-end ruleset logic to preform the Segregation
@@ -20,6 +27,7 @@ public class SegregationRuleset extends Ruleset {
   private static final String THRESHOLD_PARAM_NAME = "thresh";
 
   private final double similarityThreshold;
+  private final Random random = new Random();
   private SegregationGrid myGrid;
 
   /**
@@ -45,8 +53,8 @@ public class SegregationRuleset extends Ruleset {
     List<Cell> emptyCells = getEmptyCells();
     List<Cell> unSatisfiedCells = getUnsatisfiedCells();
 
-    Collections.shuffle(unSatisfiedCells);
-    Collections.shuffle(emptyCells);
+    Collections.shuffle(unSatisfiedCells, random);
+    Collections.shuffle(emptyCells, random);
 
     for (Cell c : unSatisfiedCells) {
       if (emptyCells.isEmpty()) {
@@ -58,9 +66,6 @@ public class SegregationRuleset extends Ruleset {
 
       emptyCells.removeLast();
     }
-
-    maintainRestOfGrid(myGrid);
-
   }
 
   /**
@@ -134,6 +139,32 @@ public class SegregationRuleset extends Ruleset {
     return unsatisfiedCells;
   }
 
+  /**
+   * Creates the incremental engine used to step grids whose neighbors are compiled into a table.
+   *
+   * @param table The neighbors of every cell of the grid
+   * @return A new engine with every cell empty, drawing from the ruleset's random generator
+   */
+  public SegregationEngine createEngine(NeighborTable table) {
+    SegregationEngine engine = new SegregationEngine(table, getCellStates().length,
+        (byte) SegregationState.EMPTY.ordinal(), similarityThreshold);
+    engine.setRandom(random);
+    return engine;
+  }
+
+  /**
+   * Records the random generator shared by the ruleset and its engines.
+   */
+  @Override
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    Checkpoints.writeRandom(out, random);
+  }
+
+  @Override
+  public void readCheckpoint(DataInput in) throws IOException {
+    Checkpoints.readRandom(in, random);
+  }
+
   @Override
   public Grid createGrid(int rows, int columns, String[] initialStates) {
     myGrid = new SegregationGrid(rows, columns, this, initialStates);
@@ -0,0 +1,25 @@
+package cellsociety.model.ruleset;
+
+/**
+ * Author: Daniel Rodriguez-Florido
+ * <p>
+ * Implemented by rulesets that can compute a cell's next state from compact state codes (the
+ * index of each state in {@link Ruleset#getCellStates()}) instead of cell objects, so compact
+ * grids update their cells without creating any cell objects
+ */
+public interface StateCodeRuleset {
+
+  /**
+   * Function to compute the next state of a cell from compact state codes. Rulesets whose random
+   * draws depend on which cell is updated use the cell's id.
+   *
+   * @param id        The row-major id of the cell being updated
+   * @param state     The state code of the cell being updated
+   * @param plane     The state codes of the current generation, indexed by cell id
+   * @param neighbors Array holding the ids of the cell's neighbors
+   * @param from      Index of the first neighbor id in the array (inclusive)
+   * @param to        Index of the last neighbor id in the array (exclusive)
+   * @return The state code of the cell in the next generation
+   */
+  byte updateStateCode(int id, byte state, byte[] plane, int[] neighbors, int from, int to);
+}
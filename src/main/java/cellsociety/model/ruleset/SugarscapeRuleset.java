@@ -3,16 +3,22 @@ package cellsociety.model.ruleset;
 import cellsociety.model.agent.SugarscapeAgent;
 import cellsociety.model.cell.Cell;
 import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.engine.SugarscapeEngine;
 import cellsociety.model.grid.SugarscapeGrid;
 import cellsociety.model.state.CellState;
 import cellsociety.model.state.SugarscapeState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Defines the ruleset for the Sugarscape simulation. Handles agent movement, sugar growth, and
- * other Sugarscape-specific logic.
+ * other Sugarscape-specific logic. Agents see {@code agentVision} patches along each lattice
+ * direction.
  *
  * @author Luke
  */
@@ -22,12 +28,14 @@ public class SugarscapeRuleset extends Ruleset {
   private static final String SUGAR_GROW_BACK_PARAM_NAME = "sugarGrowBackInterval";
   private static final String AGENT_VISION_PARAM_NAME = "agentVision";
   private static final String AGENT_METABOLISM_PARAM_NAME = "agentMetabolism";
+  private static final int DEFAULT_AGENT_VISION = 1;
+  private static final Logger log = LogManager.getLogger(SugarscapeRuleset.class);
   private final int sugarGrowBackRate;
   private final int sugarGrowBackInterval;
   private final int agentVision;
   private final int agentMetabolism;
   private SugarscapeGrid myGrid;
-  private int tickCounter = 0;
+  private SugarscapeEngine engine;
   private int[] initialValues;
 
   /**
@@ -39,73 +47,23 @@ public class SugarscapeRuleset extends Ruleset {
   public SugarscapeRuleset(Map<String, String> params) {
     this.sugarGrowBackRate = Integer.parseInt(params.get(SUGAR_GROW_RATE_PARAM_NAME));
     this.sugarGrowBackInterval = Integer.parseInt(params.get(SUGAR_GROW_BACK_PARAM_NAME));
-    this.agentVision = Integer.parseInt(params.get(AGENT_VISION_PARAM_NAME));
+    int tempAgentVision = Integer.parseInt(params.get(AGENT_VISION_PARAM_NAME));
+    if (tempAgentVision < 0) {
+      log.error("Invalid agentVision parameter below zero. Using default value.");
+      tempAgentVision = DEFAULT_AGENT_VISION;
+    }
+    this.agentVision = tempAgentVision;
     this.agentMetabolism = Integer.parseInt(params.get(AGENT_METABOLISM_PARAM_NAME));
   }
 
   /**
-   * Updates the grid state by growing sugar and moving agents.
+   * Updates the grid state by growing sugar and moving agents. The work is done by the grid's
+   * {@link SugarscapeEngine}, which only visits the agents.
    */
   @Override
   public void updateGridState() {
-    tickCounter++;
-    if (tickCounter >= sugarGrowBackInterval) {
-      growSugar();
-      tickCounter = 0;
-    }
-    moveAgents();
-  }
-
-  /**
-   * Increases sugar levels in patches at the defined growth rate.
-   */
-  private void growSugar() {
-    for (int i = 0; i < myGrid.getRows(); i++) {
-      for (int j = 0; j < myGrid.getColumns(); j++) {
-        Cell cell = myGrid.getCell(i, j);
-        if (cell instanceof SugarscapePatch) {
-          ((SugarscapePatch) cell).growSugar(sugarGrowBackRate);
-        }
-      }
-    }
-  }
-
-  /**
-   * Moves agents across the grid based on their vision and metabolism.
-   */
-  private void moveAgents() {
-    for (int i = 0; i < myGrid.getRows(); i++) {
-      for (int j = 0; j < myGrid.getColumns(); j++) {
-        Cell cell = myGrid.getCell(i, j);
-        if (cell instanceof SugarscapePatch) {
-          SugarscapePatch patch = (SugarscapePatch) cell;
-          if (patch.hasAgent()) {
-            SugarscapeAgent agent = patch.getAgent();
-            List<SugarscapePatch> visionPatches = myGrid.getNeighbors(i, j).stream()
-                .filter(c -> c instanceof SugarscapePatch)
-                .map(c -> (SugarscapePatch) c)
-                .collect(Collectors.toList());
-            agent.move(visionPatches, patch, agentVision, agentMetabolism);
-          }
-        }
-      }
-    }
-    resetAgentMoves();
-  }
-
-  /**
-   * Resets agent movement status after each step.
-   */
-  private void resetAgentMoves() {
-    for (int i = 0; i < myGrid.getRows(); i++) {
-      for (int j = 0; j < myGrid.getColumns(); j++) {
-        Cell cell = myGrid.getCell(i, j);
-        SugarscapePatch patch = (SugarscapePatch) cell;
-        if (patch.hasAgent()) {
-          patch.getAgent().resetMovement();
-        }
-      }
-    }
+    engine.setWrapping(myGrid.wrapsAround());
+    engine.step();
   }
 
   @Override
@@ -134,6 +92,13 @@ public class SugarscapeRuleset extends Ruleset {
       }
     }
     initializeAgents();
+    engine = new SugarscapeEngine(rows, columns, agentVision, agentMetabolism, sugarGrowBackRate,
+        sugarGrowBackInterval);
+    for (int i = 0; i < myGrid.getRows(); i++) {
+      for (int j = 0; j < myGrid.getColumns(); j++) {
+        ((SugarscapePatch) myGrid.getCell(i, j)).bind(engine);
+      }
+    }
     return myGrid;
   }
 
@@ -154,6 +119,26 @@ public class SugarscapeRuleset extends Ruleset {
     }
   }
 
+  /**
+   * @return the engine holding the sugar and agents of the last grid created, or null
+   */
+  public SugarscapeEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Writes the engine, which holds the sugar, the agents and the tick of the last grid created.
+   */
+  @Override
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    engine.writeCheckpoint(out);
+  }
+
+  @Override
+  public void readCheckpoint(DataInput in) throws IOException {
+    engine.readCheckpoint(in);
+  }
+
   /**
    * Gets the initial sugar values for the grid.
    *
@@ -172,6 +157,16 @@ public class SugarscapeRuleset extends Ruleset {
     this.initialValues = initialValues;
   }
 
+  /**
+   * Sugarscape patches hold sugar and agents, so they can not be stored compactly.
+   *
+   * @return true
+   */
+  @Override
+  public boolean requiresCellObjects() {
+    return true;
+  }
+
   /**
    * Returns the default state for a cell in the Sugarscape simulation.
    *
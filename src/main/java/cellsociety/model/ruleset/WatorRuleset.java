@@ -4,13 +4,20 @@ import cellsociety.model.agent.WatorAgent;
 import cellsociety.model.cell.Cell;
 import cellsociety.model.cell.WatorCell;
 import cellsociety.model.cell.WatorCell.WatorState;
+import cellsociety.model.engine.WatorEngine;
 import cellsociety.model.factory.WatorAgentFactory;
+import cellsociety.model.grid.Checkpoints;
 import cellsociety.model.grid.Grid;
 import cellsociety.model.grid.WatorGrid;
+import cellsociety.model.grid.storage.StorageType;
 import cellsociety.model.state.CellState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * Author: Daniel Rodriguez-Florido The back-end ruleset logic to preform the WatorWorld Simulation
@@ -20,7 +27,13 @@ import java.util.Map;
 
 public class WatorRuleset extends Ruleset {
 
+  private static final String FISH_BREED_PARAM_NAME = "fishBreedTime";
+  private static final String SHARK_BREED_PARAM_NAME = "sharkBreedTime";
+  private static final String SHARK_ENERGY_GAIN_NAME = "sharkEnergyGain";
+
+  private final Map<String, String> params;
   private final WatorAgentFactory agentFactory;
+  private final Random random = new Random();
   private WatorGrid myGrid;
 
   /**
@@ -31,9 +44,27 @@ public class WatorRuleset extends Ruleset {
    */
   public WatorRuleset(Map<String, String> params) {
     super();
+    this.params = params;
     agentFactory = new WatorAgentFactory(params);
   }
 
+  /**
+   * Creates the array-based engine used for grids with compact storage, with the same breeding
+   * and energy parameters as the agents of this ruleset.
+   *
+   * @param rows    The amount of rows in the ocean
+   * @param columns The amount of columns in the ocean
+   * @return A new engine holding plain water, drawing from the ruleset's random generator
+   */
+  public WatorEngine createEngine(int rows, int columns) {
+    WatorEngine engine = new WatorEngine(rows, columns,
+        Integer.parseInt(params.getOrDefault(FISH_BREED_PARAM_NAME, "5")),
+        Integer.parseInt(params.getOrDefault(SHARK_BREED_PARAM_NAME, "3")),
+        Integer.parseInt(params.getOrDefault(SHARK_ENERGY_GAIN_NAME, "5")));
+    engine.setRandom(random);
+    return engine;
+  }
+
   /**
    * Dummy function in this implementation, used for others (strategy pattern)
    */
@@ -42,7 +73,8 @@ public class WatorRuleset extends Ruleset {
   }
 
   /**
-   * Updates sharks, then fish, and maintains any unaffected cell.
+   * Updates sharks, then fish. Cells that are left unaffected keep their state when the grid
+   * commits the generation.
    */
   @Override
   public void updateGridState() {
@@ -68,7 +100,6 @@ public class WatorRuleset extends Ruleset {
     }
 
     killDeadCells();
-    maintainRestOfGrid(myGrid);
   }
 
   /**
@@ -82,7 +113,7 @@ public class WatorRuleset extends Ruleset {
     List<Cell> neighbors = myGrid.getNeighbors(cellRow, cellCol);
     if (cell.getAgent() != null) {
       WatorAgent agent = cell.getAgent();
-      agent.move(neighbors);
+      agent.move(neighbors, random);
     }
   }
 
@@ -124,6 +155,9 @@ public class WatorRuleset extends Ruleset {
       for (int j = 0; j < myGrid.getColumns(); j++) {
         WatorCell currCell = (WatorCell) myGrid.getCell(i, j);
         if (isCellDead(currCell)) {
+          if (hasStarved(currCell)) {
+            agentFactory.releaseWatorAgent(currCell.getAgent());
+          }
           currCell.setNextState(WatorState.WATER);
           currCell.setAgent(null);
         }
@@ -147,6 +181,19 @@ public class WatorRuleset extends Ruleset {
     return cell.getAgent().getEnergy() == 0;
   }
 
+  /**
+   * Checks whether a cell holds an agent that ran out of energy in it. Only such agents are gone
+   * from the grid for good: an agent that merely left the cell is still referenced from the cell
+   * it moved to.
+   *
+   * @param cell The dead cell
+   * @return Whether the cell's agent can be handed back to the factory
+   */
+  private boolean hasStarved(WatorCell cell) {
+    return cell.getAgent() != null && cell.getNextState() != null
+        && cell.getAgent().getEnergy() == 0;
+  }
+
   /**
    * Creates the grid for WatorWorld
    *
@@ -158,7 +205,9 @@ public class WatorRuleset extends Ruleset {
   @Override
   public Grid createGrid(int rows, int columns, String[] initialStates) {
     myGrid = new WatorGrid(rows, columns, this, initialStates);
-    initializeAgents();
+    if (!myGrid.usesCompactStorage()) {
+      initializeAgents();
+    }
     return myGrid;
   }
 
@@ -176,9 +225,31 @@ public class WatorRuleset extends Ruleset {
     }
   }
 
+  /**
+   * Records the random generator shared by the agents' moves and the engines of this ruleset.
+   */
+  @Override
+  public void writeCheckpoint(DataOutput out) throws IOException {
+    Checkpoints.writeRandom(out, random);
+  }
+
+  @Override
+  public void readCheckpoint(DataInput in) throws IOException {
+    Checkpoints.readRandom(in, random);
+  }
+
   @Override
   public CellState getDefaultCellState() {
     return WatorState.WATER;
   }
 
+  /**
+   * WatorCells hold the agents of the simulation. With compact storage the agents live in a
+   * {@link WatorEngine} instead, so only the object storage needs cells.
+   */
+  @Override
+  public boolean requiresCellObjects() {
+    return getStorageType() != StorageType.COMPACT;
+  }
+
 }
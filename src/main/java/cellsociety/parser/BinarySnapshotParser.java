@@ -0,0 +1,394 @@
+package cellsociety.parser;
+
+import cellsociety.model.grid.Grid;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser for the binary snapshots written by {@link BinarySnapshotWriter}.
+ * <p>
+ * A snapshot starts with a magic number, a format version and the length of a header holding the
+ * settings of the simulation and its table of state symbols. The state plane follows, then the
+ * value planes, each starting on a multiple of eight bytes. Opening a snapshot reads the header
+ * and memory-maps the planes with {@link FileChannel#map}, so it takes the same time whatever the
+ * size of the board: the operating system pages cells in when they are first read, through
+ * {@link #getStateCode(int)} and {@link #getValue(String, int)}, or all at once when a grid is
+ * built from {@link #getInitialStates()}.
+ * </p>
+ * <p>
+ * Since version 2 the planes are followed by a checkpoint of the agents, engines and random
+ * generators of the grid, and the header records the generation the snapshot was taken at.
+ * {@link cellsociety.model.factory.GridFactory} restores the checkpoint into every grid it builds
+ * from a snapshot, streaming it from the file. Version 1 snapshots still open, without one.
+ * </p>
+ *
+ * @author Luke
+ */
+public class BinarySnapshotParser extends Parser {
+
+  /**
+   * File name extension of binary snapshots.
+   */
+  public static final String EXTENSION = ".csnap";
+
+  static final int MAGIC = 0x43534E50;
+  static final int VERSION = 2;
+  static final int PREAMBLE_BYTES = 3 * Integer.BYTES;
+  static final String VALUES_PLANE = "values";
+  private static final int ALIGNMENT = 8;
+
+  private final String simType;
+  private final String title;
+  private final String author;
+  private final String description;
+  private final int width;
+  private final int height;
+  private final int rows;
+  private final int columns;
+  private final String edgeType;
+  private final String neighborhoodType;
+  private final String cellShape;
+  private final String storageType;
+  private final int threads;
+  private final Map<String, String> simVarsMap = new HashMap<>();
+  private final String[] symbols;
+  private final int bitsPerCell;
+  private final MappedByteBuffer states;
+  private final Map<String, IntBuffer> valuePlanes = new LinkedHashMap<>();
+  private final File file;
+  private long generation;
+  private long checkpointOffset = -1;
+
+  /**
+   * Opens a snapshot and maps its planes.
+   *
+   * @param file the snapshot to open
+   * @throws IOException              if the file cannot be read or mapped
+   * @throws IllegalArgumentException if the file is not a snapshot of a supported version or is
+   *                                  truncated
+   */
+  public BinarySnapshotParser(File file) throws IOException {
+    this.file = file;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < PREAMBLE_BYTES) {
+        throw new IllegalArgumentException("Not a simulation snapshot: " + file.getName());
+      }
+      ByteBuffer preamble = channel.map(MapMode.READ_ONLY, 0, PREAMBLE_BYTES);
+      if (preamble.getInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a simulation snapshot: " + file.getName());
+      }
+      int version = preamble.getInt();
+      if (version < 1 || version > VERSION) {
+        throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+      }
+      int headerLength = preamble.getInt();
+      if (headerLength < 0 || PREAMBLE_BYTES + (long) headerLength > size) {
+        throw new IllegalArgumentException("Snapshot is truncated: " + file.getName());
+      }
+      ByteBuffer header = channel.map(MapMode.READ_ONLY, PREAMBLE_BYTES, headerLength);
+      try {
+        simType = readString(header);
+        if (!validateSimulation(simType)) {
+          throw new IllegalArgumentException("Invalid simulation type: " + simType);
+        }
+        title = readString(header);
+        author = readString(header);
+        description = readString(header);
+        width = header.getInt();
+        height = header.getInt();
+        rows = header.getInt();
+        columns = header.getInt();
+        if (rows <= 0 || columns <= 0 || (long) rows * columns > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Invalid snapshot size: " + rows + "x" + columns);
+        }
+        edgeType = readString(header);
+        neighborhoodType = readString(header);
+        cellShape = readString(header);
+        storageType = readString(header);
+        threads = header.getInt();
+        int simVarCount = header.getInt();
+        for (int i = 0; i < simVarCount; i++) {
+          simVarsMap.put(readString(header), readString(header));
+        }
+        symbols = new String[header.getInt()];
+        for (int code = 0; code < symbols.length; code++) {
+          symbols[code] = readString(header);
+          if (!isInSimulation(symbols[code], simType)) {
+            throw new IllegalArgumentException("Invalid cell state: " + symbols[code]);
+          }
+        }
+        bitsPerCell = header.get();
+        if (bitsPerCell != 1 && bitsPerCell != Byte.SIZE) {
+          throw new IllegalArgumentException("Unsupported state plane: " + bitsPerCell + " bits");
+        }
+
+        int cells = rows * columns;
+        long offset = align(PREAMBLE_BYTES + (long) headerLength);
+        long stateBytes = statePlaneBytes(cells, bitsPerCell);
+        checkFits(offset, stateBytes, size, file);
+        states = channel.map(MapMode.READ_ONLY, offset, stateBytes);
+        offset = align(offset + stateBytes);
+
+        int planeCount = header.getInt();
+        long planeBytes = (long) cells * Integer.BYTES;
+        for (int i = 0; i < planeCount; i++) {
+          String name = readString(header);
+          checkFits(offset, planeBytes, size, file);
+          if (planeBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value plane is too large to map: " + name);
+          }
+          valuePlanes.put(name, channel.map(MapMode.READ_ONLY, offset, planeBytes).asIntBuffer());
+          offset = align(offset + planeBytes);
+        }
+        if (version >= 2) {
+          generation = header.getLong();
+          if (header.get() != 0) {
+            checkpointOffset = offset;
+            checkFits(offset, Integer.BYTES, size, file);
+            if (channel.map(MapMode.READ_ONLY, size - Integer.BYTES, Integer.BYTES).getInt()
+                != MAGIC) {
+              throw new IllegalArgumentException("Snapshot is truncated: " + file.getName());
+            }
+          }
+        }
+      } catch (BufferUnderflowException e) {
+        throw new IllegalArgumentException("Snapshot header is truncated: " + file.getName());
+      }
+    }
+  }
+
+  /**
+   * @param offset a position in a snapshot
+   * @return the position rounded up to the next plane boundary
+   */
+  static long align(long offset) {
+    return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+  }
+
+  /**
+   * @param cells       the number of cells in the grid
+   * @param bitsPerCell 1 for a bit-packed plane, 8 for one byte per cell
+   * @return the size of the state plane in bytes
+   */
+  static long statePlaneBytes(int cells, int bitsPerCell) {
+    return bitsPerCell == 1 ? (cells + 7L) / 8 : cells;
+  }
+
+  private static void checkFits(long offset, long length, long size, File file) {
+    if (offset + length > size) {
+      throw new IllegalArgumentException("Snapshot is truncated: " + file.getName());
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return true if the snapshot holds a checkpoint to restore into a grid built from it
+   */
+  public boolean hasCheckpoint() {
+    return checkpointOffset >= 0;
+  }
+
+  /**
+   * Streams the checkpoint of the snapshot into a grid built from its settings and states.
+   *
+   * @param grid the grid to restore
+   * @throws IOException if the checkpoint cannot be read or does not fit the grid
+   */
+  public void restoreCheckpoint(Grid grid) throws IOException {
+    if (!hasCheckpoint()) {
+      return;
+    }
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file.toPath()), 1 << 16))) {
+      in.skipNBytes(checkpointOffset);
+      grid.readCheckpoint(in);
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Checkpoint of " + file.getName() + " does not fit its grid");
+      }
+    }
+  }
+
+  /**
+   * Reads the state of one cell from the mapped plane.
+   *
+   * @param id the row-major id of the cell
+   * @return the index of the cell's state in {@link #getStateSymbols()}
+   * @throws IllegalArgumentException if the plane holds a code with no symbol
+   */
+  public int getStateCode(int id) {
+    int code = bitsPerCell == 1 ? states.get(id >>> 3) >>> (id & 7) & 1 : states.get(id);
+    return checkCode(code, id);
+  }
+
+  private int checkCode(int code, int id) {
+    if (code < 0 || code >= symbols.length) {
+      throw new IllegalArgumentException(
+          "Corrupt state plane: cell " + id + " has state code " + code);
+    }
+    return code;
+  }
+
+  /**
+   * @return true, since the state plane already holds state codes
+   */
+  public boolean hasStateCodes() {
+    return true;
+  }
+
+  /**
+   * Copies the mapped state plane straight into a plane of codes, unpacking it if it is
+   * bit-packed.
+   *
+   * @param plane the array to fill, at least {@code getRows() * getColumns()} long
+   * @throws IllegalArgumentException if the plane holds a code with no symbol
+   */
+  public void readStateCodes(byte[] plane) {
+    int cells = rows * columns;
+    if (bitsPerCell == 1) {
+      for (int id = 0; id < cells; id++) {
+        plane[id] = (byte) (states.get(id >>> 3) >>> (id & 7) & 1);
+      }
+    } else {
+      states.get(0, plane, 0, cells);
+    }
+    for (int id = 0; id < cells; id++) {
+      checkCode(plane[id], id);
+    }
+  }
+
+  /**
+   * @return the state symbol of every state code
+   */
+  public String[] getStateSymbols() {
+    return symbols.clone();
+  }
+
+  /**
+   * Reads one value of a cell from a mapped value plane.
+   *
+   * @param plane the name of the plane
+   * @param id    the row-major id of the cell
+   * @return the value, or 0 if the snapshot has no such plane
+   */
+  public int getValue(String plane, int id) {
+    IntBuffer values = valuePlanes.get(plane);
+    return values == null ? 0 : values.get(id);
+  }
+
+  /**
+   * @return true if the snapshot has a value plane of that name
+   */
+  public boolean hasValuePlane(String plane) {
+    return valuePlanes.containsKey(plane);
+  }
+
+  /**
+   * Expands the state plane into symbols, reading the whole plane. Cells with the same state share
+   * one string.
+   *
+   * @return the state symbol of every cell in row-major order
+   */
+  public String[] getInitialStates() {
+    String[] cells = new String[rows * columns];
+    for (int id = 0; id < cells.length; id++) {
+      cells[id] = symbols[getStateCode(id)];
+    }
+    return cells;
+  }
+
+  public int[] getValues() {
+    int[] values = new int[rows * columns];
+    IntBuffer plane = valuePlanes.get(VALUES_PLANE);
+    if (plane != null) {
+      plane.get(0, values);
+    }
+    return values;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getSimType() {
+    return simType;
+  }
+
+  public String getAuthor() {
+    return author;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public Map<String, String> getSimVarsMap() {
+    return simVarsMap;
+  }
+
+  public String getEdgeType() {
+    return edgeType;
+  }
+
+  public String getNeighborhoodType() {
+    return neighborhoodType;
+  }
+
+  public String getCellShape() {
+    return cellShape;
+  }
+
+  public String getStorageType() {
+    return storageType;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * @return the generation the snapshot was taken at, 0 for version 1 snapshots
+   */
+  public long getGeneration() {
+    return generation;
+  }
+}
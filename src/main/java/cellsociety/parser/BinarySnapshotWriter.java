@@ -0,0 +1,199 @@
+package cellsociety.parser;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.grid.Grid;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the current state of a grid as a binary snapshot that {@link BinarySnapshotParser} loads
+ * by memory-mapping it.
+ * <p>
+ * The header carries everything {@link XMLConfigWriter} would write apart from the cells: display
+ * settings, grid attributes and simulation variables, copied from the file the simulation was
+ * started from, plus the table of state symbols. The cells follow as one state plane, holding one
+ * bit per cell when the grid has at most two states and one byte per cell otherwise, and one value
+ * plane of ints when the cells carry an amount (the sugar of Sugarscape patches).
+ * </p>
+ * <p>
+ * After the planes comes a checkpoint of everything else the next generations depend on, written
+ * by {@link Grid#writeCheckpoint}: agents with their energy and timers, engine counters and the
+ * state of the random generators. It is streamed straight from the grid and closed by the magic
+ * number again, so a file cut short is detected when it is opened. A simulation loaded from the
+ * snapshot continues exactly as the one it was taken from.
+ * </p>
+ *
+ * @author Luke
+ */
+public class BinarySnapshotWriter {
+
+  private final Parser source;
+  private String title;
+  private long generation;
+
+  /**
+   * @param source the parser of the file the simulation was loaded from
+   */
+  public BinarySnapshotWriter(Parser source) {
+    this.source = source;
+    this.title = source.getTitle();
+  }
+
+  /**
+   * Replaces the title copied from the source file.
+   *
+   * @param title the title to store, ignored if blank
+   */
+  public void setTitle(String title) {
+    if (title != null && !title.isBlank()) {
+      this.title = title;
+    }
+  }
+
+  /**
+   * @param generation the number of generations the grid has been stepped, stored so a restored
+   *                   run keeps counting from it
+   */
+  public void setGeneration(long generation) {
+    this.generation = generation;
+  }
+
+  /**
+   * Writes the grid and its checkpoint to a file. Must be called between generations, on the
+   * thread that steps the grid.
+   *
+   * @param grid the grid whose current states are written
+   * @param file the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Grid grid, File file) throws IOException {
+    int rows = grid.getRows();
+    int columns = grid.getColumns();
+    int cells = rows * columns;
+    List<String> symbols = new ArrayList<>();
+    byte[] codes = new byte[cells];
+    int[] values = null;
+    for (int id = 0; id < cells; id++) {
+      String symbol = grid.getStateSymbol(id / columns, id % columns);
+      int code = symbols.indexOf(symbol);
+      if (code < 0) {
+        code = symbols.size();
+        symbols.add(symbol);
+      }
+      codes[id] = (byte) code;
+      Cell cell = grid.getCell(id / columns, id % columns);
+      if (cell instanceof SugarscapePatch patch) {
+        if (values == null) {
+          values = new int[cells];
+        }
+        values[id] = patch.getSugarAmount();
+      }
+    }
+    int bitsPerCell = symbols.size() <= 2 ? 1 : Byte.SIZE;
+    byte[] header = createHeader(grid, symbols, bitsPerCell, values != null);
+
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file.toPath()), 1 << 16))) {
+      out.writeInt(BinarySnapshotParser.MAGIC);
+      out.writeInt(BinarySnapshotParser.VERSION);
+      out.writeInt(header.length);
+      out.write(header);
+      long offset = BinarySnapshotParser.PREAMBLE_BYTES + header.length;
+      offset = pad(out, offset);
+      if (bitsPerCell == 1) {
+        writeBits(out, codes);
+      } else {
+        out.write(codes);
+      }
+      offset = pad(out, offset + BinarySnapshotParser.statePlaneBytes(cells, bitsPerCell));
+      if (values != null) {
+        for (int value : values) {
+          out.writeInt(value);
+        }
+        pad(out, offset + (long) cells * Integer.BYTES);
+      }
+      grid.writeCheckpoint(out);
+      out.writeInt(BinarySnapshotParser.MAGIC);
+    }
+  }
+
+  private byte[] createHeader(Grid grid, List<String> symbols, int bitsPerCell,
+      boolean hasValues) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream header = new DataOutputStream(bytes);
+    writeString(header, source.getSimType());
+    writeString(header, title);
+    writeString(header, source.getAuthor());
+    writeString(header, source.getDescription());
+    header.writeInt(source.getWidth());
+    header.writeInt(source.getHeight());
+    header.writeInt(grid.getRows());
+    header.writeInt(grid.getColumns());
+    writeString(header, source.getEdgeType());
+    writeString(header, source.getNeighborhoodType());
+    writeString(header, source.getCellShape());
+    writeString(header, source.getStorageType());
+    header.writeInt(source.getThreads());
+    Map<String, String> simVars = source.getSimVarsMap();
+    header.writeInt(simVars.size());
+    for (Map.Entry<String, String> entry : simVars.entrySet()) {
+      writeString(header, entry.getKey());
+      writeString(header, entry.getValue());
+    }
+    header.writeInt(symbols.size());
+    for (String symbol : symbols) {
+      writeString(header, symbol);
+    }
+    header.writeByte(bitsPerCell);
+    header.writeInt(hasValues ? 1 : 0);
+    if (hasValues) {
+      writeString(header, BinarySnapshotParser.VALUES_PLANE);
+    }
+    header.writeLong(generation);
+    header.writeBoolean(true);
+    header.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Packs the codes of a two-state grid eight cells to a byte, the first cell in the lowest bit.
+   */
+  private static void writeBits(OutputStream out, byte[] codes) throws IOException {
+    byte[] packed = new byte[(codes.length + 7) / 8];
+    for (int id = 0; id < codes.length; id++) {
+      if (codes[id] != 0) {
+        packed[id >>> 3] |= (byte) (1 << (id & 7));
+      }
+    }
+    out.write(packed);
+  }
+
+  /**
+   * Pads the file with zeros so the next plane starts on a multiple of eight bytes.
+   *
+   * @return the offset of the next plane
+   */
+  private static long pad(OutputStream out, long offset) throws IOException {
+    long aligned = BinarySnapshotParser.align(offset);
+    for (long i = offset; i < aligned; i++) {
+      out.write(0);
+    }
+    return aligned;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -47,6 +47,22 @@ public class GeneralConwayParser {
     }
   }
 
+  /**
+   * Packs a set of neighbor counts into a bit mask where bit n is set if n is in the set
+   *
+   * @param counts The neighbor counts
+   * @return The bit mask of the counts
+   */
+  public static int toMask(Set<Integer> counts) {
+    int mask = 0;
+    for (int count : counts) {
+      if (count >= 0 && count < Integer.SIZE) {
+        mask |= 1 << count;
+      }
+    }
+    return mask;
+  }
+
   private static void parseSBNotation(String ruleString, Set<Integer> birthVals,
       Set<Integer> survivalVals) {
     Pattern pattern = Pattern.compile("(\\d*)/(\\d*)");
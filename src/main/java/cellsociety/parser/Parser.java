@@ -17,6 +17,16 @@ public abstract class Parser {
       "GeneralConway", Set.of("D", "A"),
       "Sugarscape", Set.of("PATCH", "AGENT")
   );
+  private final static Map<String, String> defaultStatesMap = Map.of(
+      "Conway", "D",
+      "GameOfLife", "D",
+      "Fire", "E",
+      "Percolation", "O",
+      "Segregation", "EM",
+      "WatorWorld", "W",
+      "GeneralConway", "D",
+      "Sugarscape", "PATCH"
+  );
   private final static Set<String> requiresValues = Set.of("Sugarscape");
 
   public Parser() {
@@ -34,6 +44,62 @@ public abstract class Parser {
     return requiresValues.contains(state);
   }
 
+  /**
+   * Returns the state symbol that fills the cells a random configuration does not assign.
+   * <p>
+   * Sugarscape defaults to "PATCH", the symbol its state lists and grids use. The lookup this
+   * replaces returned "Patch", which no Sugarscape grid accepted. "GameOfLife" is still accepted
+   * as another name for Conway.
+   * </p>
+   *
+   * @param simType the simulation type (e.g., "Conway", "Fire")
+   * @return the default state symbol for the simulation
+   * @throws IllegalArgumentException if the simulation type is unknown
+   */
+  public static String getDefaultState(String simType) {
+    String state = defaultStatesMap.get(simType);
+    if (state == null) {
+      throw new IllegalArgumentException("Unknown simulation type: " + simType);
+    }
+    return state;
+  }
+
+  /**
+   * Validates that a probability value is a number between 0 and 1.
+   *
+   * @param value the probability value as a string
+   * @throws IllegalArgumentException if the value is not a valid probability
+   */
+  protected static void validateProbability(String value) {
+    double prob;
+    try {
+      prob = Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid probability value: " + value);
+    }
+    if (prob < 0 || prob > 1) {
+      throw new IllegalArgumentException("Probability must be between 0 and 1: " + value);
+    }
+  }
+
+  /**
+   * Validates that a count, such as how far Sugarscape agents see, is a non-negative integer.
+   *
+   * @param value the count as a string
+   * @throws IllegalArgumentException if the value is not a valid count
+   */
+  protected static void validateCount(String value) {
+    int count;
+    try {
+      count = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid count value: " + value);
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative: " + value);
+    }
+  }
+
   public abstract int getWidth();
 
   public abstract int getHeight();
@@ -50,5 +116,58 @@ public abstract class Parser {
 
   public abstract Map<String, String> getSimVarsMap();
 
+  public abstract String getDescription();
+
+  public abstract String getAuthor();
+
+  /**
+   * @return the per-cell values of the state list (sugar for Sugarscape patches)
+   */
+  public abstract int[] getValues();
+
+  public abstract String getEdgeType();
+
+  public abstract String getNeighborhoodType();
+
+  public abstract String getCellShape();
+
+  public abstract String getStorageType();
+
+  public abstract int getThreads();
+
+  /**
+   * @return true if the initial states can be read as compact codes through
+   * {@link #readStateCodes}, so grids with compact storage never need one symbol per cell
+   */
+  public boolean hasStateCodes() {
+    return false;
+  }
+
+  /**
+   * @return the state symbol of every compact state code
+   * @throws UnsupportedOperationException if {@link #hasStateCodes()} is false
+   */
+  public String[] getStateSymbols() {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " has no state codes");
+  }
+
+  /**
+   * Writes the initial state of every cell in row-major order, as an index into
+   * {@link #getStateSymbols()}.
+   *
+   * @param plane the array to fill, at least {@code getRows() * getColumns()} long
+   * @throws UnsupportedOperationException if {@link #hasStateCodes()} is false
+   */
+  public void readStateCodes(byte[] plane) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " has no state codes");
+  }
+
+  /**
+   * @return the generation the file was saved at, so a resumed run keeps counting from it; 0 for
+   * files that start a run
+   */
+  public long getGeneration() {
+    return 0;
+  }
 
 }
@@ -0,0 +1,31 @@
+package cellsociety.parser;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Factory that picks the {@link Parser} for a simulation file from its name: binary snapshots and
+ * RLE patterns by their extension, and the XML format for anything else.
+ */
+public class ParserFactory {
+
+  /**
+   * Parses a simulation file with the parser its extension calls for.
+   *
+   * @param file the file to parse
+   * @return the parser, holding the parsed file
+   * @throws InvalidXMLConfigurationException if an XML file is not a valid simulation file
+   * @throws IOException                      if a snapshot or pattern cannot be read
+   */
+  public static Parser createParser(File file)
+      throws InvalidXMLConfigurationException, IOException {
+    String name = file.getName().toLowerCase();
+    if (name.endsWith(BinarySnapshotParser.EXTENSION)) {
+      return new BinarySnapshotParser(file);
+    }
+    if (name.endsWith(RLEParser.EXTENSION)) {
+      return new RLEParser(file);
+    }
+    return new StreamingXMLParser(file);
+  }
+}
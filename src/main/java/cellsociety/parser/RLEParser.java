@@ -0,0 +1,300 @@
+package cellsociety.parser;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parser for patterns in the run-length encoded format used by Golly and most Life pattern
+ * collections (.rle files).
+ * <p>
+ * The file starts with optional {@code #N} (name), {@code #O} (author) and {@code #C} (comment)
+ * lines, then a header such as {@code x = 3, y = 3, rule = B3/S23}, then the cells: {@code b} or
+ * {@code .} for a dead cell, {@code o} or {@code A} for a live one, {@code $} for the end of a row
+ * and {@code !} for the end of the pattern, each optionally preceded by a run count. The cells are
+ * decoded one character at a time straight into a byte array of state codes (0 for dead, 1 for
+ * alive), so a run of a million dead cells costs nothing but the array it fills.
+ * </p>
+ * <p>
+ * Patterns with the B3/S23 rule run as Conway simulations and any other rule as GeneralConway. The
+ * board is the size of the header's bounding box on a torus, unless a Golly {@code :T} suffix on
+ * the rule asks for a larger torus.
+ * </p>
+ *
+ * @author Luke
+ */
+public class RLEParser extends Parser {
+
+  /**
+   * File name extension of RLE patterns.
+   */
+  public static final String EXTENSION = ".rle";
+
+  private static final String[] SYMBOLS = {"D", "A"};
+  private static final String CONWAY_RULE = "B3/S23";
+  private static final int DISPLAY_SIZE = 800;
+
+  private String title;
+  private String author = "Unknown";
+  private final StringBuilder description = new StringBuilder();
+  private int rows;
+  private int columns;
+  private String simType = "Conway";
+  private final Map<String, String> simVarsMap = new HashMap<>();
+  private byte[] codes;
+
+  /**
+   * Constructs an RLEParser and decodes the provided pattern file.
+   *
+   * @param file the .rle file to be parsed
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a valid RLE pattern
+   */
+  public RLEParser(File file) throws IOException {
+    String name = file.getName();
+    title = name.endsWith(EXTENSION) ? name.substring(0, name.length() - EXTENSION.length())
+        : name;
+    try (BufferedReader reader = Files.newBufferedReader(file.toPath(),
+        StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.startsWith("#")) {
+          readComment(line);
+        } else if (!line.isEmpty()) {
+          readHeader(line);
+          break;
+        }
+      }
+      if (codes == null) {
+        throw new IllegalArgumentException("Missing RLE header in " + name);
+      }
+      readCells(reader);
+    }
+    if (description.isEmpty()) {
+      description.append("Imported from ").append(name);
+    }
+  }
+
+  private void readComment(String line) {
+    if (line.length() < 2) {
+      return;
+    }
+    String text = line.substring(2).trim();
+    switch (line.charAt(1)) {
+      case 'N' -> title = text.isEmpty() ? title : text;
+      case 'O' -> author = text.isEmpty() ? author : text;
+      case 'C', 'c' -> description.append(description.isEmpty() ? "" : " ").append(text);
+      default -> {
+      }
+    }
+  }
+
+  /**
+   * Reads the pattern size and rule, then allocates the board.
+   */
+  private void readHeader(String line) {
+    int width = -1;
+    int height = -1;
+    String rule = CONWAY_RULE;
+    for (String field : line.split(",(?=\\s*[a-zA-Z]+\\s*=)")) {
+      String[] keyValue = field.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException("Invalid RLE header: " + line);
+      }
+      String value = keyValue[1].trim();
+      switch (keyValue[0].trim()) {
+        case "x" -> width = parseSize(value, line);
+        case "y" -> height = parseSize(value, line);
+        case "rule" -> rule = value;
+        default -> {
+        }
+      }
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid RLE header: " + line);
+    }
+    int torus = rule.indexOf(":T");
+    if (torus >= 0) {
+      String[] size = rule.substring(torus + 2).split(",");
+      width = Math.max(width, parseSize(size[0], line));
+      height = Math.max(height, size.length > 1 ? parseSize(size[1], line) : width);
+    }
+    if (rule.indexOf(':') >= 0) {
+      rule = rule.substring(0, rule.indexOf(':'));
+    }
+    rule = rule.toUpperCase();
+    if (!rule.equals(CONWAY_RULE)) {
+      simType = "GeneralConway";
+      simVarsMap.put("rules", rule);
+    }
+    if ((long) width * height > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Pattern is too large: " + width + "x" + height);
+    }
+    rows = height;
+    columns = width;
+    codes = new byte[rows * columns];
+  }
+
+  private static int parseSize(String value, String line) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid RLE header: " + line);
+    }
+  }
+
+  /**
+   * Decodes the cells until {@code !} or the end of the file. Dead cells only move the cursor,
+   * since the board starts out dead.
+   */
+  private void readCells(Reader reader) throws IOException {
+    char[] buffer = new char[1 << 16];
+    int row = 0;
+    int col = 0;
+    long count = 0;
+    int read;
+    while ((read = reader.read(buffer)) > 0) {
+      for (int i = 0; i < read; i++) {
+        char c = buffer[i];
+        if (c >= '0' && c <= '9') {
+          count = Math.min(count * 10 + (c - '0'), Integer.MAX_VALUE);
+          continue;
+        }
+        if (Character.isWhitespace(c)) {
+          continue;
+        }
+        int run = count == 0 ? 1 : (int) count;
+        count = 0;
+        switch (c) {
+          case 'b', '.' -> col += run;
+          case 'o', 'A' -> {
+            if (row >= rows || col + (long) run > columns) {
+              throw new IllegalArgumentException(
+                  "Pattern exceeds its declared size at row " + row + ", column " + col);
+            }
+            int start = row * columns + col;
+            Arrays.fill(codes, start, start + run, (byte) 1);
+            col += run;
+          }
+          case '$' -> {
+            row += run;
+            col = 0;
+          }
+          case '!' -> {
+            return;
+          }
+          default -> throw new IllegalArgumentException("Unsupported RLE cell state: " + c);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the state code of every cell in row-major order, 0 for dead and 1 for alive
+   */
+  public byte[] getStateCodes() {
+    return codes;
+  }
+
+  /**
+   * @return the state symbol of every state code
+   */
+  public String[] getStateSymbols() {
+    return SYMBOLS.clone();
+  }
+
+  /**
+   * @return true, since patterns are decoded straight into state codes
+   */
+  public boolean hasStateCodes() {
+    return true;
+  }
+
+  public void readStateCodes(byte[] plane) {
+    System.arraycopy(codes, 0, plane, 0, codes.length);
+  }
+
+  /**
+   * Expands the state codes into symbols. Cells with the same state share one string, so the array
+   * costs one reference per cell.
+   *
+   * @return the state symbol of every cell in row-major order
+   */
+  public String[] getInitialStates() {
+    String[] states = new String[codes.length];
+    for (int id = 0; id < codes.length; id++) {
+      states[id] = SYMBOLS[codes[id]];
+    }
+    return states;
+  }
+
+  public int[] getValues() {
+    return new int[codes.length];
+  }
+
+  public int getWidth() {
+    return DISPLAY_SIZE;
+  }
+
+  public int getHeight() {
+    return DISPLAY_SIZE;
+  }
+
+  public String getDescription() {
+    return description.toString();
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getSimType() {
+    return simType;
+  }
+
+  public String getAuthor() {
+    return author;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public Map<String, String> getSimVarsMap() {
+    return simVarsMap;
+  }
+
+  public String getEdgeType() {
+    return "Toroidal";
+  }
+
+  public String getNeighborhoodType() {
+    return "ExtendedMoore";
+  }
+
+  public String getCellShape() {
+    return "Rectangular";
+  }
+
+  /**
+   * @return compact storage, since RLE patterns hold nothing but live and dead cells
+   */
+  public String getStorageType() {
+    return "compact";
+  }
+
+  public int getThreads() {
+    return 1;
+  }
+}
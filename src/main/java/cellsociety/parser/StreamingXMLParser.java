@@ -0,0 +1,682 @@
+package cellsociety.parser;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Parser that reads the same simulation files as {@link XMLParser} in a single pass over a StAX
+ * event stream, without building a DOM, so boards with millions of cells load in about the memory
+ * the board itself takes.
+ * <p>
+ * The state list is scanned one character at a time. Each token is matched against a small table
+ * of the symbols seen so far and only its index in that table, a compact state code, is written to
+ * a byte array allocated once for the whole board; per-cell values go to an int array that only
+ * exists if the list has any. A token may start with a run length, as in {@code 120D,3A}, which
+ * fills that many cells at once. No string is created per cell, and the list is never cleaned up or
+ * split as a whole. A state list given as the {@code stateList} attribute of {@code init} is still
+ * handed over by StAX as one string; a {@code <stateList>} element inside {@code init} is streamed
+ * in chunks instead, which is what very large boards should use.
+ * </p>
+ * <p>
+ * Because the file may list the cells before naming the simulation, symbols are only checked
+ * against the simulation once the whole file was read.
+ * </p>
+ *
+ * @author Luke
+ */
+public class StreamingXMLParser extends Parser {
+
+  private static final int MISSING_VALUE = Integer.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private int width;
+  private int height;
+  private String title;
+  private int rows;
+  private int columns;
+  private String simType;
+  private String description;
+  private String author;
+  private Map<String, String> simVarsMap;
+  private String edgeType;
+  private String neighborhoodType;
+  private String cellShape;
+  private String storageType;
+  private int threads = 1;
+
+  private final List<String> symbols = new ArrayList<>();
+  private byte[] codes;
+  private int[] values;
+  private int cellCount;
+  private boolean hasRandomStates;
+  private boolean hasStateList;
+  private String proportions;
+  private final Map<String, Integer> randomCounts = new LinkedHashMap<>();
+  private final List<PendingPattern> patterns = new ArrayList<>();
+  private final List<String> seenElements = new ArrayList<>();
+
+  private final char[] token = new char[64];
+  private int tokenLength;
+  private int tokenColon = -1;
+
+  /**
+   * A pattern read from the file, applied once the grid size is known.
+   */
+  private record PendingPattern(String id, int startRow, int startCol, String stateList) {
+
+  }
+
+  /**
+   * Constructs a StreamingXMLParser and parses the provided XML file.
+   *
+   * @param file the XML file to be parsed
+   * @throws InvalidXMLConfigurationException if the XML file is not valid or parsing fails
+   */
+  public StreamingXMLParser(File file) throws InvalidXMLConfigurationException {
+    if (!file.getName().endsWith(".xml")) {
+      throw new IllegalArgumentException("File is not an XML file: " + file.getName());
+    }
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+      XMLStreamReader reader = factory.createXMLStreamReader(in);
+      try {
+        read(reader);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException | IOException e) {
+      throw new InvalidXMLConfigurationException("XML Parsing Error: " + e.getMessage());
+    }
+    finish();
+  }
+
+  /**
+   * Walks the event stream once, reading every element the format defines.
+   */
+  private void read(XMLStreamReader reader)
+      throws XMLStreamException, InvalidXMLConfigurationException {
+    while (reader.hasNext()) {
+      if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      String name = reader.getLocalName();
+      seenElements.add(name);
+      switch (name) {
+        case "display" -> readDisplay(reader);
+        case "grid" -> readGrid(reader);
+        case "description" -> description = requireText(reader, "text", "Description");
+        case "sim" -> {
+          simType = requiredAttribute(reader, "type");
+          if (!validateSimulation(simType)) {
+            throw new IllegalArgumentException("Invalid simulation type: " + simType);
+          }
+        }
+        case "simvars" -> readSimVars(reader);
+        case "init" -> readInit(reader);
+        case "stateList" -> {
+          startStateList();
+          while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            if (reader.isCharacters()) {
+              scan(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+          }
+          endStateList();
+        }
+        case "state" -> {
+          int count = requiredIntAttribute(reader, "count");
+          randomCounts.merge(reader.getElementText().trim(), count, Integer::sum);
+        }
+        case "pattern" -> patterns.add(new PendingPattern(requiredAttribute(reader, "id"),
+            requiredIntAttribute(reader, "startRow"), requiredIntAttribute(reader, "startCol"),
+            reader.getElementText().replaceAll("stateList\\s*=", "").replace("\"", "").trim()));
+        default -> {
+        }
+      }
+    }
+  }
+
+  private void readDisplay(XMLStreamReader reader) throws InvalidXMLConfigurationException {
+    width = requiredIntAttribute(reader, "width");
+    if (width <= 0) {
+      throw new InvalidXMLConfigurationException("Width must be a positive integer");
+    }
+    height = requiredIntAttribute(reader, "height");
+    if (height <= 0) {
+      throw new InvalidXMLConfigurationException("Height must be a positive integer");
+    }
+    title = requireText(reader, "title", "Title");
+    author = requireText(reader, "author", "Author");
+  }
+
+  private void readGrid(XMLStreamReader reader) throws InvalidXMLConfigurationException {
+    rows = requiredIntAttribute(reader, "rows");
+    if (rows <= 0) {
+      throw new InvalidXMLConfigurationException("Rows must be a positive integer");
+    }
+    columns = requiredIntAttribute(reader, "columns");
+    if (columns <= 0) {
+      throw new InvalidXMLConfigurationException("Columns must be a positive integer");
+    }
+    edgeType = optionalAttribute(reader, "edgeType");
+    neighborhoodType = optionalAttribute(reader, "neighborhoodType");
+    cellShape = optionalAttribute(reader, "cellShape");
+    storageType = optionalAttribute(reader, "storage");
+    if (!optionalAttribute(reader, "threads").isEmpty()) {
+      threads = requiredIntAttribute(reader, "threads");
+      if (threads <= 0) {
+        throw new InvalidXMLConfigurationException("Threads must be a positive integer");
+      }
+    }
+  }
+
+  private void readSimVars(XMLStreamReader reader) {
+    simVarsMap = new HashMap<>();
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      String name = reader.getAttributeLocalName(i);
+      String value = reader.getAttributeValue(i);
+      if (name.equals("probCatch") || name.equals("probGrow")) {
+        validateProbability(value);
+      } else if (name.equals("agentVision")) {
+        validateCount(value);
+      }
+      simVarsMap.put(name, value);
+    }
+  }
+
+  private void readInit(XMLStreamReader reader) {
+    hasRandomStates = "true".equalsIgnoreCase(optionalAttribute(reader, "randomStates"));
+    proportions = optionalAttribute(reader, "proportions");
+    String stateList = optionalAttribute(reader, "stateList");
+    if (!hasRandomStates && !stateList.isEmpty()) {
+      startStateList();
+      scan(stateList);
+      endStateList();
+    }
+  }
+
+  /**
+   * Allocates the board once, at its final size if the grid element was already read.
+   */
+  private void startStateList() {
+    hasStateList = true;
+    cellCount = 0;
+    values = null;
+    codes = new byte[rows > 0 && columns > 0 ? rows * columns : INITIAL_CAPACITY];
+    tokenLength = 0;
+    tokenColon = -1;
+  }
+
+  /**
+   * Scans a chunk of the state list. A token may span two chunks, so the current token is kept
+   * between calls. Whitespace is ignored anywhere, as {@link XMLParser} strips it.
+   */
+  private void scan(char[] chars, int start, int length) {
+    for (int i = start; i < start + length; i++) {
+      scan(chars[i]);
+    }
+  }
+
+  /**
+   * Scans a state list held in an attribute, reading it in place.
+   */
+  private void scan(CharSequence chars) {
+    for (int i = 0; i < chars.length(); i++) {
+      scan(chars.charAt(i));
+    }
+  }
+
+  private void scan(char c) {
+    if (c == ',') {
+      emitToken();
+    } else if (!Character.isWhitespace(c)) {
+      if (tokenLength == token.length) {
+        throw new IllegalArgumentException("Invalid token format: " + currentToken() + "...");
+      }
+      if (c == ':' && tokenColon < 0) {
+        tokenColon = tokenLength;
+      }
+      token[tokenLength++] = c;
+    }
+  }
+
+  private void endStateList() {
+    // A trailing comma does not add a cell, as with String.split.
+    if (tokenLength > 0) {
+      emitToken();
+    }
+  }
+
+  /**
+   * Writes the code and value of the current token into the board.
+   */
+  private void emitToken() {
+    int symbolStart = 0;
+    long run = 0;
+    while (symbolStart < tokenLength && Character.isDigit(token[symbolStart])) {
+      run = Math.min(run * 10 + Character.digit(token[symbolStart], 10), Integer.MAX_VALUE);
+      symbolStart++;
+    }
+    if (symbolStart == 0) {
+      run = 1;
+    }
+    int symbolEnd = tokenColon < 0 ? tokenLength : tokenColon;
+    if (symbolEnd <= symbolStart || run == 0) {
+      throw new IllegalArgumentException("Invalid cell state: " + currentToken());
+    }
+    byte code = codeOf(token, symbolStart, symbolEnd - symbolStart);
+    int end = reserve((int) run);
+    Arrays.fill(codes, cellCount, end, code);
+    if (tokenColon >= 0) {
+      if (values == null) {
+        values = new int[codes.length];
+        Arrays.fill(values, MISSING_VALUE);
+      } else if (values.length < codes.length) {
+        int oldLength = values.length;
+        values = Arrays.copyOf(values, codes.length);
+        Arrays.fill(values, oldLength, values.length, MISSING_VALUE);
+      }
+      Arrays.fill(values, cellCount, end, parseValue());
+    }
+    cellCount = end;
+    tokenLength = 0;
+    tokenColon = -1;
+  }
+
+  /**
+   * Makes room for a run of cells, growing the board only while the grid size is unknown.
+   *
+   * @return the index just past the run
+   */
+  private int reserve(int run) {
+    long end = (long) cellCount + run;
+    if (end > codes.length) {
+      if (rows > 0 && columns > 0) {
+        throw new IllegalArgumentException("Number of cell states exceeds grid size ("
+            + rows * columns + ").");
+      }
+      if (end > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("State list is too long");
+      }
+      codes = Arrays.copyOf(codes, (int) Math.min(Integer.MAX_VALUE,
+          Math.max(end, 2L * codes.length)));
+    }
+    return (int) end;
+  }
+
+  private int parseValue() {
+    int from = tokenColon + 1;
+    boolean negative = from < tokenLength && token[from] == '-';
+    if (negative) {
+      from++;
+    }
+    if (from == tokenLength) {
+      throw new IllegalArgumentException("Invalid numeric value for state: " + currentToken());
+    }
+    long value = 0;
+    for (int i = from; i < tokenLength; i++) {
+      int digit = Character.digit(token[i], 10);
+      if (digit < 0) {
+        throw new IllegalArgumentException("Invalid numeric value for state: " + currentToken());
+      }
+      value = value * 10 + digit;
+      if (value > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Invalid numeric value for state: " + currentToken());
+      }
+    }
+    return (int) (negative ? -value : value);
+  }
+
+  private String currentToken() {
+    return new String(token, 0, tokenLength);
+  }
+
+  /**
+   * Looks a symbol up in the table of symbols seen so far, adding it if it is new.
+   *
+   * @return the index of the symbol in the table
+   */
+  private byte codeOf(char[] chars, int from, int length) {
+    for (int code = 0; code < symbols.size(); code++) {
+      if (matches(symbols.get(code), chars, from, length)) {
+        return (byte) code;
+      }
+    }
+    return addSymbol(new String(chars, from, length));
+  }
+
+  private static boolean matches(String symbol, char[] chars, int from, int length) {
+    if (symbol.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (symbol.charAt(i) != chars[from + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte codeOf(String symbol) {
+    int code = symbols.indexOf(symbol);
+    if (code >= 0) {
+      return (byte) code;
+    }
+    return addSymbol(symbol);
+  }
+
+  private byte addSymbol(String symbol) {
+    if (symbols.size() > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many distinct cell states");
+    }
+    symbols.add(symbol);
+    return (byte) (symbols.size() - 1);
+  }
+
+  /**
+   * Checks everything that needs the whole file: required elements, the number of cells, random
+   * states, patterns and finally that every symbol belongs to the simulation.
+   */
+  private void finish() throws InvalidXMLConfigurationException {
+    for (String required : List.of("display", "grid", "description", "sim", "simvars",
+        "init")) {
+      if (!seenElements.contains(required)) {
+        throw new IllegalArgumentException(
+            String.format("Required element '%s' not found", required));
+      }
+    }
+    int expectedCells = rows * columns;
+    if (hasRandomStates) {
+      generateRandomStates(expectedCells);
+    } else if (!hasStateList) {
+      throw new InvalidXMLConfigurationException("Missing stateList in init element");
+    } else {
+      if (cellCount != expectedCells) {
+        throw new IllegalArgumentException("Number of cell states (" + cellCount
+            + ") does not match grid size (" + expectedCells + ").");
+      }
+      codes = codes.length == expectedCells ? codes : Arrays.copyOf(codes, expectedCells);
+      resolveValues(expectedCells);
+    }
+    applyPatterns();
+    for (String symbol : symbols) {
+      if (!isInSimulation(symbol, simType)) {
+        throw new IllegalArgumentException("Invalid cell state: " + symbol);
+      }
+    }
+  }
+
+  /**
+   * Replaces the marker of cells listed without a value, and checks that a simulation needing
+   * values got some.
+   */
+  private void resolveValues(int expectedCells) {
+    boolean needed = requiresValues(simType);
+    if (values == null) {
+      if (needed) {
+        throw new IllegalArgumentException(
+            "Simulation type " + simType + " requires per-cell values, but none were provided.");
+      }
+      return;
+    }
+    values = values.length == expectedCells ? values : Arrays.copyOf(values, expectedCells);
+    int missing = needed ? -1 : 0;
+    for (int i = 0; i < expectedCells; i++) {
+      if (values[i] == MISSING_VALUE) {
+        values[i] = missing;
+      }
+    }
+  }
+
+  /**
+   * Fills the board with the states of the proportions attribute, or of the random section, and
+   * the default state, in random order.
+   */
+  private void generateRandomStates(int totalCells) {
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    if (!proportions.isEmpty()) {
+      for (String pair : proportions.replaceAll("\\s+", "").split(",")) {
+        String[] keyValue = pair.split(":");
+        if (keyValue.length == 2) {
+          double proportion = Double.parseDouble(keyValue[1]);
+          if (proportion < 0 || proportion > 1) {
+            throw new IllegalArgumentException(
+                "Proportion must be between 0 and 1: " + proportion);
+          }
+          counts.put(keyValue[0], (int) Math.round(proportion * totalCells));
+        }
+      }
+    } else {
+      counts.putAll(randomCounts);
+    }
+    int assigned = counts.values().stream().mapToInt(Integer::intValue).sum();
+    if (assigned > totalCells) {
+      throw new IllegalArgumentException("Total assigned cells exceed grid size.");
+    }
+    codes = new byte[totalCells];
+    Arrays.fill(codes, codeOf(getDefaultState(simType)));
+    int next = 0;
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      byte code = codeOf(entry.getKey());
+      Arrays.fill(codes, next, next + entry.getValue(), code);
+      next += entry.getValue();
+    }
+    Random random = new Random();
+    for (int i = totalCells - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      byte swap = codes[i];
+      codes[i] = codes[j];
+      codes[j] = swap;
+    }
+  }
+
+  /**
+   * Overlays every pattern section onto the board.
+   */
+  private void applyPatterns() throws InvalidXMLConfigurationException {
+    for (PendingPattern pattern : patterns) {
+      String[] states = pattern.stateList().replaceAll("\\s+", "").split(",");
+      int patternRows = (int) pattern.stateList().lines().filter(line -> !line.isBlank()).count();
+      int patternCols = states.length / Math.max(1, patternRows);
+      if (pattern.startRow() < 0 || pattern.startRow() + patternRows > rows) {
+        throw new InvalidXMLConfigurationException(
+            "Pattern '" + pattern.id() + "' exceeds grid row bounds");
+      }
+      if (pattern.startCol() < 0 || pattern.startCol() + patternCols > columns) {
+        throw new InvalidXMLConfigurationException(
+            "Pattern '" + pattern.id() + "' exceeds grid column bounds");
+      }
+      for (int r = 0; r < patternRows; r++) {
+        for (int c = 0; c < patternCols; c++) {
+          int index = r * patternCols + c;
+          if (index < states.length) {
+            codes[(pattern.startRow() + r) * columns + pattern.startCol() + c] =
+                codeOf(states[index]);
+          }
+        }
+      }
+    }
+  }
+
+  private String requiredAttribute(XMLStreamReader reader, String name)
+      throws InvalidXMLConfigurationException {
+    String value = optionalAttribute(reader, name);
+    if (value.isEmpty()) {
+      throw new InvalidXMLConfigurationException(
+          String.format("Error: Missing required attribute '%s' in element '%s'.",
+              name, reader.getLocalName()));
+    }
+    return value;
+  }
+
+  private int requiredIntAttribute(XMLStreamReader reader, String name)
+      throws InvalidXMLConfigurationException {
+    String value = requiredAttribute(reader, name);
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          String.format("Attribute '%s' must be an integer, got '%s'", name, value));
+    }
+  }
+
+  private String requireText(XMLStreamReader reader, String name, String label)
+      throws InvalidXMLConfigurationException {
+    String value = requiredAttribute(reader, name);
+    if (value.trim().isEmpty()) {
+      throw new InvalidXMLConfigurationException(label + " cannot be empty");
+    }
+    return value;
+  }
+
+  private String optionalAttribute(XMLStreamReader reader, String name) {
+    String value = reader.getAttributeValue(null, name);
+    return value == null ? "" : value;
+  }
+
+  /**
+   * @return the compact state code of every cell in row-major order, an index into
+   * {@link #getStateSymbols()}
+   */
+  public byte[] getStateCodes() {
+    return codes;
+  }
+
+  /**
+   * @return the state symbol of every compact state code
+   */
+  @Override
+  public String[] getStateSymbols() {
+    return symbols.toArray(new String[0]);
+  }
+
+  /**
+   * @return true, since the state list is streamed straight into state codes
+   */
+  @Override
+  public boolean hasStateCodes() {
+    return true;
+  }
+
+  @Override
+  public void readStateCodes(byte[] plane) {
+    System.arraycopy(codes, 0, plane, 0, codes.length);
+  }
+
+  /**
+   * Expands the compact state codes into symbols. Cells with the same state share one string, so
+   * the array costs one reference per cell.
+   *
+   * @return the state symbol of every cell in row-major order
+   */
+  @Override
+  public String[] getInitialStates() {
+    String[] table = getStateSymbols();
+    String[] states = new String[codes.length];
+    for (int id = 0; id < codes.length; id++) {
+      states[id] = table[codes[id]];
+    }
+    return states;
+  }
+
+  @Override
+  public int[] getValues() {
+    if (codes == null || hasRandomStates) {
+      throw new IllegalStateException(
+          "initialValues is NULL in getValues(). Ensure XML file is parsed first.");
+    }
+    if (values == null) {
+      values = new int[codes.length];
+    }
+    return values;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getTitle() {
+    return title;
+  }
+
+  @Override
+  public String getSimType() {
+    return simType;
+  }
+
+  @Override
+  public String getAuthor() {
+    return author;
+  }
+
+  @Override
+  public int getRows() {
+    return rows;
+  }
+
+  @Override
+  public int getColumns() {
+    return columns;
+  }
+
+  public Map<String, String> getSimVarsMap() {
+    return simVarsMap;
+  }
+
+  public boolean hasRandomStates() {
+    return hasRandomStates;
+  }
+
+  @Override
+  public String getEdgeType() {
+    return edgeType;
+  }
+
+  @Override
+  public String getNeighborhoodType() {
+    return neighborhoodType;
+  }
+
+  @Override
+  public String getCellShape() {
+    return cellShape;
+  }
+
+  @Override
+  public String getStorageType() {
+    return storageType;
+  }
+
+  @Override
+  public int getThreads() {
+    return threads;
+  }
+}
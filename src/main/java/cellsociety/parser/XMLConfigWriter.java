@@ -0,0 +1,153 @@
+package cellsociety.parser;
+
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.grid.Grid;
+import java.io.File;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Writes the current state of a grid as a simulation file that {@link XMLParser} and
+ * {@link StreamingXMLParser} can load again.
+ * <p>
+ * The display settings, grid attributes and simulation variables are copied from the file the
+ * simulation was started from; the init section is replaced by an explicit state list holding
+ * every cell's current state (with its sugar amount for Sugarscape patches), with runs of equal
+ * cells in a row run-length encoded.
+ * </p>
+ */
+public class XMLConfigWriter {
+
+  private final Parser source;
+  private String title;
+
+  /**
+   * @param source the parser of the file the simulation was loaded from
+   */
+  public XMLConfigWriter(Parser source) {
+    this.source = source;
+    this.title = source.getTitle();
+  }
+
+  /**
+   * Replaces the title copied from the source file.
+   *
+   * @param title the title to write, ignored if blank
+   */
+  public void setTitle(String title) {
+    if (title != null && !title.isBlank()) {
+      this.title = title;
+    }
+  }
+
+  /**
+   * Writes the grid to a file.
+   *
+   * @param grid the grid whose current states are written
+   * @param file the file to write
+   * @throws InvalidXMLConfigurationException if the document cannot be built or written
+   */
+  public void write(Grid grid, File file) throws InvalidXMLConfigurationException {
+    try {
+      Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+      Element root = doc.createElement("simulationConfig");
+      doc.appendChild(root);
+      root.appendChild(createDisplay(doc, grid));
+
+      Element init = doc.createElement("init");
+      init.setAttribute("stateList", createStateList(grid));
+      root.appendChild(init);
+
+      Element sim = doc.createElement("sim");
+      sim.setAttribute("type", source.getSimType());
+      Element simvars = doc.createElement("simvars");
+      for (Map.Entry<String, String> entry : source.getSimVarsMap().entrySet()) {
+        simvars.setAttribute(entry.getKey(), entry.getValue());
+      }
+      sim.appendChild(simvars);
+      root.appendChild(sim);
+
+      Transformer transformer = TransformerFactory.newInstance().newTransformer();
+      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+      transformer.transform(new DOMSource(doc), new StreamResult(file));
+    } catch (ParserConfigurationException | TransformerException e) {
+      throw new InvalidXMLConfigurationException("XML Writing Error: " + e.getMessage());
+    }
+  }
+
+  private Element createDisplay(Document doc, Grid grid) {
+    Element display = doc.createElement("display");
+    display.setAttribute("author", source.getAuthor());
+    display.setAttribute("height", String.valueOf(source.getHeight()));
+    display.setAttribute("title", title);
+    display.setAttribute("width", String.valueOf(source.getWidth()));
+
+    Element description = doc.createElement("description");
+    description.setAttribute("text", source.getDescription());
+    display.appendChild(description);
+
+    Element gridElement = doc.createElement("grid");
+    gridElement.setAttribute("rows", String.valueOf(grid.getRows()));
+    gridElement.setAttribute("columns", String.valueOf(grid.getColumns()));
+    setIfPresent(gridElement, "edgeType", source.getEdgeType());
+    setIfPresent(gridElement, "neighborhoodType", source.getNeighborhoodType());
+    setIfPresent(gridElement, "cellShape", source.getCellShape());
+    setIfPresent(gridElement, "storage", source.getStorageType());
+    if (source.getThreads() != 1) {
+      gridElement.setAttribute("threads", String.valueOf(source.getThreads()));
+    }
+    display.appendChild(gridElement);
+    return display;
+  }
+
+  /**
+   * Lists every cell row by row, writing a run of equal cells within a row as one token with its
+   * length in front, e.g. "120D".
+   */
+  private String createStateList(Grid grid) {
+    StringBuilder states = new StringBuilder();
+    for (int row = 0; row < grid.getRows(); row++) {
+      states.append('\n');
+      int col = 0;
+      while (col < grid.getColumns()) {
+        String cell = describeCell(grid, row, col);
+        int run = 1;
+        while (col + run < grid.getColumns() && cell.equals(describeCell(grid, row, col + run))) {
+          run++;
+        }
+        if (run > 1) {
+          states.append(run);
+        }
+        states.append(cell);
+        col += run;
+        if (row < grid.getRows() - 1 || col < grid.getColumns()) {
+          states.append(',');
+        }
+      }
+    }
+    return states.append('\n').toString();
+  }
+
+  private String describeCell(Grid grid, int row, int col) {
+    String symbol = grid.getStateSymbol(row, col);
+    if (grid.getCell(row, col) instanceof SugarscapePatch patch) {
+      return symbol + ':' + patch.getSugarAmount();
+    }
+    return symbol;
+  }
+
+  private void setIfPresent(Element element, String attribute, String value) {
+    if (value != null && !value.isEmpty()) {
+      element.setAttribute(attribute, value);
+    }
+  }
+}
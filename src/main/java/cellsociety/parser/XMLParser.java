@@ -3,10 +3,12 @@ package cellsociety.parser;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -41,6 +43,8 @@ public class XMLParser extends Parser {
   private String edgeType;
   private String neighborhoodType;
   private String cellShape;
+  private String storageType;
+  private int threads;
 
   /**
    * @Author Ishan Madan Class to store pattern information
@@ -156,7 +160,7 @@ public class XMLParser extends Parser {
    * Parses display-related information from the XML document.
    * <p>
    * Extracts attributes such as width, height, title, author, grid dimensions, description, and
-   * optional grid attributes like edgeType, neighborhoodType, and cellShape.
+   * optional grid attributes like edgeType, neighborhoodType, cellShape, storage, and threads.
    * </p>
    *
    * @param document the XML Document to parse
@@ -207,6 +211,14 @@ public class XMLParser extends Parser {
       this.edgeType = grid.getAttribute("edgeType");
       this.neighborhoodType = grid.getAttribute("neighborhoodType");
       this.cellShape = grid.getAttribute("cellShape");
+      this.storageType = grid.getAttribute("storage");
+      this.threads = 1;
+      if (!grid.getAttribute("threads").isEmpty()) {
+        this.threads = getRequiredIntAttribute(grid, "threads");
+        if (this.threads <= 0) {
+          throw new InvalidXMLConfigurationException("Threads must be a positive integer");
+        }
+      }
     } catch (NullPointerException e) {
       throw new InvalidXMLConfigurationException("Missing required display elements");
     }
@@ -240,6 +252,8 @@ public class XMLParser extends Parser {
       String value = attr.getNodeValue();
       if (attr.getNodeName().equals("probCatch") || attr.getNodeName().equals("probGrow")) {
         validateProbability(value);
+      } else if (attr.getNodeName().equals("agentVision")) {
+        validateCount(value);
       }
       simVarsMap.put(attr.getNodeName(), value);
     }
@@ -354,42 +368,41 @@ public class XMLParser extends Parser {
 
   /**
    * Parses the state list from XML, extracting both states and optional per-cell numerical values.
-   * Ensures valid states are used and assigns default values where necessary.
+   * A token may start with a run length (e.g. "120D" for 120 dead cells) to repeat it. Ensures
+   * valid states are used and assigns default values where necessary. The list is read one token
+   * at a time, so a long attribute is never copied or split as a whole.
    *
    * @param stateListStr The raw state list string from XML.
    * @throws InvalidXMLConfigurationException if states are missing or improperly formatted.
    */
   private void parseStateList(String stateListStr) throws InvalidXMLConfigurationException {
-    String cleanedList = stateListStr.replaceAll("\\s+", "");
-    String[] tokens = cleanedList.split(",");
-
+    long[] cellCount = new long[1];
+    forEachToken(stateListStr, token -> cellCount[0] += getRunLength(token));
     int expectedCells = rows * columns;
-    if (tokens.length != expectedCells) {
-      throw new IllegalArgumentException("Number of cell states (" + tokens.length +
+    if (cellCount[0] != expectedCells) {
+      throw new IllegalArgumentException("Number of cell states (" + cellCount[0] +
           ") does not match grid size (" + expectedCells + ").");
     }
 
     // Initialize arrays
-    initialStates = new String[tokens.length];
-    initialValues = new int[tokens.length];
+    initialStates = new String[expectedCells];
+    initialValues = new int[expectedCells];
 
     boolean requiresValues = requiresValues(simType);
-    boolean foundValues = false; // Tracks if at least one value is found
-
-    for (int i = 0; i < tokens.length; i++) {
-      String token = tokens[i].trim();
-
-      if (token.contains(":")) { // If the format is "STATE:VALUE"
-        String[] parts = token.split(":", 2);
-        if (parts.length != 2) {
-          throw new IllegalArgumentException("Invalid token format: " + token);
-        }
-
-        String state = parts[0];
-        int value;
+    boolean[] foundValues = new boolean[1]; // Tracks if at least one value is found
+    int[] cell = new int[1];
+    forEachToken(stateListStr, rawToken -> {
+      int run = getRunLength(rawToken);
+      String token = stripRunLength(rawToken);
+      String state;
+      int value;
+
+      int colon = token.indexOf(':');
+      if (colon >= 0) { // If the format is "STATE:VALUE"
+        state = token.substring(0, colon);
 
         try {
-          value = Integer.parseInt(parts[1]);
+          value = Integer.parseInt(token.substring(colon + 1));
         } catch (NumberFormatException e) {
           throw new IllegalArgumentException("Invalid numeric value for state: " + token);
         }
@@ -398,28 +411,96 @@ public class XMLParser extends Parser {
         if (!isInSimulation(state, simType)) {
           throw new IllegalArgumentException("Invalid state for simulation: " + state);
         }
-
-        initialStates[i] = state;
-        initialValues[i] = value;
-        foundValues = true; // At least one value was found
+        foundValues[0] = true; // At least one value was found
 
       } else { // If only state is provided
         if (!isInSimulation(token, simType)) {
           throw new IllegalArgumentException("Invalid cell state: " + token);
         }
 
-        initialStates[i] = token;
-        initialValues[i] = requiresValues ? -1 : 0; // If required, flag missing values with -1
+        state = token;
+        value = requiresValues ? -1 : 0; // If required, flag missing values with -1
       }
-    }
+      Arrays.fill(initialStates, cell[0], cell[0] + run, state);
+      Arrays.fill(initialValues, cell[0], cell[0] + run, value);
+      cell[0] += run;
+    });
 
     // If the simulation REQUIRES per-cell values but none were provided, throw an error
-    if (requiresValues && !foundValues) {
+    if (requiresValues && !foundValues[0]) {
       throw new IllegalArgumentException(
           "Simulation type " + simType + " requires per-cell values, but none were provided.");
     }
   }
 
+  /**
+   * Hands every comma-separated token of a state list to an action, with whitespace left out.
+   * Empty tokens at the end of the list are ignored; empty tokens before a state are invalid.
+   *
+   * @param list   the state list
+   * @param action called with each token in order
+   * @throws IllegalArgumentException if an empty token is followed by a state
+   */
+  private static void forEachToken(String list, Consumer<String> action) {
+    StringBuilder token = new StringBuilder();
+    boolean skippedEmpty = false;
+    for (int i = 0; i <= list.length(); i++) {
+      char c = i < list.length() ? list.charAt(i) : ',';
+      if (c != ',') {
+        if (!Character.isWhitespace(c)) {
+          token.append(c);
+        }
+        continue;
+      }
+      if (token.isEmpty()) {
+        skippedEmpty = true;
+        continue;
+      }
+      if (skippedEmpty) {
+        throw new IllegalArgumentException("Invalid cell state: ");
+      }
+      action.accept(token.toString());
+      token.setLength(0);
+    }
+  }
+
+  /**
+   * @param token a token of the state list
+   * @return the token without the run length it starts with
+   */
+  private static String stripRunLength(String token) {
+    int digits = 0;
+    while (digits < token.length() && Character.isDigit(token.charAt(digits))) {
+      digits++;
+    }
+    return token.substring(digits);
+  }
+
+  /**
+   * Reads the run length a state list token starts with.
+   *
+   * @param token a token of the state list, such as "D", "120D" or "3PATCH:5"
+   * @return the number of cells the token stands for, 1 if it has no run length
+   */
+  private int getRunLength(String token) {
+    int digits = 0;
+    while (digits < token.length() && Character.isDigit(token.charAt(digits))) {
+      digits++;
+    }
+    if (digits == 0) {
+      return 1;
+    }
+    try {
+      int run = Integer.parseInt(token.substring(0, digits));
+      if (run > 0) {
+        return run;
+      }
+    } catch (NumberFormatException e) {
+      // Falls through to the error below.
+    }
+    throw new IllegalArgumentException("Invalid run length: " + token);
+  }
+
   /**
    * Parses an explicit state list for initialization.
    *
@@ -603,43 +684,6 @@ public class XMLParser extends Parser {
     return validateSimulation(simType);
   }
 
-  /**
-   * Validates that a probability value is a number between 0 and 1.
-   *
-   * @param value the probability value as a string
-   * @throws IllegalArgumentException if the value is not a valid probability
-   */
-  private void validateProbability(String value) {
-    try {
-      double prob = Double.parseDouble(value);
-      if (prob < 0 || prob > 1) {
-        throw new IllegalArgumentException("Probability must be between 0 and 1: " + value);
-      }
-    } catch (NumberFormatException e) {
-      throw new IllegalArgumentException("Invalid probability value: " + value);
-    }
-  }
-
-  /**
-   * Returns the default state symbol for the given simulation type.
-   *
-   * @param simType the simulation type (e.g., "Conway", "Fire")
-   * @return the default state symbol for the simulation
-   * @throws IllegalArgumentException if the simulation type is unknown
-   */
-  private String getDefaultState(String simType) {
-    return switch (simType) {
-      case "Conway", "GameOfLife" -> "D"; // DEAD
-      case "Fire" -> "E";   // EMPTY
-      case "Percolation" -> "O"; // OPEN
-      case "Segregation" -> "EM"; // EMPTY
-      case "WatorWorld" -> "W"; // WATER
-      case "GeneralConway" -> "D";
-      case "Sugarscape" -> "Patch";
-      default -> throw new IllegalArgumentException("Unknown simulation type: " + simType);
-    };
-  }
-
   /**
    * Retrieves a required element with the given tag name from the parent node.
    *
@@ -772,4 +816,12 @@ public class XMLParser extends Parser {
     return cellShape;
   }
 
+  public String getStorageType() {
+    return storageType;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
 }
\ No newline at end of file
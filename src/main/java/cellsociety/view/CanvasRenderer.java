@@ -0,0 +1,286 @@
+package cellsociety.view;
+
+import cellsociety.view.shapes.RectangularShape;
+import cellsociety.view.shapes.ShapeFactory;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import javafx.geometry.Bounds;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Shape;
+
+/**
+ * Draws a whole grid onto a single {@link Canvas} instead of adding one {@link Shape} node per cell
+ * to the scene graph, which becomes unusable beyond a few hundred thousand cells.
+ * <p>
+ * When the layout is set up, every cell's shape is created once with {@link ShapeFactory}, exactly
+ * as the node renderer would, and rasterized right away into runs of pixels; once every cell is
+ * rasterized the runs are laid into a pixel owner map that records which cell covers each pixel.
+ * The shape is then discarded, so any layout the shape classes describe is supported and no nodes
+ * are kept. Unrotated rectangles are filled from their bounds without testing single pixels.
+ * Drawing a frame looks up one color per cell and copies it into every pixel the cell owns, then
+ * writes the pixels into a {@link WritableImage} in a single call. When only a few cells changed,
+ * an inverse map from each cell to its pixels lets {@link #drawCells} repaint just those cells and
+ * upload just the rows they span.
+ * </p>
+ *
+ * @author Luke
+ */
+public class CanvasRenderer {
+
+  private static final int BACKGROUND = -1;
+  private static final int OUTLINE = -2;
+  private static final int MIN_OUTLINED_CELL_SIZE = 4;
+  private static final int OUTLINE_ARGB = toArgb(Color.BLACK);
+
+  private final int cellCount;
+  private final int width;
+  private final int height;
+  private final int[] owners;
+  private final int[] cellPixelStart;
+  private final int[] cellPixels;
+  private final int[] pixels;
+  private final int[] cellColors;
+  private final WritableImage image;
+  private final Canvas canvas;
+
+  /**
+   * Rasterizes a layout and creates a canvas to draw it on.
+   *
+   * @param shapeType the shape of the cells, as accepted by {@link ShapeFactory#createShape}
+   * @param rows      the number of rows in the grid
+   * @param columns   the number of columns in the grid
+   * @param gridSize  the size in pixels of the square area the grid is displayed in
+   */
+  public CanvasRenderer(String shapeType, int rows, int columns, int gridSize) {
+    this.cellCount = rows * columns;
+    int cellSize = Math.max(1, gridSize / Math.max(rows, columns));
+
+    Runs runs = new Runs(cellCount);
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        rasterize(ShapeFactory.createShape(shapeType, cellSize, row, col), runs);
+        runs.endCell(row * columns + col);
+      }
+    }
+    this.width = Math.max(1, runs.maxX - runs.minX);
+    this.height = Math.max(1, runs.maxY - runs.minY);
+    this.owners = new int[width * height];
+    Arrays.fill(owners, BACKGROUND);
+    for (int id = 0; id < cellCount; id++) {
+      for (int run = runs.cellStart[id]; run < runs.cellStart[id + 1]; run += 3) {
+        int offset = (runs.data[run] - runs.minY) * width - runs.minX;
+        Arrays.fill(owners, offset + runs.data[run + 1], offset + runs.data[run + 2], id);
+      }
+    }
+    if (cellSize >= MIN_OUTLINED_CELL_SIZE) {
+      markOutlines();
+    }
+    this.cellPixelStart = new int[cellCount + 1];
+    for (int owner : owners) {
+      if (owner >= 0) {
+        cellPixelStart[owner + 1]++;
+      }
+    }
+    for (int id = 0; id < cellCount; id++) {
+      cellPixelStart[id + 1] += cellPixelStart[id];
+    }
+    this.cellPixels = new int[cellPixelStart[cellCount]];
+    int[] fill = Arrays.copyOf(cellPixelStart, cellCount);
+    for (int i = 0; i < owners.length; i++) {
+      if (owners[i] >= 0) {
+        cellPixels[fill[owners[i]]++] = i;
+      }
+    }
+
+    this.pixels = new int[width * height];
+    this.cellColors = new int[cellCount];
+    this.image = new WritableImage(width, height);
+    double scale = Math.min(1.0, Math.min((double) gridSize / width, (double) gridSize / height));
+    this.canvas = new Canvas(width * scale, height * scale);
+  }
+
+  /**
+   * Adds the runs of pixels inside a shape. Pixels are sampled at their centers, so neighboring
+   * cells never claim the same pixel twice.
+   */
+  private static void rasterize(Shape shape, Runs runs) {
+    Bounds bounds = shape.getBoundsInParent();
+    if (shape instanceof RectangularShape && shape.getRotate() == 0
+        && shape.getTransforms().isEmpty()) {
+      int left = (int) Math.ceil(bounds.getMinX() - 0.5);
+      int right = (int) Math.ceil(bounds.getMaxX() - 0.5);
+      int top = (int) Math.ceil(bounds.getMinY() - 0.5);
+      int bottom = (int) Math.ceil(bounds.getMaxY() - 0.5);
+      for (int y = top; y < bottom && left < right; y++) {
+        runs.add(y, left, right);
+      }
+      return;
+    }
+    int fromX = (int) Math.floor(bounds.getMinX());
+    int toX = (int) Math.ceil(bounds.getMaxX());
+    int fromY = (int) Math.floor(bounds.getMinY());
+    int toY = (int) Math.ceil(bounds.getMaxY());
+    for (int y = fromY; y < toY; y++) {
+      boolean inRun = false;
+      int runStart = fromX;
+      for (int x = fromX; x <= toX; x++) {
+        boolean inside = x < toX && shape.contains(shape.parentToLocal(x + 0.5, y + 0.5));
+        if (inside && !inRun) {
+          runStart = x;
+        } else if (!inside && inRun) {
+          runs.add(y, runStart, x);
+        }
+        inRun = inside;
+      }
+    }
+  }
+
+  /**
+   * Marks the pixels on a border between two cells, or between a cell and the background, so cells
+   * stay outlined as they are with the node renderer.
+   */
+  private void markOutlines() {
+    int[] cells = owners.clone();
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int owner = cells[y * width + x];
+        if (owner < 0) {
+          continue;
+        }
+        boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1
+            || cells[y * width + x - 1] != owner || cells[(y - 1) * width + x] != owner
+            || cells[y * width + x + 1] < 0 || cells[(y + 1) * width + x] < 0;
+        if (border) {
+          owners[y * width + x] = OUTLINE;
+        }
+      }
+    }
+  }
+
+  /**
+   * Draws a frame.
+   *
+   * @param colorOf returns the ARGB color of the cell with a given id (row * columns + column)
+   */
+  public void draw(IntUnaryOperator colorOf) {
+    for (int id = 0; id < cellCount; id++) {
+      cellColors[id] = colorOf.applyAsInt(id);
+    }
+    for (int i = 0; i < pixels.length; i++) {
+      int owner = owners[i];
+      pixels[i] = owner >= 0 ? cellColors[owner] : owner == OUTLINE ? OUTLINE_ARGB : 0;
+    }
+    image.getPixelWriter()
+        .setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+    present();
+  }
+
+  /**
+   * Repaints only some cells of the last frame. The cost follows the number of cells given, apart
+   * from uploading the rows of the image they span.
+   *
+   * @param ids     the ids of the cells to repaint
+   * @param colorOf returns the ARGB color of the cell with a given id (row * columns + column)
+   */
+  public void drawCells(IntBuffer ids, IntUnaryOperator colorOf) {
+    int firstPixel = pixels.length;
+    int lastPixel = -1;
+    while (ids.hasRemaining()) {
+      int id = ids.get();
+      int color = colorOf.applyAsInt(id);
+      cellColors[id] = color;
+      int start = cellPixelStart[id];
+      int end = cellPixelStart[id + 1];
+      for (int i = start; i < end; i++) {
+        pixels[cellPixels[i]] = color;
+      }
+      if (start < end) {
+        firstPixel = Math.min(firstPixel, cellPixels[start]);
+        lastPixel = Math.max(lastPixel, cellPixels[end - 1]);
+      }
+    }
+    if (lastPixel < 0) {
+      return;
+    }
+    int fromRow = firstPixel / width;
+    int toRow = lastPixel / width + 1;
+    image.getPixelWriter().setPixels(0, fromRow, width, toRow - fromRow,
+        PixelFormat.getIntArgbInstance(), pixels, fromRow * width, width);
+    present();
+  }
+
+  /**
+   * Copies the image onto the canvas, scaled to fit.
+   */
+  private void present() {
+    GraphicsContext graphics = canvas.getGraphicsContext2D();
+    graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    graphics.setImageSmoothing(false);
+    graphics.drawImage(image, 0, 0, canvas.getWidth(), canvas.getHeight());
+  }
+
+  /**
+   * Converts a color to the ARGB format the renderer writes.
+   *
+   * @param color the color to convert
+   * @return the color packed as 0xAARRGGBB
+   */
+  public static int toArgb(Color color) {
+    return (int) Math.round(color.getOpacity() * 255) << 24
+        | (int) Math.round(color.getRed() * 255) << 16
+        | (int) Math.round(color.getGreen() * 255) << 8
+        | (int) Math.round(color.getBlue() * 255);
+  }
+
+  /**
+   * @return the canvas the grid is drawn on
+   */
+  public Canvas getCanvas() {
+    return canvas;
+  }
+
+  /**
+   * Horizontal runs of pixels covered by each cell, as (y, first x, x after the last) triples in
+   * layout coordinates, along with the extent of the layout they cover.
+   */
+  private static class Runs {
+
+    private int[] data = new int[64];
+    private int size;
+    private final int[] cellStart;
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    Runs(int cellCount) {
+      cellStart = new int[cellCount + 1];
+    }
+
+    void add(int y, int fromX, int toX) {
+      if (size + 3 > data.length) {
+        data = Arrays.copyOf(data, 2 * data.length);
+      }
+      boolean first = size == 0;
+      minX = first ? fromX : Math.min(minX, fromX);
+      minY = first ? y : Math.min(minY, y);
+      maxX = first ? toX : Math.max(maxX, toX);
+      maxY = first ? y + 1 : Math.max(maxY, y + 1);
+      data[size++] = y;
+      data[size++] = fromX;
+      data[size++] = toX;
+    }
+
+    /**
+     * Ends the runs of a cell; cells must be ended in id order.
+     */
+    void endCell(int id) {
+      cellStart[id + 1] = size;
+    }
+  }
+}
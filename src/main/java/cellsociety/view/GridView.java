@@ -8,9 +8,12 @@ import cellsociety.model.cell.SegregationCell.SegregationState;
 import cellsociety.model.cell.SugarscapePatch;
 import cellsociety.model.cell.WatorCell.WatorState;
 import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.GridSnapshot;
 import cellsociety.model.state.CellState;
 import cellsociety.model.state.SugarscapeState;
 import cellsociety.view.shapes.ShapeFactory;
+import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -36,6 +39,14 @@ import javafx.scene.text.Text;
 public class GridView {
 
   private final static Set<Class<?>> hasGradient = Set.of(SugarscapePatch.class);
+  /**
+   * Grids with more cells than this are drawn on a canvas instead of one shape node per cell.
+   */
+  private final static int SHAPE_NODE_LIMIT = 40_000;
+  /**
+   * Number of shades a patch's sugar level is rounded to, more than the eye can tell apart.
+   */
+  private final static int GRADIENT_SHADES = 256;
 
   private final Pane gridPane;
   private final Scene myScene;
@@ -46,10 +57,18 @@ public class GridView {
   private final int WINDOW_WIDTH = 600;
   private final int WINDOW_HEIGHT = 800;
   private VBox infoBox;
-  private final Shape[][] cellShapes;
+  private Shape[][] cellShapes;
+  private CanvasRenderer canvasRenderer;
+  private Color[] palette;
+  private Color[] gradientShades;
+  private boolean gradient;
+  private byte[] shownCodes = new byte[0];
+  private float[] shownLevels = new float[0];
+  private int[] repaintIds = new int[0];
   private final Grid grid;
   private final Locale myLocale;
   private int numIterations;
+  private double generationsPerSecond;
   private String currentCellShape = "Rectangular";
 
   public enum ColorScheme {
@@ -97,12 +116,13 @@ public class GridView {
     this.columns = columns;
     this.cellSize = SIZE_GRID / rows;
     this.gridPane = new Pane();
-    this.cellShapes = new Shape[rows][columns];
     this.grid = grid;
     this.myLocale = myLocale;
     this.numIterations = 0;
     ResourceBundle simInfo = ResourceBundle.getBundle("SimInfo", myLocale);
 
+    buildPalette();
+    apply(GridSnapshot.capture(grid, 0));
     initializeGrid();
     setupSimulationInfo(simType, title, author, description);
 
@@ -119,15 +139,25 @@ public class GridView {
   }
 
   /**
-   * Initializes the grid from the given `CellUnit` list.
+   * Initializes the grid from the given `CellUnit` list. Large grids are rasterized onto a single
+   * canvas by a {@link CanvasRenderer}. Cells are painted from the states last shown, so the grid
+   * itself is not read and may be stepping on another thread.
    */
   private void initializeGrid() {
     gridPane.getChildren().clear();
-
+    if ((long) rows * columns > SHAPE_NODE_LIMIT) {
+      cellShapes = null;
+      canvasRenderer = new CanvasRenderer(currentCellShape, rows, columns, SIZE_GRID);
+      gridPane.getChildren().add(canvasRenderer.getCanvas());
+      repaintAll();
+      return;
+    }
+    canvasRenderer = null;
+    cellShapes = new Shape[rows][columns];
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < columns; col++) {
         Shape shape = ShapeFactory.createShape(currentCellShape, cellSize, row, col);
-        shape.setFill(getCellColor(grid.getCell(row, col)));
+        shape.setFill(getCellColor(row * columns + col));
         shape.setStroke(Color.BLACK);
         gridPane.getChildren().add(shape);
         cellShapes[row][col] = shape;
@@ -136,37 +166,126 @@ public class GridView {
   }
 
   /**
-   * Updates the grid efficiently by modifying only changed cells. Don't want to pass entire grid
-   * into front end.
+   * Looks up the color of every state of the displayed simulation once, indexed by the state's
+   * ordinal, so painting a cell costs an array read instead of a map lookup. Simulations with a
+   * gradient also get their shades precomputed, so painting a patch allocates no color.
+   */
+  private void buildPalette() {
+    palette = new Color[0];
+    gradient = false;
+    if (grid.getLength() == 0) {
+      return;
+    }
+    Cell first = grid.getCell(0, 0);
+    gradient = hasGradient.contains(first.getClass());
+    CellState[] states = ((Enum<?>) first.getCurrState()).getDeclaringClass()
+        .asSubclass(CellState.class).getEnumConstants();
+    palette = new Color[states.length];
+    for (CellState state : states) {
+      palette[((Enum<?>) state).ordinal()] = cellColors.get(state);
+    }
+    if (gradient) {
+      Color patch = cellColors.get(SugarscapeState.PATCH);
+      gradientShades = new Color[GRADIENT_SHADES];
+      for (int shade = 0; shade < GRADIENT_SHADES; shade++) {
+        gradientShades[shade] = Color.WHITE.interpolate(patch,
+            (double) shade / (GRADIENT_SHADES - 1));
+      }
+    }
+  }
+
+  /**
+   * Steps through the states of the grid and repaints them. Only use this while no
+   * {@link cellsociety.model.grid.SimulationRunner} is stepping the grid.
    */
   public void update() {
+    update(GridSnapshot.capture(grid, numIterations + 1));
+  }
+
+  /**
+   * Updates the grid efficiently by modifying only changed cells. Don't want to pass entire grid
+   * into front end. The snapshot holds the cells whose state changed since the previous one; every
+   * cell is repainted only after the grid was rebuilt, resized or written as a whole.
+   *
+   * @param snapshot the cells to show, taken from the grid after it stepped
+   */
+  public void update(GridSnapshot snapshot) {
+    int count = apply(snapshot);
+    if (snapshot.isFull()) {
+      repaintAll();
+    } else if (canvasRenderer != null) {
+      canvasRenderer.drawCells(IntBuffer.wrap(repaintIds, 0, count), this::getCellArgb);
+    } else {
+      for (int i = 0; i < count; i++) {
+        int id = repaintIds[i];
+        cellShapes[id / columns][id % columns].setFill(getCellColor(id));
+      }
+    }
+    this.numIterations = (int) snapshot.getGeneration();
+    incrementIterations();
+  }
+
+  /**
+   * Copies the cells of a snapshot that fall inside the displayed area into the shown states and
+   * lists their ids in {@code repaintIds}.
+   *
+   * @return the number of ids listed
+   */
+  private int apply(GridSnapshot snapshot) {
+    int size = rows * columns;
+    if (shownCodes.length != size) {
+      shownCodes = Arrays.copyOf(shownCodes, size);
+      shownLevels = Arrays.copyOf(shownLevels, size);
+    }
+    if (repaintIds.length < snapshot.getCellCount()) {
+      repaintIds = new int[snapshot.getCellCount()];
+    }
+    int count = 0;
+    for (int i = 0; i < snapshot.getCellCount(); i++) {
+      int row = snapshot.getId(i) / snapshot.getColumns();
+      int col = snapshot.getId(i) % snapshot.getColumns();
+      if (row < rows && col < columns) {
+        int id = row * columns + col;
+        shownCodes[id] = snapshot.getCode(i);
+        shownLevels[id] = snapshot.getLevel(i);
+        repaintIds[count++] = id;
+      }
+    }
+    return count;
+  }
+
+  private void repaintAll() {
+    if (canvasRenderer != null) {
+      canvasRenderer.draw(this::getCellArgb);
+      return;
+    }
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < columns; col++) {
-        Cell cell = grid.getCell(row, col);
-        cellShapes[row][col].setFill(getCellColor(cell));
+        cellShapes[row][col].setFill(getCellColor(row * columns + col));
       }
     }
-    this.numIterations++;
-    incrementIterations();
+  }
+
+  private int getCellArgb(int id) {
+    return CanvasRenderer.toArgb(getCellColor(id));
   }
 
   /**
-   * Determines the color of a cell based on its current state.
+   * Determines the color of a cell based on the state last shown for it.
    *
-   * @param cell the cell whose color is to be determined
+   * @param id the row-major id of the cell in the displayed area
    * @return the color representing the cell's state
    */
-  private Color getCellColor(Cell cell) {
-    if (hasGradient.contains(cell.getClass())) {
-      SugarscapePatch patch = (SugarscapePatch) cell;
-      if (patch.hasAgent()) {
+  private Color getCellColor(int id) {
+    if (gradient) {
+      if (shownCodes[id] == SugarscapeState.AGENT.ordinal()) {
         return Color.RED;
       } else {
-        double fraction = (double) patch.getSugarAmount() / patch.getMaxSugar();
-        return Color.WHITE.interpolate(cellColors.get(SugarscapeState.PATCH), fraction);
+        float level = Math.clamp(shownLevels[id], 0f, 1f);
+        return gradientShades[Math.round(level * (GRADIENT_SHADES - 1))];
       }
     } else {
-      return cellColors.get(cell.getCurrState());
+      return palette[shownCodes[id]];
     }
   }
 
@@ -209,11 +328,23 @@ public class GridView {
       Text iterationsText = (Text) infoBox.getChildren().get(infoBox.getChildren().size() - 1);
       ResourceBundle simInfo = ResourceBundle.getBundle("SimInfo", myLocale);
 
-      iterationsText.setText(simInfo.getString("iterations") + this.numIterations);
+      iterationsText.setText(simInfo.getString("iterations") + this.numIterations
+          + String.format(myLocale, "   (%.1f %s)", generationsPerSecond,
+          simInfo.getString("generations_per_second")));
     }
 
   }
 
+  /**
+   * Shows how fast the simulation is stepping next to the iteration count.
+   *
+   * @param generationsPerSecond the number of generations computed per second lately
+   */
+  public void setGenerationsPerSecond(double generationsPerSecond) {
+    this.generationsPerSecond = generationsPerSecond;
+    incrementIterations();
+  }
+
   /**
    * Returns the updated scene.
    */
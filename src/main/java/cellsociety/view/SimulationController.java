@@ -5,6 +5,7 @@ import java.io.File;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.scene.Scene;
@@ -13,14 +14,6 @@ import javafx.scene.control.TextInputDialog;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * @Author Palo Silva Class that handles control of the simulation and transitions between splash
@@ -30,9 +23,14 @@ public class SimulationController {
 
 
   private final FileChooser FILE_CHOOSER = new FileChooser();
-  private Timeline simLoop;
+  /**
+   * Shows the newest generation once per JavaFX pulse, the only time the screen can be drawn.
+   */
+  private AnimationTimer simLoop;
+  private Animation.Status simStatus = Animation.Status.STOPPED;
   private Timeline splashLoop;
   private static final double SECOND_DELAY = 0.8;
+  private double stepsPerSecond = 1.0 / SECOND_DELAY;
   private final Stage myStage;
   private File currentFile;
   private ColorScheme myScheme;
@@ -69,39 +67,91 @@ public class SimulationController {
     if (splashLoop != null && splashLoop.getStatus() == Animation.Status.RUNNING) {
       splashLoop.stop();
     }
-    if (simLoop != null && simLoop.getStatus() == Animation.Status.RUNNING) {
-      simLoop.stop();
+    stopSimLoop();
+    if (mySimScreen != null) {
+      mySimScreen.stop();
     }
     currentFile = dataFile;
     mySimScreen = new SimulationScreen(dataFile, this);
   }
 
   /**
-   * Function that begins execution of the simulation loop
+   * Function that begins execution of the simulation loop. The grid steps on its own thread at
+   * {@link #getStepsPerSecond()}, while the loop only shows the newest generation on every pulse.
    */
 
   public void startSimulation() {
     if (simLoop == null) {
-      simLoop = new Timeline(new KeyFrame(Duration.seconds(SECOND_DELAY), e -> {
-        mySimScreen.update();
-      }));
-      simLoop.setCycleCount(Timeline.INDEFINITE);
-      simLoop.setRate(1.0 / SECOND_DELAY);
+      simLoop = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+          mySimScreen.update();
+        }
+      };
     }
-    if (simLoop.getStatus() == Animation.Status.PAUSED) {
-      simLoop.play();
-    } else if (simLoop.getStatus() != Animation.Status.RUNNING) {
-      simLoop.playFromStart();
+    simLoop.start();
+    simStatus = Animation.Status.RUNNING;
+    mySimScreen.start();
+  }
+
+  /**
+   * Pauses the simulation loop and the grid, so that {@link #resumeSimulation()} can carry on
+   */
+  public void pauseSimulation() {
+    if (simStatus != Animation.Status.RUNNING) {
+      return;
+    }
+    simLoop.stop();
+    simStatus = Animation.Status.PAUSED;
+    mySimScreen.pause();
+  }
+
+  /**
+   * Resumes a simulation paused by {@link #pauseSimulation()}
+   */
+  public void resumeSimulation() {
+    if (simStatus == Animation.Status.PAUSED) {
+      startSimulation();
+    }
+  }
+
+  /**
+   * Stops showing new generations, e.g. after the simulation failed
+   */
+  public void stopSimLoop() {
+    if (simLoop != null) {
+      simLoop.stop();
     }
+    simStatus = Animation.Status.STOPPED;
   }
 
   /**
-   * Saves simulation to an xml file
+   * @return whether the simulation loop is running, paused or stopped
+   */
+  public Animation.Status getSimStatus() {
+    return simStatus;
+  }
+
+  /**
+   * @return how many generations to compute per second, as last set by the speed slider
+   */
+  public double getStepsPerSecond() {
+    return stepsPerSecond;
+  }
+
+  public void setStepsPerSecond(double stepsPerSecond) {
+    this.stepsPerSecond = stepsPerSecond;
+  }
+
+  /**
+   * Saves the current state of the simulation, as a binary snapshot if the chosen file ends in
+   * {@link cellsociety.parser.BinarySnapshotParser#EXTENSION} and as XML otherwise
    *
    * @param simInfo resource bundle containing hardcoded simulation text
    */
   public void saveSimulation(ResourceBundle simInfo) {
-    simLoop.stop();
+    stopSimLoop();
+    mySimScreen.pause();
     TextInputDialog dialog = new TextInputDialog(simInfo.getString("sim"));
     dialog.setHeaderText(simInfo.getString("prompt"));
     dialog.setContentText(simInfo.getString("metadata"));
@@ -109,25 +159,7 @@ public class SimulationController {
 
     File saveFile = FILE_CHOOSER.showSaveDialog(myStage);
     if (saveFile != null) {
-      try {
-        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-        Element root = doc.createElement("Simulation");
-        root.setAttribute("Title", dialog.getEditor().getText());
-        doc.appendChild(root);
-
-        Element grid = doc.createElement("Grid");
-        grid.setAttribute("rows", String.valueOf(mySimScreen.getMyParser().getRows()));
-        grid.setAttribute("columns", String.valueOf(mySimScreen.getMyParser().getColumns()));
-        root.appendChild(grid);
-
-        Transformer transformer = TransformerFactory.newInstance().newTransformer();
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        DOMSource source = new DOMSource(doc);
-        StreamResult result = new StreamResult(saveFile);
-        transformer.transform(source, result);
-      } catch (Exception e) {
-        showMessage(simInfo.getString("save_error"));
-      }
+      mySimScreen.saveSimulation(saveFile, dialog.getEditor().getText());
     }
   }
 
@@ -166,14 +198,6 @@ public class SimulationController {
     myStage.show();
   }
 
-  public Timeline getSimLoop() {
-    return simLoop;
-  }
-
-  public void setSimLoop(Timeline simLoop) {
-    this.simLoop = simLoop;
-  }
-
 
   public void showMessage(String message) {
     new Alert(Alert.AlertType.INFORMATION, message).showAndWait();
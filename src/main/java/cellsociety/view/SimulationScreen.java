@@ -1,27 +1,40 @@
 package cellsociety.view;
 
+import cellsociety.model.factory.GridFactory;
 import cellsociety.model.factory.RulesetFactory;
 import cellsociety.model.grid.CellShapeFactory;
 import cellsociety.model.grid.EdgeFactory;
 import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.GridSnapshot;
 import cellsociety.model.grid.NeighborhoodFactory;
+import cellsociety.model.grid.ReplayReader;
+import cellsociety.model.grid.ReplayRecorder;
+import cellsociety.model.grid.SimulationRunner;
 import cellsociety.model.ruleset.Ruleset;
-import cellsociety.model.ruleset.SugarscapeRuleset;
-import cellsociety.parser.XMLParser;
+import cellsociety.parser.BinarySnapshotParser;
+import cellsociety.parser.BinarySnapshotWriter;
+import cellsociety.parser.InvalidXMLConfigurationException;
+import cellsociety.parser.Parser;
+import cellsociety.parser.ParserFactory;
+import cellsociety.parser.XMLConfigWriter;
 import cellsociety.view.GridView.ColorScheme;
 import cellsociety.view.shapes.ShapeFactory;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 import javafx.animation.Animation;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -32,13 +45,47 @@ import javafx.scene.layout.VBox;
 public class SimulationScreen {
 
   private final SimulationController myController;
-  private XMLParser myParser;
+  private Parser myParser;
   private GridView myGridView;
   private Grid myGrid;
+  private SimulationRunner myRunner;
   private Scene simScene;
   private final int width = 800;
   private final int height = 800;
   private static double SECOND_DELAY = 0.8;
+  private static final long RATE_SAMPLE_NANOS = 500_000_000L;
+  private static final int DEFAULT_MODE_VALUE = 100;
+  private static final long MAX_REPLAY_FRAME_NANOS = 100_000_000L;
+  private RunMode runMode = RunMode.TIMED;
+  private int modeValue = DEFAULT_MODE_VALUE;
+  private long rateSampleTime;
+  private long rateSampleGeneration;
+  private boolean recording;
+  private ReplayReader myReplay;
+  private long replayClock;
+  private double replaySteps;
+
+  /**
+   * How the grid is stepped while the simulation runs.
+   */
+  public enum RunMode {
+    /**
+     * Steps at the rate set by the speed slider.
+     */
+    TIMED,
+    /**
+     * Steps a fixed number of generations for every displayed frame.
+     */
+    STEPS_PER_FRAME,
+    /**
+     * Steps as fast as possible and shows the newest generation on every frame.
+     */
+    MAX_SPEED,
+    /**
+     * Steps as fast as possible up to a generation, then pauses.
+     */
+    FAST_FORWARD
+  }
 
   public SimulationScreen(File file, SimulationController controller) {
     myController = controller;
@@ -58,18 +105,10 @@ public class SimulationScreen {
         throw new IllegalArgumentException(simInfo.getString("invalid_file"));
       }
 
-      myParser = new XMLParser(file);
-      Ruleset ruleset = getRuleset();
-      int[] values = myParser.getValues();
-      if (values != null && myParser.getSimType().equals("Sugarscape")) {
-        ((SugarscapeRuleset) ruleset).setInitialValues(values);
-      }
-      myGrid = ruleset.createGrid(myParser.getRows(), myParser.getColumns(),
-          myParser.getInitialStates());
-      myGrid.setEdgeHandler(EdgeFactory.createEdgeHandler(myParser.getEdgeType()));
-      myGrid.setNeighborhoodStrategy(
-          NeighborhoodFactory.createNeighborhoodStrategy(myParser.getNeighborhoodType()));
-      myGrid.setCellShape(CellShapeFactory.createCellShape(myParser.getCellShape()));
+      myParser = ParserFactory.createParser(file);
+      myGrid = GridFactory.createGrid(myParser, getRuleset());
+      myRunner = new SimulationRunner(myGrid, myParser.getGeneration());
+      myRunner.setStepsPerSecond(myController.getStepsPerSecond());
       myGridView = new GridView(
           myParser.getRows(),
           myParser.getColumns(),
@@ -125,6 +164,7 @@ public class SimulationScreen {
     }
     controls.getChildren().add(new Label("Speed:"));
     controls.getChildren().add(speedSlider);
+    controls.getChildren().addAll(makeRunModeControls());
     layout.setBottom(controls);
 
     VBox settingsPanel = loadSettingsPanel();
@@ -150,16 +190,18 @@ public class SimulationScreen {
     resetButton.getStyleClass().add("reset-button");
     Button loadButton = new Button(simInfo.getString("load_file"));
     loadButton.getStyleClass().add("load-button");
+    Button recordButton = new Button(simInfo.getString("record"));
+    recordButton.getStyleClass().add("record-button");
+    Button replayButton = new Button(simInfo.getString("replay"));
+    replayButton.getStyleClass().add("replay-button");
 
     startButton.setOnAction(e -> myController.startSimulation());
     controlButtons.add(startButton);
     pauseButton.setOnAction(e -> {
-      if (myController.getSimLoop() != null) {
-        if (myController.getSimLoop().getStatus() == Animation.Status.RUNNING) {
-          myController.getSimLoop().pause();  // Pause without destroying it
-        } else if (myController.getSimLoop().getStatus() == Animation.Status.PAUSED) {  //REMOVE?
-          myController.getSimLoop().play();  // Resume from where it left off
-        }
+      if (myController.getSimStatus() == Animation.Status.RUNNING) {
+        myController.pauseSimulation();  // Pause without destroying it
+      } else {
+        myController.resumeSimulation();  // Resume from where it left off
       }
     });
     controlButtons.add(pauseButton);
@@ -175,6 +217,30 @@ public class SimulationScreen {
       }
     });
     controlButtons.add(loadButton);
+    recordButton.setOnAction(e -> {
+      if (recording) {
+        stopRecording();
+        recordButton.setText(simInfo.getString("record"));
+        return;
+      }
+      File newFile = myController.getFileChooser().showSaveDialog(myController.getStage());
+      if (newFile != null && myReplay == null) {
+        startRecording(newFile);
+        recordButton.setText(simInfo.getString("stop_recording"));
+      }
+    });
+    controlButtons.add(recordButton);
+    replayButton.setOnAction(e -> {
+      File newFile = myController.getFileChooser().showOpenDialog(myController.getStage());
+      if (newFile != null) {
+        if (recording) {
+          stopRecording();
+          recordButton.setText(simInfo.getString("record"));
+        }
+        replay(newFile);
+      }
+    });
+    controlButtons.add(replayButton);
     return controlButtons;
   }
 
@@ -187,9 +253,9 @@ public class SimulationScreen {
     Slider speedSlider = new Slider(0.1, 2.0, SECOND_DELAY);
     speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
       SECOND_DELAY = 2.1 - newVal.doubleValue();  // Update speed delay
-
-      if (myController.getSimLoop() != null) {
-        myController.getSimLoop().setRate(1.0 / SECOND_DELAY);  // Adjust the playback speed
+      myController.setStepsPerSecond(1.0 / SECOND_DELAY);  // One generation per delay
+      if (runMode == RunMode.TIMED) {
+        myRunner.setStepsPerSecond(myController.getStepsPerSecond());
       }
     });
     speedSlider.getStyleClass().add("speed-slider");
@@ -212,7 +278,8 @@ public class SimulationScreen {
     edgeDropdown.getItems().addAll("Toroidal", "Mirror", "Infinite");
     edgeDropdown.setValue(myParser.getEdgeType());
     edgeDropdown.setOnAction(e -> {
-      myGrid.setEdgeHandler(EdgeFactory.createEdgeHandler(edgeDropdown.getValue()));
+      String edgeType = edgeDropdown.getValue();
+      myRunner.submit(() -> myGrid.setEdgeHandler(EdgeFactory.createEdgeHandler(edgeType)));
     });
 
 // Neighborhood Dropdown
@@ -220,8 +287,9 @@ public class SimulationScreen {
     neighborhoodDropdown.getItems().addAll("VonNeumann", "ExtendedMoore");
     neighborhoodDropdown.setValue(myParser.getNeighborhoodType());
     neighborhoodDropdown.setOnAction(e -> {
-      myGrid.setNeighborhoodStrategy(
-          NeighborhoodFactory.createNeighborhoodStrategy(neighborhoodDropdown.getValue()));
+      String neighborhoodType = neighborhoodDropdown.getValue();
+      myRunner.submit(() -> myGrid.setNeighborhoodStrategy(
+          NeighborhoodFactory.createNeighborhoodStrategy(neighborhoodType)));
     });
 
 // Shape Dropdown (Dynamic from Factory)
@@ -238,7 +306,8 @@ public class SimulationScreen {
 
       String fullyQualifiedShape = ShapeFactory.getFullyQualifiedName(selectedShape);
 
-      myGrid.setCellShape(CellShapeFactory.createCellShape(fullyQualifiedShape));
+      myRunner.submit(
+          () -> myGrid.setCellShape(CellShapeFactory.createCellShape(fullyQualifiedShape)));
       myGridView.redrawGrid(myParser.getRows(), myParser.getColumns(), fullyQualifiedShape);
 
       System.out.println("Redrawing grid with shape: " + fullyQualifiedShape);
@@ -274,14 +343,289 @@ public class SimulationScreen {
   }
 
   /**
-   * Updates simulation screen by updating Grid, then GridView
+   * Updates simulation screen by showing the newest generation the runner computed, if any. The
+   * grid steps on the runner's thread, so this only ever repaints.
    */
   public void update() {
-    myGrid.update();
-    myGridView.update();
+    if (myRunner == null) {
+      return;
+    }
+    if (myReplay != null) {
+      updateReplay();
+      return;
+    }
+    if (myRunner.getFailure() != null) {
+      myController.stopSimLoop();
+      RuntimeException failure = myRunner.getFailure();
+      myRunner.stop();
+      Platform.runLater(() -> myController.showMessage(failure.getMessage()));
+      return;
+    }
+    GridSnapshot snapshot = myRunner.poll();
+    if (snapshot != null) {
+      myGridView.update(snapshot);
+    }
+    sampleGenerationRate();
+  }
+
+  /**
+   * Updates the generations-per-second counter about twice a second.
+   */
+  private void sampleGenerationRate() {
+    long now = System.nanoTime();
+    long generation = myRunner.getGeneration();
+    if (rateSampleTime == 0) {
+      rateSampleTime = now;
+      rateSampleGeneration = generation;
+    } else if (now - rateSampleTime >= RATE_SAMPLE_NANOS) {
+      myGridView.setGenerationsPerSecond(
+          (generation - rateSampleGeneration) * 1e9 / (now - rateSampleTime));
+      rateSampleTime = now;
+      rateSampleGeneration = generation;
+    }
+  }
+
+  /**
+   * Creates the controls choosing how the grid is stepped: a run mode and the number of steps per
+   * frame or the generation to fast-forward to.
+   *
+   * @return the mode label, the mode dropdown and the value field
+   */
+  private List<Node> makeRunModeControls() {
+    ComboBox<RunMode> modeDropdown = new ComboBox<>();
+    modeDropdown.getItems().addAll(RunMode.values());
+    modeDropdown.setValue(runMode);
+    modeDropdown.getStyleClass().add("mode-dropdown");
+    TextField valueField = new TextField(String.valueOf(modeValue));
+    valueField.setPrefColumnCount(6);
+    valueField.getStyleClass().add("mode-value");
+    modeDropdown.setOnAction(e -> setRunMode(modeDropdown.getValue(), valueField.getText()));
+    valueField.setOnAction(e -> {
+      if (myReplay != null) {
+        seekReplay(valueField.getText());
+      } else {
+        setRunMode(modeDropdown.getValue(), valueField.getText());
+      }
+    });
+    return List.of(new Label("Mode:"), modeDropdown, valueField);
+  }
+
+  /**
+   * Switches the run mode. A fast-forward starts right away.
+   *
+   * @param mode  the new run mode
+   * @param value the steps per frame or the generation to fast-forward to; ignored by the other
+   *              modes, and left unchanged if it is not a positive number
+   */
+  public void setRunMode(RunMode mode, String value) {
+    try {
+      int parsed = Integer.parseInt(value.trim());
+      if (parsed > 0) {
+        modeValue = parsed;
+      }
+    } catch (NumberFormatException | NullPointerException e) {
+      // Keep the previous value.
+    }
+    runMode = mode == null ? RunMode.TIMED : mode;
+    applyRunMode();
+    if (runMode == RunMode.FAST_FORWARD) {
+      myController.startSimulation();
+    }
+  }
+
+  public RunMode getRunMode() {
+    return runMode;
+  }
+
+  private void applyRunMode() {
+    switch (runMode) {
+      case TIMED -> {
+        myRunner.setStepsPerFrame(0);
+        myRunner.setStepsPerSecond(myController.getStepsPerSecond());
+      }
+      case STEPS_PER_FRAME -> {
+        myRunner.setStepsPerFrame(modeValue);
+        myRunner.setStepsPerSecond(0);
+      }
+      case MAX_SPEED, FAST_FORWARD -> {
+        myRunner.setStepsPerFrame(0);
+        myRunner.setStepsPerSecond(0);
+      }
+    }
+  }
+
+  /**
+   * Starts or resumes stepping the grid on the runner's thread.
+   */
+  public void start() {
+    if (myRunner == null || myReplay != null) {
+      return;
+    }
+    if (runMode == RunMode.FAST_FORWARD) {
+      myRunner.fastForwardTo(modeValue);
+    } else {
+      myRunner.start();
+    }
+  }
+
+  /**
+   * Stops stepping the grid after the current step.
+   */
+  public void pause() {
+    if (myRunner != null) {
+      myRunner.pause();
+    }
+  }
+
+  /**
+   * Ends the runner's thread for good, e.g. before another simulation is loaded.
+   */
+  public void stop() {
+    if (myRunner != null) {
+      myRunner.stop();
+    }
+    closeReplay();
+  }
+
+  /**
+   * Starts recording every generation the runner computes into a replay file, beginning with the
+   * current one.
+   *
+   * @param file the replay file to write
+   */
+  public void startRecording(File file) {
+    ResourceBundle simInfo = ResourceBundle.getBundle("SimInfo", myController.getLocale());
+    recording = true;
+    myRunner.submit(() -> {
+      try {
+        myRunner.setRecorder(new ReplayRecorder(file, myGrid, myRunner.getGeneration(),
+            ReplayRecorder.DEFAULT_KEYFRAME_INTERVAL));
+      } catch (IOException e) {
+        Platform.runLater(
+            () -> myController.showMessage(simInfo.getString("record_error") + e.getMessage()));
+      }
+    });
+  }
+
+  /**
+   * Stops recording and closes the replay file.
+   */
+  public void stopRecording() {
+    recording = false;
+    myRunner.submit(() -> myRunner.setRecorder(null));
+  }
+
+  /**
+   * Pauses the simulation and shows a recorded run instead, starting at its first generation. The
+   * recording is played forward at the speed set by the slider while the simulation loop runs, and
+   * the mode value field seeks to the generation typed into it. The rulesets are never run; reset
+   * to go back to the simulation.
+   *
+   * @param file a replay file recorded from this simulation
+   */
+  public void replay(File file) {
+    ResourceBundle simInfo = ResourceBundle.getBundle("SimInfo", myController.getLocale());
+    myRunner.pause();
+    closeReplay();
+    try {
+      myReplay = new ReplayReader(file);
+      myGridView.update(myReplay.seek(myReplay.getFirstGeneration()));
+    } catch (IOException | IllegalArgumentException e) {
+      closeReplay();
+      myController.showMessage(simInfo.getString("replay_error") + e.getMessage());
+    }
+  }
+
+  /**
+   * Shows the replayed generation typed by the user.
+   *
+   * @param value the generation to show
+   */
+  private void seekReplay(String value) {
+    try {
+      myGridView.update(myReplay.seek(Long.parseLong(value.trim())));
+    } catch (NumberFormatException e) {
+      // Keep showing the current generation.
+    } catch (IOException e) {
+      failReplay(e);
+    }
+  }
+
+  /**
+   * Plays as many recorded generations as the speed slider allows for the time since the last
+   * frame.
+   */
+  private void updateReplay() {
+    long now = System.nanoTime();
+    long elapsed = replayClock == 0 ? 0 : Math.min(now - replayClock, MAX_REPLAY_FRAME_NANOS);
+    replayClock = now;
+    replaySteps += elapsed * 1e-9 * myController.getStepsPerSecond();
+    try {
+      for (; replaySteps >= 1; replaySteps--) {
+        GridSnapshot snapshot = myReplay.next();
+        if (snapshot == null) {
+          replaySteps = 0;
+          return;
+        }
+        myGridView.update(snapshot);
+      }
+    } catch (IOException e) {
+      failReplay(e);
+    }
+  }
+
+  private void failReplay(IOException e) {
+    ResourceBundle simInfo = ResourceBundle.getBundle("SimInfo", myController.getLocale());
+    myController.stopSimLoop();
+    closeReplay();
+    Platform.runLater(
+        () -> myController.showMessage(simInfo.getString("replay_error") + e.getMessage()));
+  }
+
+  private void closeReplay() {
+    if (myReplay == null) {
+      return;
+    }
+    try {
+      myReplay.close();
+    } catch (IOException e) {
+      // Nothing was written, so there is nothing to lose.
+    }
+    myReplay = null;
+    replayClock = 0;
+    replaySteps = 0;
+  }
+
+  /**
+   * Writes the current grid on the runner's thread, so the save never sees a half-computed
+   * generation and never blocks the display. Files ending in
+   * {@link BinarySnapshotParser#EXTENSION} get a binary snapshot with a full checkpoint of the
+   * run, which resumes where it stopped when loaded; any other file gets the XML format.
+   *
+   * @param file  the file to write
+   * @param title the title to store in the file, or blank to keep the loaded one
+   */
+  public void saveSimulation(File file, String title) {
+    ResourceBundle simInfo = ResourceBundle.getBundle("SimInfo", myController.getLocale());
+    myRunner.submit(() -> {
+      try {
+        if (file.getName().endsWith(BinarySnapshotParser.EXTENSION)) {
+          BinarySnapshotWriter writer = new BinarySnapshotWriter(myParser);
+          writer.setTitle(title);
+          writer.setGeneration(myRunner.getGeneration());
+          writer.write(myGrid, file);
+        } else {
+          XMLConfigWriter writer = new XMLConfigWriter(myParser);
+          writer.setTitle(title);
+          writer.write(myGrid, file);
+        }
+      } catch (IOException | InvalidXMLConfigurationException e) {
+        Platform.runLater(() -> myController.showMessage(simInfo.getString("save_error")));
+      }
+    });
   }
 
-  public XMLParser getMyParser() {
+  public Parser getMyParser() {
     return myParser;
   }
 
@@ -0,0 +1,76 @@
+package cellsociety.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.grid.Grid;
+import cellsociety.parser.XMLParser;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BatchRunnerTest {
+
+  @Test
+  void run_blinkerForThreeSteps_endsVertical() throws Exception {
+    BatchRunner runner = new BatchRunner(new File("data/conway/conway_test_blinker.xml"));
+    long[] timings = runner.run(3);
+
+    assertEquals(3, timings.length);
+    Grid grid = runner.getGrid();
+    assertEquals("A", grid.getStateSymbol(1, 2));
+    assertEquals("A", grid.getStateSymbol(2, 2));
+    assertEquals("A", grid.getStateSymbol(3, 2));
+    assertEquals("D", grid.getStateSymbol(2, 1));
+  }
+
+  @Test
+  void writeState_finalState_reloadsWithSameStates() throws Exception {
+    BatchRunner runner = new BatchRunner(new File("data/fire/Fire1.xml"));
+    runner.run(5);
+    File output = tempFile(".xml");
+    runner.writeState(output);
+
+    XMLParser reloaded = new XMLParser(output);
+    Grid grid = runner.getGrid();
+    String[] expected = new String[grid.getRows() * grid.getColumns()];
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getColumns(); col++) {
+        expected[row * grid.getColumns() + col] = grid.getStateSymbol(row, col);
+      }
+    }
+    assertArrayEquals(expected, reloaded.getInitialStates());
+    assertEquals("Toroidal", reloaded.getEdgeType());
+    assertEquals("0.03", reloaded.getSimVarsMap().get("probGrow"));
+  }
+
+  @Test
+  void writeTimings_twoSteps_writesHeaderAndRows() throws Exception {
+    Path output = tempFile(".csv").toPath();
+    BatchRunner.writeTimings(new long[]{10, 20}, output);
+
+    List<String> lines = Files.readAllLines(output);
+    assertEquals(List.of("step,nanos", "1,10", "2,20"), lines);
+  }
+
+  @Test
+  void writeState_sugarscape_keepsSugarValues() throws Exception {
+    BatchRunner runner = new BatchRunner(new File("data/sugarscape/SugarScape1.xml"));
+    runner.run(1);
+    File output = tempFile(".xml");
+    runner.writeState(output);
+
+    XMLParser reloaded = new XMLParser(output);
+    assertEquals(25, reloaded.getValues().length);
+    assertTrue(reloaded.getValues()[0] >= 0);
+  }
+
+  private File tempFile(String suffix) throws Exception {
+    File file = Files.createTempFile("batch", suffix).toFile();
+    file.deleteOnExit();
+    return file;
+  }
+}
@@ -0,0 +1,100 @@
+package cellsociety.model.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.engine.BitLifeEngine.Boundary;
+import cellsociety.model.grid.ConwayGrid;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.handler.EdgeHandler;
+import cellsociety.model.grid.handler.MirrorEdgeHandler;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.grid.storage.StorageType;
+import cellsociety.model.ruleset.GeneralConwayRuleset;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BitLifeEngineTest {
+
+  @Test
+  void step_BlinkerOscillates() {
+    BitLifeEngine engine = BitLifeEngine.fromRule("B3/S23", 5, 5, Boundary.DEAD);
+    engine.setAlive(2, 1, true);
+    engine.setAlive(2, 2, true);
+    engine.setAlive(2, 3, true);
+    engine.step();
+    assertTrue(engine.isAlive(1, 2));
+    assertTrue(engine.isAlive(3, 2));
+    assertFalse(engine.isAlive(2, 1));
+    engine.step();
+    assertTrue(engine.isAlive(2, 1));
+    assertEquals(3, engine.getPopulation());
+  }
+
+  @Test
+  void step_GliderWrapsAcrossWordBoundaryOnTorus() {
+    BitLifeEngine engine = BitLifeEngine.fromRule("B3/S23", 8, 130, Boundary.TOROIDAL);
+    int[][] glider = {{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}};
+    for (int[] cell : glider) {
+      engine.setAlive(cell[0], cell[1] + 60, true);
+    }
+    // A glider moves one cell diagonally every four generations.
+    engine.step(4 * 8);
+    assertEquals(5, engine.getPopulation());
+    for (int[] cell : glider) {
+      assertTrue(engine.isAlive(cell[0], cell[1] + 68));
+    }
+  }
+
+  @Test
+  void step_MatchesObjectGridOnTorus() {
+    assertMatchesObjectGrid("B3/S23", new ToroidalEdgeHandler(), 12, 70);
+  }
+
+  @Test
+  void step_MatchesObjectGridWithMirroredEdges() {
+    assertMatchesObjectGrid("B36/S23", new MirrorEdgeHandler(), 9, 64);
+  }
+
+  // Negative Test: Ensure boards too small to mirror are rejected
+  @Test
+  void constructor_ThrowsExceptionForSingleRowMirror() {
+    assertThrows(IllegalArgumentException.class,
+        () -> BitLifeEngine.fromRule("B3/S23", 1, 10, Boundary.MIRROR));
+  }
+
+  private void assertMatchesObjectGrid(String rule, EdgeHandler handler, int rows, int cols) {
+    String[] soup = new String[rows * cols];
+    Random random = new Random(11);
+    for (int i = 0; i < soup.length; i++) {
+      soup[i] = random.nextInt(3) == 0 ? "A" : "D";
+    }
+    GeneralConwayRuleset compactRules = new GeneralConwayRuleset(Map.of("rules", rule));
+    compactRules.setStorageType(StorageType.COMPACT);
+    ConwayGrid bitGrid = (ConwayGrid) compactRules.createGrid(rows, cols, soup);
+    Grid objectGrid = new GeneralConwayRuleset(Map.of("rules", rule))
+        .createGrid(rows, cols, soup);
+    for (Grid grid : new Grid[]{bitGrid, objectGrid}) {
+      grid.setEdgeHandler(handler);
+      grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+      grid.setCellShape(new RectangularShape());
+    }
+    assertTrue(bitGrid.usesBitEngine());
+
+    bitGrid.advance(6);
+    for (int i = 0; i < 6; i++) {
+      objectGrid.update();
+    }
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        assertEquals(objectGrid.getCell(row, col).getCurrState(),
+            bitGrid.getCell(row, col).getCurrState(), "cell (" + row + ", " + col + ")");
+      }
+    }
+  }
+}
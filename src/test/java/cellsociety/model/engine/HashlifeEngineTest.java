@@ -0,0 +1,141 @@
+package cellsociety.model.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.cell.ConwayCell.ConwayState;
+import cellsociety.model.engine.BitLifeEngine.Boundary;
+import cellsociety.model.grid.ConwayGrid;
+import cellsociety.model.grid.handler.InfiniteEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.neighborhood.VonNeumannNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.ruleset.ConwayRuleset;
+import cellsociety.model.ruleset.GeneralConwayRuleset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HashlifeEngineTest {
+
+  private static final int[][] GLIDER = {{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}};
+
+  @Test
+  void jump_GliderTravelsOneCellEveryFourGenerations() {
+    HashlifeEngine engine = HashlifeEngine.fromRule("B3/S23", HashlifeEngine.DEFAULT_CACHE_SIZE);
+    engine.load(3, 3, id -> isGliderCell(id / 3, id % 3));
+    long periods = 1L << 20;
+    engine.jump(4 * periods);
+    assertEquals(4 * periods, engine.getGeneration());
+    assertEquals(5, engine.getPopulation());
+    for (int[] cell : GLIDER) {
+      assertTrue(engine.isAlive(cell[0] + periods, cell[1] + periods));
+    }
+  }
+
+  @Test
+  void jump_MatchesBitEngineWithSmallEvictingCache() {
+    int size = 160;
+    int soup = 16;
+    Random random = new Random(5);
+    boolean[] alive = new boolean[soup * soup];
+    BitLifeEngine reference = BitLifeEngine.fromRule("B36/S23", size, size, Boundary.DEAD);
+    for (int i = 0; i < alive.length; i++) {
+      alive[i] = random.nextBoolean();
+      reference.setAlive(size / 2 + i / soup, size / 2 + i % soup, alive[i]);
+    }
+    HashlifeEngine engine = HashlifeEngine.fromRule("B36/S23", 256);
+    engine.load(soup, soup, id -> alive[id]);
+
+    engine.jump(37);
+    reference.step(37);
+    assertTrue(engine.getCacheSize() <= 256);
+    assertEquals(reference.getPopulation(), engine.getPopulation());
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        assertEquals(reference.isAlive(row, col),
+            engine.isAlive(row - size / 2, col - size / 2), "cell (" + row + ", " + col + ")");
+      }
+    }
+  }
+
+  @Test
+  void advance_InfiniteConwayGridGrowsToHoldTheGlider() {
+    String[] states = new String[9];
+    Arrays.fill(states, "D");
+    for (int[] cell : GLIDER) {
+      states[cell[0] * 3 + cell[1]] = "A";
+    }
+    ConwayGrid grid = new ConwayGrid(3, 3, new ConwayRuleset(), states);
+    grid.setEdgeHandler(new InfiniteEdgeHandler());
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+
+    grid.advance(40);
+    assertArrayEquals(new int[]{13, 13}, new int[]{grid.getRows(), grid.getColumns()});
+    for (int[] cell : GLIDER) {
+      assertEquals(ConwayState.ALIVE, grid.getCell(cell[0] + 10, cell[1] + 10).getCurrState());
+    }
+  }
+
+  @Test
+  void advance_InfiniteGridHashlifeCannotStep_StepsOneGenerationAtATime() {
+    ConwayGrid jumped = infiniteGlider(new ConwayRuleset());
+    ConwayGrid stepped = infiniteGlider(new ConwayRuleset());
+    jumped.setNeighborhoodStrategy(new VonNeumannNeighborhood());
+    stepped.setNeighborhoodStrategy(new VonNeumannNeighborhood());
+
+    jumped.advance(3);
+    for (int i = 0; i < 3; i++) {
+      stepped.update();
+    }
+    assertEquals(stepped.getRows(), jumped.getRows());
+    assertEquals(stepped.getColumns(), jumped.getColumns());
+    for (int row = 0; row < stepped.getRows(); row++) {
+      for (int col = 0; col < stepped.getColumns(); col++) {
+        assertEquals(stepped.getCell(row, col).getCurrState(),
+            jumped.getCell(row, col).getCurrState());
+      }
+    }
+  }
+
+  @Test
+  void update_InfiniteGridWithBirthWithoutNeighbors_Steps() {
+    ConwayGrid grid = infiniteGlider(new GeneralConwayRuleset(Map.of("rules", "B03/S23")));
+    grid.update();
+    grid.advance(2);
+    assertEquals(3, grid.getRows());
+    assertEquals(3, grid.getColumns());
+  }
+
+  private ConwayGrid infiniteGlider(ConwayRuleset rules) {
+    String[] states = new String[9];
+    Arrays.fill(states, "D");
+    for (int[] cell : GLIDER) {
+      states[cell[0] * 3 + cell[1]] = "A";
+    }
+    ConwayGrid grid = new ConwayGrid(3, 3, rules, states);
+    grid.setEdgeHandler(new InfiniteEdgeHandler());
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+    return grid;
+  }
+
+  // Negative Test: Ensure rules that fill the empty plane are rejected
+  @Test
+  void constructor_ThrowsExceptionForBirthWithoutNeighbors() {
+    assertThrows(IllegalArgumentException.class, () -> HashlifeEngine.fromRule("B03/S23", 16));
+  }
+
+  private boolean isGliderCell(int row, int col) {
+    for (int[] cell : GLIDER) {
+      if (cell[0] == row && cell[1] == col) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,150 @@
+package cellsociety.model.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import cellsociety.model.cell.SegregationCell.SegregationState;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.NeighborTable;
+import cellsociety.model.grid.SegregationGrid;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.ruleset.SegregationRuleset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class SegregationEngineTest {
+
+  private static final byte RED = (byte) SegregationState.RED.ordinal();
+  private static final byte BLUE = (byte) SegregationState.BLUE.ordinal();
+  private static final byte EMPTY = (byte) SegregationState.EMPTY.ordinal();
+
+  private static SegregationGrid createGrid(int size, long seed) {
+    Random random = new Random(seed);
+    String[] states = new String[size * size];
+    for (int i = 0; i < states.length; i++) {
+      int roll = random.nextInt(10);
+      states[i] = roll < 4 ? "R" : roll < 8 ? "BLU" : "EM";
+    }
+    SegregationRuleset ruleset = new SegregationRuleset(Map.of("thresh", "0.5"));
+    SegregationGrid grid = (SegregationGrid) ruleset.createGrid(size, size, states);
+    grid.setEdgeHandler(new ToroidalEdgeHandler());
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+    return grid;
+  }
+
+  /**
+   * Counts the unsatisfied agents of a grid by scanning every cell, as the ruleset does.
+   */
+  private static int countUnsatisfied(Grid grid, double threshold) {
+    NeighborTable table = grid.getNeighborTable();
+    int columns = grid.getColumns();
+    int unsatisfied = 0;
+    for (int id = 0; id < table.getCellCount(); id++) {
+      Object state = grid.getCell(id / columns, id % columns).getCurrState();
+      if (state == SegregationState.EMPTY) {
+        continue;
+      }
+      double similar = 0;
+      double occupied = 0;
+      for (int i = table.getStart(id); i < table.getEnd(id); i++) {
+        int neighbor = table.getIndices()[i];
+        Object neighborState = grid.getCell(neighbor / columns, neighbor % columns).getCurrState();
+        similar += neighborState == state ? 1 : 0;
+        occupied += neighborState != SegregationState.EMPTY ? 1 : 0;
+      }
+      if (occupied != 0 && similar / occupied <= threshold) {
+        unsatisfied++;
+      }
+    }
+    return unsatisfied;
+  }
+
+  @Test
+  void step_CountersMatchFullScanAfterEveryStep() {
+    SegregationGrid grid = createGrid(30, 11);
+    int agents = 0;
+    for (int id = 0; id < 900; id++) {
+      agents += grid.getCell(id / 30, id % 30).getCurrState() != SegregationState.EMPTY ? 1 : 0;
+    }
+
+    for (int step = 0; step < 20; step++) {
+      grid.update();
+      SegregationEngine engine = grid.getEngine();
+      assertNotNull(engine);
+      assertEquals(countUnsatisfied(grid, 0.5), engine.getUnsatisfiedCount());
+      assertEquals(900 - agents, engine.getEmptyCount());
+    }
+  }
+
+  @Test
+  void step_MovesOnlyAsManyAgentsAsThereAreEmptyCells() {
+    NeighborTable table = createGrid(4, 1).getNeighborTable();
+    SegregationEngine engine = new SegregationEngine(table, 3, EMPTY, 0.5);
+    byte[] states = new byte[16];
+    for (int i = 0; i < 16; i++) {
+      states[i] = i % 2 == 0 ? RED : BLUE;
+    }
+    states[5] = EMPTY;
+    engine.load(states);
+    engine.setRandom(new Random(2));
+
+    assertEquals(1, engine.step());
+    int[] moves = engine.getMoves();
+    assertEquals(5, moves[1]);
+    assertEquals(EMPTY, engine.getCode(moves[0]));
+    assertEquals(1, engine.getEmptyCount());
+  }
+
+  @Test
+  void step_SatisfiedBoardDoesNotMove() {
+    NeighborTable table = createGrid(4, 1).getNeighborTable();
+    SegregationEngine engine = new SegregationEngine(table, 3, EMPTY, 0.5);
+    byte[] states = new byte[16];
+    Arrays.fill(states, RED);
+    states[0] = EMPTY;
+    engine.load(states);
+
+    assertEquals(0, engine.getUnsatisfiedCount());
+    assertEquals(0, engine.step());
+  }
+
+  @Test
+  void load_ParallelStripesMatchSequentialScan() {
+    SegregationGrid grid = createGrid(37, 5);
+    NeighborTable table = grid.getNeighborTable();
+    byte[] states = new byte[37 * 37];
+    for (int id = 0; id < states.length; id++) {
+      states[id] = (byte) ((Enum<?>) grid.getCell(id / 37, id % 37).getCurrState()).ordinal();
+    }
+    SegregationEngine sequential = new SegregationEngine(table, 3, EMPTY, 0.5);
+    sequential.load(states);
+    SegregationEngine parallel = new SegregationEngine(table, 3, EMPTY, 0.5);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      parallel.load(states, pool, 37);
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(countUnsatisfied(grid, 0.5), parallel.getUnsatisfiedCount());
+    assertEquals(sequential.getUnsatisfiedCount(), parallel.getUnsatisfiedCount());
+    assertEquals(sequential.getEmptyCount(), parallel.getEmptyCount());
+  }
+
+  @Test
+  void update_MultiThreadedGridKeepsCountersExact() {
+    SegregationGrid grid = createGrid(25, 9);
+    grid.setThreadCount(3);
+    for (int step = 0; step < 5; step++) {
+      grid.update();
+      assertEquals(countUnsatisfied(grid, 0.5), grid.getEngine().getUnsatisfiedCount());
+    }
+    grid.setThreadCount(1);
+  }
+}
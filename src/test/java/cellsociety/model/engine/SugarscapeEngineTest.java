@@ -0,0 +1,204 @@
+package cellsociety.model.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.agent.SugarscapeAgent;
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.grid.SugarscapeGrid;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.ruleset.SugarscapeRuleset;
+import cellsociety.model.state.SugarscapeState;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SugarscapeEngineTest {
+
+  private static SugarscapeEngine board(int vision, int rate, int interval) {
+    return new SugarscapeEngine(5, 5, vision, 1, rate, interval);
+  }
+
+  @Test
+  void getVisionOffsets_ListsNearestCellsFirst() {
+    int[] offsets = board(2, 1, 1).getVisionOffsets(2);
+    assertArrayEquals(new int[]{-1, 0, 1, 0, 0, -1, 0, 1, -2, 0, 2, 0, 0, -2, 0, 2}, offsets);
+  }
+
+  @Test
+  void step_AgentMovesToRichestPatchInSight() {
+    SugarscapeEngine engine = board(2, 0, 100);
+    SugarscapeAgent agent = new SugarscapeAgent(0);
+    engine.placeAgent(12, agent, 2);
+    engine.setSugar(11, 3);
+    engine.setSugar(22, 5);
+    engine.step();
+
+    assertSame(agent, engine.getAgent(22));
+    assertNull(engine.getAgent(12));
+    assertEquals(0, engine.getSugar(22));
+    assertEquals(4, agent.getAgentSugar());
+  }
+
+  @Test
+  void step_AgentSkipsOccupiedPatches() {
+    SugarscapeEngine engine = board(1, 0, 100);
+    SugarscapeAgent mover = new SugarscapeAgent(0);
+    engine.placeAgent(12, mover, 1);
+    engine.placeAgent(13, new SugarscapeAgent(10), 0);
+    engine.setSugar(13, 9);
+    engine.setSugar(7, 2);
+    engine.step();
+
+    assertSame(mover, engine.getAgent(7));
+    assertEquals(1, mover.getAgentSugar());
+  }
+
+  @Test
+  void step_SugarRegrowsAtIntervalUpToMaximum() {
+    SugarscapeEngine engine = board(1, 2, 2);
+    engine.setMaxSugar(0, 3);
+    engine.step();
+    assertEquals(0, engine.getSugar(0));
+    engine.step();
+    assertEquals(2, engine.getSugar(0));
+    engine.step();
+    engine.step();
+    assertEquals(3, engine.getSugar(0));
+  }
+
+  @Test
+  void getSugar_CountsRegrowthsSinceLastHarvest() {
+    SugarscapeEngine engine = board(1, 1, 3);
+    engine.setMaxSugar(6, 10);
+    engine.step();
+    engine.step();
+    engine.setSugar(6, 0);
+    engine.step();
+    assertEquals(1, engine.getSugar(6));
+    engine.step();
+    engine.step();
+    assertEquals(1, engine.getSugar(6));
+    engine.step();
+    assertEquals(2, engine.getSugar(6));
+    assertEquals(0, engine.getSugar(7));
+  }
+
+  @Test
+  void step_BoundedBoardDoesNotSeeAcrossEdges() {
+    SugarscapeEngine engine = board(1, 0, 100);
+    engine.setWrapping(false);
+    SugarscapeAgent agent = new SugarscapeAgent(0);
+    engine.placeAgent(0, agent, 1);
+    engine.setSugar(4, 9);
+    engine.setSugar(1, 1);
+    engine.step();
+
+    assertSame(agent, engine.getAgent(1));
+  }
+
+  @Test
+  void update_BoundPatchesFollowTheEngine() {
+    SugarscapeRuleset ruleset = new SugarscapeRuleset(Map.of("sugarGrowBackRate", "1",
+        "sugarGrowBackInterval", "1", "agentVision", "1", "agentMetabolism", "1"));
+    ruleset.setInitialValues(new int[]{0, 0, 0, 4, 2, 0, 0, 0, 0});
+    String[] states = {"PATCH", "PATCH", "PATCH", "PATCH", "AGENT", "PATCH", "PATCH", "PATCH",
+        "PATCH"};
+    SugarscapeGrid grid = ruleset.createGrid(3, 3, states);
+    grid.setEdgeHandler(new ToroidalEdgeHandler());
+    grid.update();
+
+    SugarscapePatch left = (SugarscapePatch) grid.getCell(1, 0);
+    assertEquals(SugarscapeState.AGENT, left.getCurrState());
+    assertEquals(SugarscapeState.PATCH, grid.getCell(1, 1).getCurrState());
+    assertEquals(0, left.getSugarAmount());
+    assertEquals(1, ruleset.getEngine().getAgentCount());
+  }
+
+  @Test
+  void removeAgent_LastAgentTakesItsSlot() {
+    SugarscapeEngine engine = board(1, 0, 100);
+    SugarscapeAgent first = new SugarscapeAgent(0);
+    SugarscapeAgent second = new SugarscapeAgent(0);
+    SugarscapeAgent third = new SugarscapeAgent(0);
+    engine.placeAgent(0, first, 1);
+    engine.placeAgent(12, second, 1);
+    engine.placeAgent(24, third, 1);
+    engine.removeAgent(0);
+    engine.removeAgent(24);
+
+    assertEquals(1, engine.getAgentCount());
+    assertNull(engine.getAgent(0));
+    assertNull(engine.getAgent(24));
+    engine.setSugar(13, 4);
+    engine.step();
+    assertSame(second, engine.getAgent(13));
+  }
+
+  @Test
+  void step_ListsPatchesAgentsLeftAndHarvested() {
+    SugarscapeEngine engine = board(1, 1, 2);
+    engine.placeAgent(12, new SugarscapeAgent(0), 1);
+    engine.setSugar(7, 3);
+    engine.step();
+
+    assertFalse(engine.regrewLastStep());
+    assertEquals(2, engine.getTouchedCount());
+    assertEquals(12, engine.getTouchedPositions()[0]);
+    assertEquals(7, engine.getTouchedPositions()[1]);
+    engine.step();
+    assertTrue(engine.regrewLastStep());
+  }
+
+  @Test
+  void update_MarksOnlyTouchedPatchesChanged() {
+    SugarscapeRuleset ruleset = new SugarscapeRuleset(Map.of("sugarGrowBackRate", "1",
+        "sugarGrowBackInterval", "100", "agentVision", "1", "agentMetabolism", "1"));
+    ruleset.setInitialValues(new int[]{0, 0, 0, 4, 2, 0, 0, 0, 0});
+    String[] states = {"PATCH", "PATCH", "PATCH", "PATCH", "AGENT", "PATCH", "PATCH", "PATCH",
+        "PATCH"};
+    SugarscapeGrid grid = ruleset.createGrid(3, 3, states);
+    grid.setEdgeHandler(new ToroidalEdgeHandler());
+    grid.clearChangedCells();
+    grid.update();
+
+    assertFalse(grid.haveAllCellsChanged());
+    IntBuffer changed = grid.getChangedCells();
+    int[] ids = new int[changed.remaining()];
+    changed.get(ids);
+    Arrays.sort(ids);
+    assertArrayEquals(new int[]{3, 4}, ids);
+  }
+
+  @Test
+  void createGrid_NegativeVision_UsesDefault() {
+    // Negative Test: a negative vision falls back to the default instead of failing mid-step
+    SugarscapeRuleset ruleset = new SugarscapeRuleset(Map.of("sugarGrowBackRate", "1",
+        "sugarGrowBackInterval", "1", "agentVision", "-2", "agentMetabolism", "1"));
+    ruleset.createGrid(2, 2, new String[]{"PATCH", "AGENT", "PATCH", "PATCH"});
+    assertEquals(1, ruleset.getEngine().getDefaultVision());
+  }
+
+  @Test
+  void placeAgent_NegativeVision_Throws() {
+    // Negative Test: an agent cannot see a negative number of patches
+    SugarscapeEngine engine = board(1, 0, 100);
+    assertThrows(IllegalArgumentException.class,
+        () -> engine.placeAgent(3, new SugarscapeAgent(0), -1));
+  }
+
+  @Test
+  void placeAgent_OccupiedPatch_Throws() {
+    // Negative Test: a patch holds at most one agent
+    SugarscapeEngine engine = board(1, 0, 100);
+    engine.placeAgent(3, new SugarscapeAgent(0), 1);
+    assertThrows(IllegalStateException.class,
+        () -> engine.placeAgent(3, new SugarscapeAgent(0), 1));
+  }
+}
@@ -0,0 +1,144 @@
+package cellsociety.model.engine;
+
+import static cellsociety.model.engine.WatorEngine.FISH;
+import static cellsociety.model.engine.WatorEngine.SHARK;
+import static cellsociety.model.engine.WatorEngine.WATER;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.cell.WatorCell.WatorState;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.WatorGrid;
+import cellsociety.model.grid.storage.StorageType;
+import cellsociety.model.ruleset.WatorRuleset;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class WatorEngineTest {
+
+  private static WatorEngine oceanWith(int size, int fishBreed, int sharkBreed, int[]... agents) {
+    WatorEngine engine = new WatorEngine(size, size, fishBreed, sharkBreed, 3);
+    byte[] plane = new byte[size * size];
+    for (int[] agent : agents) {
+      plane[agent[0] * size + agent[1]] = (byte) agent[2];
+    }
+    engine.load(plane, FISH, SHARK);
+    engine.setRandom(new Random(7));
+    return engine;
+  }
+
+  @Test
+  void step_LoneSharkMovesToNeighborAndLosesEnergy() {
+    WatorEngine engine = oceanWith(5, 5, 5, new int[]{2, 2, SHARK});
+    engine.step();
+
+    assertEquals(WATER, engine.getType(2, 2));
+    int[][] neighbors = {{1, 2}, {3, 2}, {2, 1}, {2, 3}};
+    int sharks = 0;
+    for (int[] neighbor : neighbors) {
+      if (engine.getType(neighbor[0], neighbor[1]) == SHARK) {
+        sharks++;
+        assertEquals(WatorEngine.STARTING_ENERGY - 1, engine.getEnergy(neighbor[0], neighbor[1]));
+      }
+    }
+    assertEquals(1, sharks);
+  }
+
+  @Test
+  void step_SharkPrefersFishOverWater() {
+    WatorEngine engine = oceanWith(5, 5, 5, new int[]{2, 2, SHARK}, new int[]{2, 3, FISH});
+    engine.step();
+
+    assertEquals(SHARK, engine.getType(2, 3));
+    assertEquals(WatorEngine.STARTING_ENERGY - 1 + 3, engine.getEnergy(2, 3));
+    assertEquals(0, engine.getFishCount());
+  }
+
+  @Test
+  void step_BlockedSharkStaysInPlace() {
+    WatorEngine engine = oceanWith(5, 5, 5, new int[]{2, 2, SHARK}, new int[]{1, 2, SHARK},
+        new int[]{3, 2, SHARK}, new int[]{2, 1, SHARK}, new int[]{2, 3, SHARK});
+    engine.step();
+
+    assertEquals(SHARK, engine.getType(2, 2));
+    assertEquals(WatorEngine.STARTING_ENERGY, engine.getEnergy(2, 2));
+  }
+
+  @Test
+  void step_AgentBreedsWhenTimerRunsOut() {
+    WatorEngine engine = oceanWith(5, 1, 1, new int[]{2, 2, SHARK}, new int[]{0, 0, FISH});
+    engine.step();
+
+    assertEquals(SHARK, engine.getType(2, 2));
+    assertEquals(2, engine.getSharkCount());
+    assertEquals(FISH, engine.getType(0, 0));
+    assertEquals(2, engine.getFishCount());
+  }
+
+  @Test
+  void step_SharkWithoutFishStarves() {
+    WatorEngine engine = oceanWith(5, 5, 50, new int[]{2, 2, SHARK});
+    engine.step(WatorEngine.STARTING_ENERGY - 1);
+    assertEquals(1, engine.getSharkCount());
+    engine.step();
+    assertEquals(0, engine.getSharkCount());
+  }
+
+  @Test
+  void step_ListsStayConsistentWithOcean() {
+    int size = 40;
+    Random random = new Random(3);
+    byte[] plane = new byte[size * size];
+    for (int i = 0; i < plane.length; i++) {
+      int roll = random.nextInt(10);
+      plane[i] = roll < 4 ? FISH : roll < 5 ? SHARK : WATER;
+    }
+    WatorEngine engine = new WatorEngine(size, size, 3, 6, 2);
+    engine.setRandom(new Random(5));
+    engine.load(plane, FISH, SHARK);
+
+    for (int step = 0; step < 50; step++) {
+      engine.step();
+      int fish = 0;
+      int sharks = 0;
+      for (int row = 0; row < size; row++) {
+        for (int col = 0; col < size; col++) {
+          fish += engine.getType(row, col) == FISH ? 1 : 0;
+          sharks += engine.getType(row, col) == SHARK ? 1 : 0;
+        }
+      }
+      assertEquals(fish, engine.getFishCount());
+      assertEquals(sharks, engine.getSharkCount());
+    }
+  }
+
+  @Test
+  void update_CompactWatorGridUsesEngine() {
+    WatorRuleset ruleset = new WatorRuleset(Map.of("fishBreedTime", "5"));
+    ruleset.setStorageType(StorageType.COMPACT);
+    String[] states = {"W", "W", "W", "W", "F", "W", "W", "W", "W"};
+    Grid grid = ruleset.createGrid(3, 3, states);
+    grid.update();
+
+    WatorEngine engine = ((WatorGrid) grid).getEngine();
+    assertTrue(grid.usesCompactStorage());
+    assertEquals(1, engine.getFishCount());
+    assertEquals(WatorState.WATER, grid.getCell(1, 1).getCurrState());
+    byte[] expected = new byte[9];
+    byte[] actual = new byte[9];
+    for (int id = 0; id < 9; id++) {
+      expected[id] = engine.getType(id / 3, id % 3);
+      actual[id] = grid.getCell(id / 3, id % 3).getCurrState() == WatorState.FISH ? FISH : WATER;
+    }
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  void constructor_EmptyOcean_Throws() {
+    // Negative Test: an ocean needs at least one position
+    assertThrows(IllegalArgumentException.class, () -> new WatorEngine(0, 3, 1, 1, 1));
+  }
+}
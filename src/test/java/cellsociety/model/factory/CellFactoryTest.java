@@ -1,11 +1,15 @@
 package cellsociety.model.factory;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import cellsociety.model.cell.Cell;
 import cellsociety.model.cell.ConwayCell.ConwayState;
+import cellsociety.model.cell.SugarscapePatch;
 import cellsociety.model.state.CellState;
+import cellsociety.model.state.SugarscapeState;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -27,6 +31,29 @@ class CellFactoryTest {
         () -> CellFactory.createCell(0, fakeStates.FAKE1, null));
   }
 
+  @Test
+  void createCell_repeatedState_createsDistinctCells() {
+    Cell first = CellFactory.createCell(0, ConwayState.ALIVE, null);
+    Cell second = CellFactory.createCell(1, ConwayState.ALIVE, null);
+    assertNotSame(first, second);
+    assertEquals(1, second.getId());
+    assertEquals(ConwayState.ALIVE, second.getCurrState());
+  }
+
+  @Test
+  void createCell_sugarscapePatch_keepsInitialSugar() {
+    Cell patch = CellFactory.createCell(3, SugarscapeState.PATCH, 7);
+    assertEquals(7, ((SugarscapePatch) patch).getSugarAmount());
+  }
+
+  @Test
+  void createCell_invalidStateTwice_failsBothTimes() { // Negative Test
+    assertThrows(RuntimeException.class,
+        () -> CellFactory.createCell(0, fakeStates.FAKE2, null));
+    assertThrows(RuntimeException.class,
+        () -> CellFactory.createCell(1, fakeStates.FAKE2, null));
+  }
+
   enum fakeStates implements CellState {
     FAKE1,
     FAKE2
@@ -1,6 +1,10 @@
 package cellsociety.model.factory;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import cellsociety.model.agent.WatorAgent;
@@ -41,6 +45,28 @@ class WatorAgentFactoryTest {
     assertNotNull(agent);
   }
 
+  @Test
+  void createWatorAgent_afterRelease_reusesResetAgent() {
+    WatorAgent shark = factory.createWatorAgent(WatorState.SHARK);
+    shark.setMoved(true);
+    factory.releaseWatorAgent(shark);
+
+    WatorAgent reused = factory.createWatorAgent(WatorState.SHARK);
+    assertSame(shark, reused);
+    assertFalse(reused.getMoved());
+    assertEquals(5, reused.getEnergy());
+    assertEquals(3, reused.getReproductionTime());
+  }
+
+  @Test
+  void createWatorAgent_poolingDisabled_allocatesNewAgent() {
+    factory = new WatorAgentFactory(Map.of("fishBreedTime", "10", "agentPool", "false"));
+    WatorAgent fish = factory.createWatorAgent(WatorState.FISH);
+    factory.releaseWatorAgent(fish);
+
+    assertNotSame(fish, factory.createWatorAgent(WatorState.FISH));
+  }
+
   @Test
   void createWatorAgent_wrongInputState_failure() { // Negative test
     assertThrows(RuntimeException.class, () -> factory.createWatorAgent(WatorState.WATER));
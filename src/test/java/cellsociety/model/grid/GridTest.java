@@ -1,14 +1,28 @@
 package cellsociety.model.grid;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import cellsociety.model.cell.Cell;
 import cellsociety.model.cell.ConwayCell;
 import cellsociety.model.cell.ConwayCell.ConwayState;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.grid.storage.StorageType;
+import cellsociety.model.cell.PercolationCell.PercolationState;
+import cellsociety.model.grid.handler.MirrorEdgeHandler;
+import cellsociety.model.grid.shape.HexagonalShape;
 import cellsociety.model.ruleset.ConwayRuleset;
+import cellsociety.model.ruleset.PercolationRuleset;
+import cellsociety.model.ruleset.Ruleset;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -57,4 +71,179 @@ class GridTest {
     assertEquals(0, emptyGrid.getLength());
   }
 
-}
\ No newline at end of file
+  // Tests compact storage: a blinker evolves the same way as with cell objects
+  @Test
+  void update_CompactStorageMatchesObjectStorage() {
+    String[] blinker = {
+        "D", "D", "D", "D", "D",
+        "D", "D", "A", "D", "D",
+        "D", "D", "A", "D", "D",
+        "D", "D", "A", "D", "D",
+        "D", "D", "D", "D", "D"
+    };
+    ConwayRuleset compactRuleset = new ConwayRuleset();
+    compactRuleset.setStorageType(StorageType.COMPACT);
+    Grid objectGrid = new ConwayGrid(rows, cols, new ConwayRuleset(), blinker);
+    Grid compactGrid = new ConwayGrid(rows, cols, compactRuleset, blinker);
+    assertEquals(true, compactGrid.usesCompactStorage());
+    configureMooreTorus(objectGrid);
+    configureMooreTorus(compactGrid);
+
+    for (int generation = 0; generation < 3; generation++) {
+      objectGrid.update();
+      compactGrid.update();
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          assertEquals(objectGrid.getCell(row, col).getCurrState(),
+              compactGrid.getCell(row, col).getCurrState());
+        }
+      }
+    }
+    assertEquals(ConwayState.ALIVE, compactGrid.getCell(2, 1).getCurrState());
+  }
+
+  // Tests parallel update: row bands give the same generations as the sequential loop
+  @Test
+  void update_ParallelBandsMatchSequentialUpdate() {
+    int size = 24;
+    String[] soup = new String[size * size];
+    Random random = new Random(7);
+    for (int i = 0; i < soup.length; i++) {
+      soup[i] = random.nextBoolean() ? "A" : "D";
+    }
+    for (StorageType storage : StorageType.values()) {
+      ConwayRuleset sequentialRuleset = new ConwayRuleset();
+      ConwayRuleset parallelRuleset = new ConwayRuleset();
+      sequentialRuleset.setStorageType(storage);
+      parallelRuleset.setStorageType(storage);
+      Grid sequential = new ConwayGrid(size, size, sequentialRuleset, soup);
+      Grid parallel = new ConwayGrid(size, size, parallelRuleset, soup);
+      configureMooreTorus(sequential);
+      configureMooreTorus(parallel);
+      parallel.setThreadCount(4);
+
+      for (int generation = 0; generation < 10; generation++) {
+        sequential.update();
+        parallel.update();
+      }
+      for (int row = 0; row < size; row++) {
+        for (int col = 0; col < size; col++) {
+          assertEquals(sequential.getCell(row, col).getCurrState(),
+              parallel.getCell(row, col).getCurrState());
+        }
+      }
+    }
+  }
+
+  @Test
+  void close_OwnedPool_GridUpdatesSequentially() {
+    grid.setThreadCount(3);
+    grid.close();
+    assertEquals(1, grid.getThreadCount());
+  }
+
+  @Test
+  void close_SuppliedPool_LeftRunning() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    grid.setForkJoinPool(pool);
+    grid.close();
+    assertFalse(pool.isShutdown());
+    pool.shutdown();
+  }
+
+  // Negative Test: Ensure a thread count below one is rejected
+  @Test
+  void setThreadCount_ThrowsExceptionForZeroThreads() {
+    assertThrows(IllegalArgumentException.class, () -> grid.setThreadCount(0));
+  }
+
+  // Tests dirty tracking: skipping unchanged cells gives the same generations as a full pass
+  @Test
+  void update_DirtyTrackingMatchesFullPass() {
+    int size = 20;
+    String[] soup = new String[size * size];
+    Random random = new Random(3);
+    for (int i = 0; i < soup.length; i++) {
+      soup[i] = random.nextInt(4) == 0 ? "A" : "D";
+    }
+    for (StorageType storage : StorageType.values()) {
+      Grid tracked = createHexMirrorGrid(new ConwayRuleset(), storage, size, soup);
+      Grid full = createHexMirrorGrid(new ConwayRuleset(), storage, size, soup);
+      full.setDirtyTracking(false);
+      for (int generation = 0; generation < 15; generation++) {
+        tracked.update();
+        full.update();
+        for (int row = 0; row < size; row++) {
+          for (int col = 0; col < size; col++) {
+            assertEquals(full.getCell(row, col).getCurrState(),
+                tracked.getCell(row, col).getCurrState());
+          }
+        }
+      }
+    }
+  }
+
+  // Tests dirty tracking: percolation only evaluates the cells around the front
+  @Test
+  void update_PercolationOnlyEvaluatesTheFront() {
+    int size = 30;
+    String[] states = new String[size * size];
+    Arrays.fill(states, "O");
+    states[0] = "P";
+    Grid percolation = createHexMirrorGrid(new PercolationRuleset(), StorageType.COMPACT, size,
+        states);
+    percolation.setCellShape(new RectangularShape());
+    percolation.update();
+    percolation.update();
+    assertEquals(true, percolation.getActiveCellCount() < size * 2);
+    assertEquals(PercolationState.PERCOLATED, percolation.getCell(2, 2).getCurrState());
+    assertEquals(PercolationState.OPEN, percolation.getCell(3, 3).getCurrState());
+  }
+
+  // Tests that an update publishes exactly the cells whose state flipped
+  @Test
+  void getChangedCells_ListsOnlyFlippedCells() {
+    String[] blinker = {
+        "D", "D", "D", "D", "D",
+        "D", "D", "A", "D", "D",
+        "D", "D", "A", "D", "D",
+        "D", "D", "A", "D", "D",
+        "D", "D", "D", "D", "D"
+    };
+    for (StorageType storage : StorageType.values()) {
+      ConwayRuleset ruleset = new ConwayRuleset();
+      ruleset.setStorageType(storage);
+      Grid blinkerGrid = new ConwayGrid(rows, cols, ruleset, blinker);
+      configureMooreTorus(blinkerGrid);
+      assertEquals(true, blinkerGrid.haveAllCellsChanged());
+      blinkerGrid.clearChangedCells();
+
+      blinkerGrid.update();
+      assertEquals(false, blinkerGrid.haveAllCellsChanged());
+      int[] changed = new int[blinkerGrid.getChangedCells().remaining()];
+      blinkerGrid.getChangedCells().get(changed);
+      Arrays.sort(changed);
+      assertArrayEquals(new int[]{7, 11, 13, 17}, changed);
+
+      blinkerGrid.clearChangedCells();
+      assertEquals(0, blinkerGrid.getChangedCells().remaining());
+    }
+  }
+
+  private Grid createHexMirrorGrid(Ruleset rules, StorageType storage, int size,
+      String[] states) {
+    rules.setStorageType(storage);
+    Grid created = rules.createGrid(size, size, states);
+    created.setEdgeHandler(new MirrorEdgeHandler());
+    created.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    created.setCellShape(new HexagonalShape());
+    return created;
+  }
+
+  private void configureMooreTorus(Grid target) {
+    target.setEdgeHandler(new ToroidalEdgeHandler());
+    target.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    target.setCellShape(new RectangularShape());
+  }
+
+}
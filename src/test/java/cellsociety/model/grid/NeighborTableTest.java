@@ -0,0 +1,59 @@
+package cellsociety.model.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import cellsociety.model.grid.handler.InfiniteEdgeHandler;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.neighborhood.VonNeumannNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.ruleset.ConwayRuleset;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NeighborTableTest {
+
+  private Grid grid;
+
+  @BeforeEach
+  void setUp() {
+    String[] states = new String[9];
+    Arrays.fill(states, "D");
+    grid = new ConwayGrid(3, 3, new ConwayRuleset(), states);
+    grid.setEdgeHandler(new ToroidalEdgeHandler());
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+  }
+
+  @Test
+  void build_TorusGivesEveryCellEightNeighbors() {
+    NeighborTable table = grid.getNeighborTable();
+    assertEquals(9, table.getCellCount());
+    for (int id = 0; id < 9; id++) {
+      assertEquals(8, table.getEnd(id) - table.getStart(id));
+    }
+    // The first neighbor of (0, 0) is straight above it, which wraps to (2, 0).
+    assertEquals(6, table.getIndices()[table.getStart(0)]);
+  }
+
+  @Test
+  void getNeighborTable_IsReusedUntilTheNeighborhoodChanges() {
+    NeighborTable table = grid.getNeighborTable();
+    assertSame(table, grid.getNeighborTable());
+    grid.setNeighborhoodStrategy(new VonNeumannNeighborhood());
+    NeighborTable rebuilt = grid.getNeighborTable();
+    assertNotSame(table, rebuilt);
+    assertEquals(4, rebuilt.getEnd(0) - rebuilt.getStart(0));
+  }
+
+  // Negative Test: Ensure grids that grow while resolving neighbors are not compiled
+  @Test
+  void getNeighborTable_ReturnsNullForInfiniteEdges() {
+    grid.setEdgeHandler(new InfiniteEdgeHandler());
+    assertNull(grid.getNeighborTable());
+  }
+}
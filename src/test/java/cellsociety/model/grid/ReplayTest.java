@@ -0,0 +1,196 @@
+package cellsociety.model.grid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.factory.GridFactory;
+import cellsociety.parser.InvalidXMLConfigurationException;
+import cellsociety.parser.XMLParser;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ReplayTest {
+
+  private static final int GENERATIONS = 23;
+  private static final int KEYFRAME_INTERVAL = 4;
+
+  private static File tempReplay() throws IOException {
+    File file = File.createTempFile("replay", ReplayRecorder.EXTENSION);
+    file.deleteOnExit();
+    return file;
+  }
+
+  private static byte[] codesOf(Grid grid) {
+    byte[] codes = new byte[grid.getRows() * grid.getColumns()];
+    for (int id = 0; id < codes.length; id++) {
+      codes[id] = (byte) ((Enum<?>) grid.getCell(id / grid.getColumns(), id % grid.getColumns())
+          .getCurrState()).ordinal();
+    }
+    return codes;
+  }
+
+  private static float[] levelsOf(Grid grid) {
+    float[] levels = new float[grid.getRows() * grid.getColumns()];
+    for (int id = 0; id < levels.length; id++) {
+      if (grid.getCell(id / grid.getColumns(), id % grid.getColumns())
+          instanceof SugarscapePatch patch) {
+        levels[id] = GridSnapshot.levelOf(patch);
+      }
+    }
+    return levels;
+  }
+
+  private static float[] levelsOf(GridSnapshot snapshot) {
+    float[] levels = new float[snapshot.getCellCount()];
+    for (int i = 0; i < levels.length; i++) {
+      levels[i] = snapshot.getLevel(i);
+    }
+    return levels;
+  }
+
+  /**
+   * Records a run, taking the changed cells off the grid every few generations like a display
+   * skipping frames would, and returns the cells of every generation.
+   */
+  private static byte[][] record(File config, File replay, float[][] levels)
+      throws IOException, InvalidXMLConfigurationException {
+    Grid grid = GridFactory.createGrid(new XMLParser(config));
+    byte[][] codes = new byte[GENERATIONS + 1][];
+    codes[0] = codesOf(grid);
+    levels[0] = levelsOf(grid);
+    try (ReplayRecorder recorder = new ReplayRecorder(replay, grid, 0, KEYFRAME_INTERVAL)) {
+      for (int generation = 1; generation <= GENERATIONS; generation++) {
+        grid.update();
+        recorder.record(grid, generation);
+        codes[generation] = codesOf(grid);
+        levels[generation] = levelsOf(grid);
+        if (generation % 3 == 0) {
+          GridSnapshot.capture(grid, generation);
+        }
+      }
+    }
+    return codes;
+  }
+
+  private static void assertReplays(File config)
+      throws IOException, InvalidXMLConfigurationException {
+    File file = tempReplay();
+    float[][] levels = new float[GENERATIONS + 1][];
+    byte[][] codes = record(config, file, levels);
+
+    try (ReplayReader replay = new ReplayReader(file)) {
+      assertEquals(0, replay.getFirstGeneration());
+      assertEquals(GENERATIONS, replay.getLastGeneration());
+      for (int generation : new int[]{17, 3, 0, 23, 8, 9, 4, 22}) {
+        GridSnapshot snapshot = replay.seek(generation);
+        assertTrue(snapshot.isFull());
+        assertEquals(generation, snapshot.getGeneration());
+        assertArrayEquals(codes[generation], codesOf(snapshot), "generation " + generation);
+        if (snapshot.hasLevels()) {
+          assertArrayEquals(levels[generation], levelsOf(snapshot), "generation " + generation);
+        }
+      }
+
+      replay.seek(0);
+      byte[] shown = codes[0].clone();
+      for (int generation = 1; generation <= GENERATIONS; generation++) {
+        GridSnapshot snapshot = replay.next();
+        assertEquals(generation, snapshot.getGeneration());
+        assertEquals(generation % KEYFRAME_INTERVAL == 0, snapshot.isFull());
+        for (int i = 0; i < snapshot.getCellCount(); i++) {
+          shown[snapshot.getId(i)] = snapshot.getCode(i);
+        }
+        assertArrayEquals(codes[generation], shown, "generation " + generation);
+      }
+      assertNull(replay.next());
+    }
+  }
+
+  private static byte[] codesOf(GridSnapshot snapshot) {
+    byte[] codes = new byte[snapshot.getCellCount()];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = snapshot.getCode(i);
+    }
+    return codes;
+  }
+
+  @Test
+  void replay_SeekAndPlay_MatchRecordedRun() throws IOException, InvalidXMLConfigurationException {
+    assertReplays(new File("data/conway/GameOfLife_1.xml"));
+    assertReplays(new File("data/watorworld/WatorWorld_20x20.xml"));
+    assertReplays(new File("data/sugarscape/" + new File("data/sugarscape").list()[0]));
+  }
+
+  @Test
+  void replay_InterruptedRecording_PlaysCompleteRecords()
+      throws IOException, InvalidXMLConfigurationException {
+    File file = tempReplay();
+    float[][] levels = new float[GENERATIONS + 1][];
+    byte[][] codes = record(new File("data/watorworld/WatorWorld_20x20.xml"), file, levels);
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+
+    try (ReplayReader replay = new ReplayReader(file)) {
+      assertEquals(GENERATIONS - 1, replay.getLastGeneration());
+      assertArrayEquals(codes[GENERATIONS - 1], codesOf(replay.seek(GENERATIONS)));
+    }
+  }
+
+  @Test
+  void record_ViewClearsBeforeRecording_ReplayStillMatches()
+      throws IOException, InvalidXMLConfigurationException {
+    File file = tempReplay();
+    Grid grid = GridFactory.createGrid(
+        new XMLParser(new File("data/watorworld/WatorWorld_20x20.xml")));
+    byte[][] codes = new byte[GENERATIONS + 1][];
+    try (ReplayRecorder recorder = new ReplayRecorder(file, grid, 0, KEYFRAME_INTERVAL)) {
+      for (int generation = 1; generation <= GENERATIONS; generation++) {
+        grid.update();
+        GridSnapshot.capture(grid, generation);
+        recorder.record(grid, generation);
+        codes[generation] = codesOf(grid);
+      }
+    }
+
+    try (ReplayReader replay = new ReplayReader(file)) {
+      for (int generation = 1; generation <= GENERATIONS; generation++) {
+        assertArrayEquals(codes[generation], codesOf(replay.seek(generation)),
+            "generation " + generation);
+      }
+    }
+  }
+
+  @Test
+  void record_OpenRecording_ReadableUpToLastKeyframe()
+      throws IOException, InvalidXMLConfigurationException {
+    File file = tempReplay();
+    Grid grid = GridFactory.createGrid(
+        new XMLParser(new File("data/watorworld/WatorWorld_20x20.xml")));
+    try (ReplayRecorder recorder = new ReplayRecorder(file, grid, 0, KEYFRAME_INTERVAL)) {
+      for (int generation = 1; generation <= KEYFRAME_INTERVAL; generation++) {
+        grid.update();
+        recorder.record(grid, generation);
+      }
+      byte[] keyframe = codesOf(grid);
+
+      try (ReplayReader replay = new ReplayReader(file)) {
+        assertEquals(KEYFRAME_INTERVAL, replay.getLastGeneration());
+        assertArrayEquals(keyframe, codesOf(replay.seek(KEYFRAME_INTERVAL)));
+      }
+    }
+  }
+
+  @Test
+  void replay_NotAReplayFile_Throws() {
+    // Negative Test: a simulation file is not a replay
+    assertThrows(IllegalArgumentException.class,
+        () -> new ReplayReader(new File("data/conway/GameOfLife_1.xml")));
+  }
+}
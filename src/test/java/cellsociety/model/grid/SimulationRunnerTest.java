@@ -0,0 +1,196 @@
+package cellsociety.model.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.grid.handler.InfiniteEdgeHandler;
+import cellsociety.model.grid.handler.ToroidalEdgeHandler;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.ruleset.ConwayRuleset;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class SimulationRunnerTest {
+
+  private static Grid createSoup(int size, long seed) {
+    Random random = new Random(seed);
+    String[] states = new String[size * size];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = random.nextInt(3) == 0 ? "A" : "D";
+    }
+    Grid grid = new ConwayGrid(size, size, new ConwayRuleset(), states);
+    grid.setEdgeHandler(new ToroidalEdgeHandler());
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+    return grid;
+  }
+
+  private static byte code(Grid grid, int id) {
+    return (byte) ((Enum<?>) grid.getCell(id / grid.getColumns(), id % grid.getColumns())
+        .getCurrState()).ordinal();
+  }
+
+  private static void waitUntilStopped(SimulationRunner runner) throws InterruptedException {
+    runner.stop();
+    long deadline = System.currentTimeMillis() + 5000;
+    while (runner.isAlive() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertFalse(runner.isAlive());
+  }
+
+  @Test
+  void capture_FirstSnapshotIsFullThenDeltas() {
+    Grid grid = createSoup(12, 1);
+    GridSnapshot first = GridSnapshot.capture(grid, 0);
+    assertTrue(first.isFull());
+    assertEquals(144, first.getCellCount());
+
+    grid.update();
+    GridSnapshot delta = GridSnapshot.capture(grid, 1);
+    assertFalse(delta.isFull());
+    for (int i = 0; i < delta.getCellCount(); i++) {
+      assertEquals(code(grid, delta.getId(i)), delta.getCode(i));
+    }
+    assertEquals(0, GridSnapshot.capture(grid, 1).getCellCount());
+  }
+
+  @Test
+  void poll_SkippedGenerationsStillReproduceTheGrid() throws InterruptedException {
+    Grid grid = createSoup(20, 4);
+    byte[] shown = new byte[400];
+    GridSnapshot initial = GridSnapshot.capture(grid, 0);
+    for (int i = 0; i < initial.getCellCount(); i++) {
+      shown[initial.getId(i)] = initial.getCode(i);
+    }
+
+    SimulationRunner runner = new SimulationRunner(grid);
+    runner.start();
+    long polledUntil = System.currentTimeMillis() + 200;
+    while (System.currentTimeMillis() < polledUntil) {
+      GridSnapshot snapshot = runner.poll();
+      if (snapshot != null) {
+        for (int i = 0; i < snapshot.getCellCount(); i++) {
+          shown[snapshot.getId(i)] = snapshot.getCode(i);
+        }
+      }
+      Thread.sleep(16);
+    }
+    waitUntilStopped(runner);
+    GridSnapshot last = runner.poll();
+    if (last != null) {
+      for (int i = 0; i < last.getCellCount(); i++) {
+        shown[last.getId(i)] = last.getCode(i);
+      }
+    }
+    GridSnapshot rest = GridSnapshot.capture(grid, runner.getGeneration());
+    for (int i = 0; i < rest.getCellCount(); i++) {
+      shown[rest.getId(i)] = rest.getCode(i);
+    }
+
+    assertTrue(runner.getGeneration() > 0);
+    for (int id = 0; id < 400; id++) {
+      assertEquals(code(grid, id), shown[id]);
+    }
+  }
+
+  @Test
+  void setStepsPerSecond_LimitsTheStepRate() throws InterruptedException {
+    SimulationRunner runner = new SimulationRunner(createSoup(8, 2));
+    runner.setStepsPerSecond(20);
+    runner.start();
+    Thread.sleep(300);
+    waitUntilStopped(runner);
+    assertTrue(runner.getGeneration() >= 1);
+    assertTrue(runner.getGeneration() <= 12);
+  }
+
+  @Test
+  void setStepsPerFrame_PublishesEveryNthGeneration() throws InterruptedException {
+    SimulationRunner runner = new SimulationRunner(createSoup(10, 6));
+    runner.setStepsPerFrame(25);
+    runner.start();
+    long last = 0;
+    int frames = 0;
+    long deadline = System.currentTimeMillis() + 5000;
+    while (frames < 4 && System.currentTimeMillis() < deadline) {
+      GridSnapshot snapshot = runner.poll();
+      if (snapshot != null) {
+        assertEquals(last + 25, snapshot.getGeneration());
+        last = snapshot.getGeneration();
+        frames++;
+      }
+      Thread.sleep(2);
+    }
+    waitUntilStopped(runner);
+    assertEquals(4, frames);
+  }
+
+  @Test
+  void fastForwardTo_PausesAtTheTargetGeneration() throws InterruptedException {
+    SimulationRunner runner = new SimulationRunner(createSoup(10, 7));
+    runner.fastForwardTo(500);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!runner.isPaused() && System.currentTimeMillis() < deadline) {
+      runner.poll();
+      Thread.sleep(2);
+    }
+    Thread.sleep(20);
+    waitUntilStopped(runner);
+    assertEquals(500, runner.getGeneration());
+  }
+
+  @Test
+  void fastForwardTo_InfiniteGameOfLife_JumpsToTheTarget() throws InterruptedException {
+    String[] states = new String[9];
+    Arrays.fill(states, "D");
+    for (int id : new int[]{1, 5, 6, 7, 8}) {
+      states[id] = "A";
+    }
+    ConwayGrid grid = new ConwayGrid(3, 3, new ConwayRuleset(), states);
+    grid.setEdgeHandler(new InfiniteEdgeHandler());
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+    SimulationRunner runner = new SimulationRunner(grid);
+    runner.fastForwardTo(400);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!runner.isPaused() && System.currentTimeMillis() < deadline) {
+      runner.poll();
+      Thread.sleep(2);
+    }
+    waitUntilStopped(runner);
+    assertEquals(400, runner.getGeneration());
+    // A glider moves one cell diagonally every four generations.
+    assertTrue(grid.getRows() > 100 && grid.getColumns() > 100);
+  }
+
+  @Test
+  void submit_RunsTasksOnTheRunnerThread() throws InterruptedException {
+    SimulationRunner runner = new SimulationRunner(createSoup(8, 3));
+    runner.start();
+    runner.pause();
+    AtomicReference<String> threadName = new AtomicReference<>();
+    runner.submit(() -> threadName.set(Thread.currentThread().getName()));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (threadName.get() == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    waitUntilStopped(runner);
+    assertEquals("simulation", threadName.get());
+    assertNull(runner.getFailure());
+  }
+
+  @Test
+  void start_StoppedRunner_Throws() {
+    // Negative Test: a stopped runner can not be restarted
+    SimulationRunner runner = new SimulationRunner(createSoup(4, 5));
+    runner.stop();
+    assertThrows(IllegalStateException.class, runner::start);
+  }
+}
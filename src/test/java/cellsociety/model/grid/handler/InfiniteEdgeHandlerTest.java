@@ -0,0 +1,53 @@
+package cellsociety.model.grid.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.grid.ConwayGrid;
+import cellsociety.model.grid.Grid;
+import cellsociety.model.grid.neighborhood.ExtendedMooreNeighborhood;
+import cellsociety.model.grid.shape.RectangularShape;
+import cellsociety.model.ruleset.ConwayRuleset;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InfiniteEdgeHandlerTest {
+
+  private final InfiniteEdgeHandler handler = new InfiniteEdgeHandler();
+  private final List<int[]> offsets =
+      new ExtendedMooreNeighborhood().getFinalOffsets(new RectangularShape(), 0, 0);
+  private Grid grid;
+
+  @BeforeEach
+  void setUp() {
+    String[] states = new String[9];
+    Arrays.fill(states, "D");
+    grid = new ConwayGrid(3, 3, new ConwayRuleset(), states);
+    grid.setEdgeHandler(handler);
+    grid.setNeighborhoodStrategy(new ExtendedMooreNeighborhood());
+    grid.setCellShape(new RectangularShape());
+  }
+
+  @Test
+  void handleNeighbors_CornerCell_LeavesOutNeighborsBeyondTheGrid() {
+    List<Cell> neighbors = handler.handleNeighbors(0, 0, offsets, grid);
+    assertEquals(3, neighbors.size());
+    assertEquals(3, grid.getRows());
+    assertEquals(3, grid.getColumns());
+  }
+
+  @Test
+  void handleNeighbors_CellBeyondTheGrid_ExpandsTheGrid() {
+    handler.handleNeighbors(3, 1, offsets, grid);
+    assertEquals(4, grid.getRows());
+    assertEquals(3, grid.getColumns());
+  }
+
+  @Test
+  void update_InfiniteEdges_StepsWithoutRecursing() {
+    grid.update();
+    assertEquals(3, grid.getRows());
+  }
+}
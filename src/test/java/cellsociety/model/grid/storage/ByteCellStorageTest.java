@@ -0,0 +1,89 @@
+package cellsociety.model.grid.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.cell.ConwayCell.ConwayState;
+import cellsociety.model.cell.FireCell.FireState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ByteCellStorageTest {
+
+  private ByteCellStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    storage = new ByteCellStorage(2, 3, ConwayState.values());
+  }
+
+  @Test
+  void getCell_ViewWritesThroughToPlanes() {
+    Cell cell = storage.getCell(1, 2);
+    cell.setCurrState(ConwayState.ALIVE);
+    assertEquals(5, cell.getId());
+    assertEquals(ConwayState.ALIVE, storage.getCurrState(5));
+    assertEquals(storage.getCode(ConwayState.ALIVE), storage.getCurrentPlane()[5]);
+  }
+
+  @Test
+  void getCell_SameCellTwice_ReusesView() {
+    assertSame(storage.getCell(1, 2), storage.getCell(1, 2));
+  }
+
+  @Test
+  void moveNextStateToCurrent_FlipsPlanesWithoutTouchingCells() {
+    storage.setCurrState(0, ConwayState.ALIVE);
+    byte[] back = storage.getNextPlane();
+    storage.setNextState(0, ConwayState.DEAD);
+    storage.moveNextStateToCurrent();
+    assertSame(back, storage.getCurrentPlane());
+    assertEquals(ConwayState.DEAD, storage.getCurrState(0));
+    assertEquals(ConwayState.ALIVE, storage.getNextState(0));
+  }
+
+  @Test
+  void beginGeneration_UntouchedCellsKeepTheirState() {
+    storage.setCurrState(0, ConwayState.ALIVE);
+    storage.setCurrState(1, ConwayState.DEAD);
+    storage.moveNextStateToCurrent();
+    storage.setCurrState(0, ConwayState.ALIVE);
+    storage.setCurrState(1, ConwayState.ALIVE);
+    storage.beginGeneration();
+    storage.setNextState(1, ConwayState.DEAD);
+    storage.moveNextStateToCurrent();
+    assertEquals(ConwayState.ALIVE, storage.getCurrState(0));
+    assertEquals(ConwayState.DEAD, storage.getCurrState(1));
+  }
+
+  // Negative Test: Ensure cells never written have no state
+  @Test
+  void getCurrState_ReturnsNullForUnsetCell() {
+    assertNull(storage.getCurrState(3));
+  }
+
+  @Test
+  void expand_ShiftsExistingStatesAndFillsTheRest() {
+    storage.setCurrState(0, ConwayState.ALIVE);
+    CellStorage expanded = storage.expand(4, 5, 1, 1, ConwayState.DEAD);
+    assertEquals(20, expanded.getLength());
+    assertEquals(ConwayState.ALIVE, expanded.getCell(1, 1).getCurrState());
+    assertEquals(ConwayState.DEAD, expanded.getCell(0, 0).getCurrState());
+  }
+
+  // Negative Test: Ensure out-of-bounds access throws exception
+  @Test
+  void getCell_ThrowsExceptionForInvalidCoordinates() {
+    assertThrows(IndexOutOfBoundsException.class, () -> storage.getCell(2, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> storage.getCell(0, -1));
+  }
+
+  // Negative Test: Ensure states of another simulation are rejected
+  @Test
+  void setCurrState_ThrowsExceptionForForeignState() {
+    assertThrows(IllegalArgumentException.class, () -> storage.setCurrState(0, FireState.TREE));
+  }
+}
@@ -0,0 +1,40 @@
+package cellsociety.model.grid.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import cellsociety.model.cell.Cell;
+import cellsociety.model.cell.ConwayCell;
+import cellsociety.model.cell.ConwayCell.ConwayState;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ObjectCellStorageTest {
+
+  private ObjectCellStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    List<Cell> row = List.of(
+        new ConwayCell(0, ConwayState.ALIVE, null),
+        new ConwayCell(1, ConwayState.DEAD, null));
+    storage = new ObjectCellStorage(List.of(row), 2);
+  }
+
+  @Test
+  void moveNextStateToCurrent_AppliesWrittenStates() {
+    storage.setNextState(1, ConwayState.ALIVE);
+    storage.moveNextStateToCurrent();
+    assertEquals(ConwayState.ALIVE, storage.getCurrState(1));
+    assertNull(storage.getNextState(1));
+  }
+
+  // Negative Test: Ensure cells without a next state are not wiped
+  @Test
+  void moveNextStateToCurrent_UntouchedCellsKeepTheirState() {
+    storage.moveNextStateToCurrent();
+    assertEquals(ConwayState.ALIVE, storage.getCurrState(0));
+    assertEquals(ConwayState.DEAD, storage.getCurrState(1));
+  }
+}
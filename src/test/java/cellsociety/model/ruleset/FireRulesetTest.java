@@ -6,6 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import cellsociety.model.cell.Cell;
 import cellsociety.model.cell.FireCell;
 import cellsociety.model.cell.FireCell.FireState;
+import cellsociety.model.factory.GridFactory;
+import cellsociety.model.grid.Grid;
+import cellsociety.parser.InvalidXMLConfigurationException;
+import cellsociety.parser.XMLParser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -139,4 +149,31 @@ class FireRulesetTest {
     assertDoesNotThrow(() -> rulesetMinProb.updateCellState(emptyCell, neighbors));
   }
 
-}
\ No newline at end of file
+  @Test
+  void update_MultiThreadedGrid_DrawsLikeSequentialGrid()
+      throws IOException, InvalidXMLConfigurationException {
+    XMLParser parser = new XMLParser(new File("data/fire/Fire1.xml"));
+    FireRuleset sequentialRules = new FireRuleset(parser.getSimVarsMap());
+    FireRuleset parallelRules = new FireRuleset(parser.getSimVarsMap());
+    ByteArrayOutputStream seed = new ByteArrayOutputStream();
+    sequentialRules.writeCheckpoint(new DataOutputStream(seed));
+    parallelRules.readCheckpoint(
+        new DataInputStream(new ByteArrayInputStream(seed.toByteArray())));
+    Grid sequential = GridFactory.createGrid(parser, sequentialRules);
+    Grid parallel = GridFactory.createGrid(parser, parallelRules);
+    parallel.setThreadCount(4);
+
+    for (int step = 0; step < 10; step++) {
+      sequential.update();
+      parallel.update();
+      for (int row = 0; row < sequential.getRows(); row++) {
+        for (int col = 0; col < sequential.getColumns(); col++) {
+          assertEquals(sequential.getCell(row, col).getCurrState(),
+              parallel.getCell(row, col).getCurrState());
+        }
+      }
+    }
+    parallel.setThreadCount(1);
+  }
+
+}
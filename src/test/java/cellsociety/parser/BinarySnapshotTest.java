@@ -0,0 +1,157 @@
+package cellsociety.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import cellsociety.model.cell.SugarscapePatch;
+import cellsociety.model.factory.GridFactory;
+import cellsociety.model.grid.Grid;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class BinarySnapshotTest {
+
+  private static File tempSnapshot() throws IOException {
+    File file = File.createTempFile("snapshot", BinarySnapshotParser.EXTENSION);
+    file.deleteOnExit();
+    return file;
+  }
+
+  private static String[] symbolsOf(Grid grid) {
+    String[] symbols = new String[grid.getRows() * grid.getColumns()];
+    for (int id = 0; id < symbols.length; id++) {
+      symbols[id] = grid.getStateSymbol(id / grid.getColumns(), id % grid.getColumns());
+    }
+    return symbols;
+  }
+
+  /**
+   * Steps a simulation, snapshots it, and checks that the grid restored from the snapshot keeps
+   * stepping exactly like the original, sugar included.
+   */
+  private static void assertResumesRun(File config)
+      throws IOException, InvalidXMLConfigurationException {
+    XMLParser source = new XMLParser(config);
+    Grid grid = GridFactory.createGrid(source);
+    for (int step = 0; step < 5; step++) {
+      grid.update();
+    }
+    File file = tempSnapshot();
+    BinarySnapshotWriter writer = new BinarySnapshotWriter(source);
+    writer.setGeneration(5);
+    writer.write(grid, file);
+
+    BinarySnapshotParser snapshot = new BinarySnapshotParser(file);
+    assertEquals(5, snapshot.getGeneration());
+    Grid restored = GridFactory.createGrid(snapshot);
+    for (int step = 0; step < 20; step++) {
+      grid.update();
+      restored.update();
+      assertArrayEquals(symbolsOf(grid), symbolsOf(restored), "step " + step);
+      assertArrayEquals(sugarOf(grid), sugarOf(restored), "step " + step);
+    }
+  }
+
+  private static int[] sugarOf(Grid grid) {
+    int[] sugar = new int[grid.getRows() * grid.getColumns()];
+    for (int id = 0; id < sugar.length; id++) {
+      if (grid.getCell(id / grid.getColumns(), id % grid.getColumns())
+          instanceof SugarscapePatch patch) {
+        sugar[id] = patch.getSugarAmount();
+      }
+    }
+    return sugar;
+  }
+
+  @Test
+  void checkpoint_WatorAgents_ResumeIdentically()
+      throws IOException, InvalidXMLConfigurationException {
+    File config = new File("data/watorworld/WatorWorld_20x20.xml");
+    assertResumesRun(config);
+
+    File compact = File.createTempFile("wator", ".xml");
+    compact.deleteOnExit();
+    Files.writeString(compact.toPath(),
+        Files.readString(config.toPath()).replace("<grid ", "<grid storage=\"compact\" "));
+    assertResumesRun(compact);
+  }
+
+  @Test
+  void checkpoint_SugarscapeAndSegregation_ResumeIdentically()
+      throws IOException, InvalidXMLConfigurationException {
+    assertResumesRun(new File("data/sugarscape/SugarScape2.xml"));
+    assertResumesRun(new File("data/segregation/Segregation2.xml"));
+    assertResumesRun(new File("data/fire/Fire1.xml"));
+  }
+
+  @Test
+  void write_TwoStateGrid_ReloadsBitPackedPlane()
+      throws IOException, InvalidXMLConfigurationException {
+    XMLParser source = new XMLParser(new File("data/conway/GameOfLife_1.xml"));
+    Grid grid = GridFactory.createGrid(source);
+    grid.update();
+    File file = tempSnapshot();
+    new BinarySnapshotWriter(source).write(grid, file);
+
+    BinarySnapshotParser snapshot = new BinarySnapshotParser(file);
+    assertEquals("Conway", snapshot.getSimType());
+    assertEquals(5, snapshot.getRows());
+    assertEquals(source.getEdgeType(), snapshot.getEdgeType());
+    assertArrayEquals(symbolsOf(grid), snapshot.getInitialStates());
+    assertArrayEquals(symbolsOf(grid), symbolsOf(GridFactory.createGrid(snapshot)));
+  }
+
+  @Test
+  void write_Sugarscape_KeepsValuePlane() throws IOException, InvalidXMLConfigurationException {
+    XMLParser source = new XMLParser(new File("data/sugarscape/SugarScape1.xml"));
+    Grid grid = GridFactory.createGrid(source);
+    File file = tempSnapshot();
+    new BinarySnapshotWriter(source).write(grid, file);
+
+    BinarySnapshotParser snapshot = new BinarySnapshotParser(file);
+    assertArrayEquals(source.getValues(), snapshot.getValues());
+    assertEquals(source.getValues()[12], snapshot.getValue("values", 12));
+    assertEquals(source.getSimVarsMap(), snapshot.getSimVarsMap());
+  }
+
+  @Test
+  void open_TruncatedSnapshot_Throws() throws IOException, InvalidXMLConfigurationException {
+    // Negative Test: a snapshot cut short is rejected instead of mapped past its end
+    XMLParser source = new XMLParser(new File("data/fire/Fire1.xml"));
+    File file = tempSnapshot();
+    new BinarySnapshotWriter(source).write(GridFactory.createGrid(source), file);
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 16));
+
+    assertThrows(IllegalArgumentException.class, () -> new BinarySnapshotParser(file));
+  }
+
+  @Test
+  void createGrid_CorruptStatePlane_Throws() throws IOException, InvalidXMLConfigurationException {
+    // Negative Test: a state code with no symbol is reported instead of indexing past the table
+    File config = new File("data/fire/Fire1.xml");
+    File compact = File.createTempFile("fire", ".xml");
+    compact.deleteOnExit();
+    Files.writeString(compact.toPath(),
+        Files.readString(config.toPath()).replace("<grid ", "<grid storage=\"compact\" "));
+    for (File source : new File[]{config, compact}) {
+      XMLParser parser = new XMLParser(source);
+      File file = tempSnapshot();
+      new BinarySnapshotWriter(parser).write(GridFactory.createGrid(parser), file);
+      byte[] bytes = Files.readAllBytes(file.toPath());
+      int headerLength = ByteBuffer.wrap(bytes).getInt(2 * Integer.BYTES);
+      bytes[(int) BinarySnapshotParser.align(BinarySnapshotParser.PREAMBLE_BYTES + headerLength)]
+          = 7;
+      Files.write(file.toPath(), bytes);
+
+      BinarySnapshotParser snapshot = new BinarySnapshotParser(file);
+      assertThrows(IllegalArgumentException.class, () -> snapshot.getStateCode(0));
+      assertThrows(IllegalArgumentException.class, () -> GridFactory.createGrid(snapshot));
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package cellsociety.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ParserTest {
+
+  @Test
+  void getDefaultState_EverySimulation_IsOneOfItsStates() {
+    for (String simType : new String[]{"Conway", "Fire", "Percolation", "Segregation",
+        "WatorWorld", "GeneralConway", "Sugarscape"}) {
+      assertTrue(Parser.isInSimulation(Parser.getDefaultState(simType), simType), simType);
+    }
+  }
+
+  @Test
+  void getDefaultState_Sugarscape_ReturnsPatch() {
+    assertEquals("PATCH", Parser.getDefaultState("Sugarscape"));
+  }
+
+  @Test
+  void getDefaultState_GameOfLife_ReturnsDead() {
+    assertEquals("D", Parser.getDefaultState("GameOfLife"));
+  }
+
+  @Test
+  void getDefaultState_UnknownSimulation_Throws() {
+    // Negative Test: only known simulations have a default state
+    assertThrows(IllegalArgumentException.class, () -> Parser.getDefaultState("Unknown"));
+  }
+}
@@ -0,0 +1,66 @@
+package cellsociety.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import cellsociety.model.factory.GridFactory;
+import cellsociety.model.grid.Grid;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+
+class RLEParserTest {
+
+  private static File writePattern(String content) throws IOException {
+    File file = File.createTempFile("pattern", RLEParser.EXTENSION);
+    file.deleteOnExit();
+    Files.writeString(file.toPath(), content);
+    return file;
+  }
+
+  private static int countAlive(byte[] codes) {
+    int alive = 0;
+    for (byte code : codes) {
+      alive += code;
+    }
+    return alive;
+  }
+
+  @Test
+  void parse_GliderGun_DecodesEveryRun() throws IOException {
+    RLEParser parser = new RLEParser(new File("data/conway/GosperGliderGun.rle"));
+
+    assertEquals("Conway", parser.getSimType());
+    assertEquals("Gosper glider gun", parser.getTitle());
+    assertEquals("Bill Gosper", parser.getAuthor());
+    assertEquals(9, parser.getRows());
+    assertEquals(36, parser.getColumns());
+    assertEquals(36, countAlive(parser.getStateCodes()));
+    assertEquals("A", parser.getInitialStates()[24]);
+    assertEquals("A", parser.getInitialStates()[4 * 36 + 1]);
+    assertEquals("D", parser.getInitialStates()[4 * 36 + 2]);
+  }
+
+  @Test
+  void parse_OtherRuleOnTorus_RunsAsGeneralConway() throws IOException {
+    RLEParser parser = new RLEParser(writePattern("x = 3, y = 1, rule = b36/s23:T10,8\n3o!"));
+
+    assertEquals("GeneralConway", parser.getSimType());
+    assertEquals("B36/S23", parser.getSimVarsMap().get("rules"));
+    assertEquals(8, parser.getRows());
+    assertEquals(10, parser.getColumns());
+
+    Grid grid = GridFactory.createGrid(parser);
+    grid.update();
+    assertEquals("A", grid.getStateSymbol(1, 1));
+    assertEquals("D", grid.getStateSymbol(0, 0));
+  }
+
+  @Test
+  void parse_RowLongerThanHeader_Throws() throws IOException {
+    // Negative Test: live cells outside the declared bounding box are rejected
+    File file = writePattern("x = 2, y = 2\n3o$2o!");
+    assertThrows(IllegalArgumentException.class, () -> new RLEParser(file));
+  }
+}
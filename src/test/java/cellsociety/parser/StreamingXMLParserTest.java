@@ -0,0 +1,101 @@
+package cellsociety.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class StreamingXMLParserTest {
+
+  private static File writeConfig(String init, int rows, int columns) throws IOException {
+    File file = File.createTempFile("streaming", ".xml");
+    file.deleteOnExit();
+    Files.writeString(file.toPath(), """
+        <simulationConfig>
+          %s
+          <display author="Luke" height="600" title="Streamed" width="600">
+            <description text="Streamed state list"/>
+            <grid columns="%d" rows="%d"/>
+          </display>
+          <sim type="Sugarscape">
+            <simvars agentMetabolism="1" agentVision="1"/>
+          </sim>
+        </simulationConfig>
+        """.formatted(init, columns, rows));
+    return file;
+  }
+
+  @Test
+  void parse_MatchesXMLParser() throws InvalidXMLConfigurationException {
+    for (String path : new String[]{"data/conway/GameOfLife_1.xml", "data/fire/Fire1.xml",
+        "data/sugarscape/" + new File("data/sugarscape").list()[0]}) {
+      XMLParser expected = new XMLParser(new File(path));
+      StreamingXMLParser actual = new StreamingXMLParser(new File(path));
+      assertEquals(expected.getSimType(), actual.getSimType());
+      assertEquals(expected.getRows(), actual.getRows());
+      assertEquals(expected.getColumns(), actual.getColumns());
+      assertEquals(expected.getSimVarsMap(), actual.getSimVarsMap());
+      assertArrayEquals(expected.getInitialStates(), actual.getInitialStates());
+      assertArrayEquals(expected.getValues(), actual.getValues());
+    }
+  }
+
+  @Test
+  void parse_StateListElementBeforeGrid_WritesCompactCodes()
+      throws IOException, InvalidXMLConfigurationException {
+    File file = writeConfig("""
+        <init>
+          <stateList>PATCH:3, AGENT:2,
+            PATCH, PATCH:7</stateList>
+        </init>""", 2, 2);
+    StreamingXMLParser parser = new StreamingXMLParser(file);
+
+    assertArrayEquals(new String[]{"PATCH", "AGENT"}, parser.getStateSymbols());
+    assertArrayEquals(new byte[]{0, 1, 0, 0}, parser.getStateCodes());
+    assertArrayEquals(new int[]{3, 2, -1, 7}, parser.getValues());
+    assertEquals(Arrays.asList("PATCH", "AGENT", "PATCH", "PATCH"),
+        Arrays.asList(parser.getInitialStates()));
+  }
+
+  @Test
+  void parse_RunLengthStateList_MatchesXMLParser()
+      throws IOException, InvalidXMLConfigurationException {
+    File file = writeConfig("<init stateList=\"2PATCH:4,AGENT:1,\n 3PATCH\"/>", 2, 3);
+    StreamingXMLParser parser = new StreamingXMLParser(file);
+
+    assertArrayEquals(new byte[]{0, 0, 1, 0, 0, 0}, parser.getStateCodes());
+    assertArrayEquals(new int[]{4, 4, 1, -1, -1, -1}, parser.getValues());
+    XMLParser expected = new XMLParser(file);
+    assertArrayEquals(expected.getInitialStates(), parser.getInitialStates());
+    assertArrayEquals(expected.getValues(), parser.getValues());
+  }
+
+  @Test
+  void parse_WrongNumberOfCells_Throws() throws IOException {
+    // Negative Test: the state list must hold exactly rows * columns cells
+    File file = writeConfig("<init stateList=\"PATCH:1,PATCH:2,PATCH:3\"/>", 2, 2);
+    assertThrows(IllegalArgumentException.class, () -> new StreamingXMLParser(file));
+  }
+
+  @Test
+  void parse_StateOfAnotherSimulation_Throws() throws IOException {
+    // Negative Test: symbols are checked against the simulation named after the list
+    File file = writeConfig("<init stateList=\"PATCH:1,A,PATCH:3,PATCH:4\"/>", 2, 2);
+    assertThrows(IllegalArgumentException.class, () -> new StreamingXMLParser(file));
+  }
+
+  @Test
+  void parse_NegativeVision_Throws() throws IOException {
+    // Negative Test: agents cannot see a negative number of patches
+    File file = writeConfig("<init stateList=\"PATCH:1,PATCH:2,PATCH:3,AGENT:4\"/>", 2, 2);
+    Files.writeString(file.toPath(),
+        Files.readString(file.toPath()).replace("agentVision=\"1\"", "agentVision=\"-1\""));
+    assertThrows(IllegalArgumentException.class, () -> new StreamingXMLParser(file));
+    assertThrows(IllegalArgumentException.class, () -> new XMLParser(file));
+  }
+}
@@ -48,6 +48,11 @@ class XMLParserTest {
     assertEquals(5, xmlParser.getColumns());
   }
 
+  @Test
+  void getThreads_defaultsToOneWhenNotSet() {
+    assertEquals(1, xmlParser.getThreads());
+  }
+
   @Test
   void getInitialStates_returnsCorrectInitialStates() {
     String[] expected = {"A","A","D","D","D",
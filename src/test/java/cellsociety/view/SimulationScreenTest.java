@@ -46,7 +46,7 @@ public class SimulationScreenTest extends DukeApplicationTest {
     // GIVEN, app first starts up
     // WHEN, start button is clicked, sim loop begins
     clickOn(startButton);
-    assert (myController.getSimLoop().getStatus() == Animation.Status.RUNNING);
+    assert (myController.getSimStatus() == Animation.Status.RUNNING);
   }
 
   @Test
@@ -56,7 +56,7 @@ public class SimulationScreenTest extends DukeApplicationTest {
     //GIVEN, simulation is running
     //WHEN, pause button is clicked, simulation pauses
     clickOn(pauseButton);
-    assert (myController.getSimLoop().getStatus() == Animation.Status.PAUSED);
+    assert (myController.getSimStatus() == Animation.Status.PAUSED);
   }
 
   @Test
@@ -66,7 +66,7 @@ public class SimulationScreenTest extends DukeApplicationTest {
     //GIVEN, simulation is running
     //WHEN, reset button is clicked, simulation resets
     clickOn(resetButton);
-    assert (myController.getSimLoop().getStatus() != Animation.Status.RUNNING);
+    assert (myController.getSimStatus() != Animation.Status.RUNNING);
   }
 
   @Test
@@ -76,7 +76,7 @@ public class SimulationScreenTest extends DukeApplicationTest {
     //GIVEN, simulation is running
     //WHEN, save button is clicked, simulation is stopped and simulation save window pops up
     clickOn(saveButton);
-    assert (myController.getSimLoop().getStatus() != Animation.Status.RUNNING);
+    assert (myController.getSimStatus() != Animation.Status.RUNNING);
   }
 
   @Test
@@ -107,7 +107,7 @@ public class SimulationScreenTest extends DukeApplicationTest {
     //WHEN, speed slider is increased, speed of simulation increases
     setValue(speedSlider, 1.9);
     double newSpeed = (1.0) / (2.1 - 1.9); //how new speed is set in speedSlider
-    assertEquals(newSpeed, myController.getSimLoop().getRate(), 0.01);
+    assertEquals(newSpeed, myController.getStepsPerSecond(), 0.01);
   }
 
 